@@ -0,0 +1,51 @@
+package io.wte.redis_lab.common;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 Redis 연결 헬퍼.
+ * 스프링 컨텍스트 없이 애플리케이션과 동일한 Lettuce 기반 StringRedisTemplate을 만든다.
+ *
+ * 접속 대상은 -Djmh.redis.host, -Djmh.redis.port 시스템 프로퍼티로 지정한다 (기본 localhost:6379).
+ */
+public final class RedisBenchmarkSupport {
+
+    private RedisBenchmarkSupport() {
+    }
+
+    public static LettuceConnectionFactory connect() {
+        String host = System.getProperty("jmh.redis.host", "localhost");
+        int port = Integer.getInteger("jmh.redis.port", 6379);
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    /**
+     * 벤치마크가 만든 키를 SCAN으로 찾아 UNLINK로 정리한다.
+     */
+    public static void unlinkByPattern(StringRedisTemplate redisTemplate, String pattern) {
+        List<String> batch = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == 1000) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.unlink(batch);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.wte.redis_lab.idempotency;
+
+import io.wte.redis_lab.common.RedisBenchmarkSupport;
+import io.wte.redis_lab.idempotency.service.IdempotencyService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IdempotencyService.checkAndMarkFirst 벤치마크.
+ * 첫 요청(SET NX 성공)과 재시도 요청(SET NX 실패 후 GET) 경로를 나누어 측정한다.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class IdempotencyBenchmark {
+
+    private static final String KEY_PREFIX = "bench-";
+    private static final int RETRY_KEYS = 1000;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private IdempotencyService idempotencyService;
+    private final AtomicLong keySeq = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = RedisBenchmarkSupport.connect();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        idempotencyService = new IdempotencyService(redisTemplate);
+
+        for (int i = 0; i < RETRY_KEYS; i++) {
+            idempotencyService.checkAndMarkFirst(KEY_PREFIX + "retry-" + i);
+            idempotencyService.markCompleted(KEY_PREFIX + "retry-" + i, "order-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RedisBenchmarkSupport.unlinkByPattern(redisTemplate, "idem:" + KEY_PREFIX + "*");
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public IdempotencyService.IdempotencyResult firstRequest() {
+        return idempotencyService.checkAndMarkFirst(KEY_PREFIX + "first-" + keySeq.incrementAndGet());
+    }
+
+    @Benchmark
+    public IdempotencyService.IdempotencyResult retriedRequest() {
+        return idempotencyService.checkAndMarkFirst(KEY_PREFIX + "retry-" + ThreadLocalRandom.current().nextInt(RETRY_KEYS));
+    }
+}
@@ -0,0 +1,129 @@
+package io.wte.redis_lab.leaderboard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.wte.redis_lab.common.RedisBenchmarkSupport;
+import io.wte.redis_lab.common.redis.HotKeyDetector;
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.ReplicaReadRouter;
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchiveStore;
+import io.wte.redis_lab.leaderboard.replica.LeaderboardReplicator;
+import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardRegistry;
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.ScoreCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LeaderboardService / LeaderboardKeyFactory 핫패스 벤치마크.
+ * 처리량(thrpt)과 지연 분포(sample: p50/p99), -prof gc로 할당률을 함께 측정한다.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class LeaderboardBenchmark {
+
+    private static final String KEY_PREFIX = "bench:lb:";
+    private static final String DEDUP_PREFIX = "bench:lb-dedup:";
+    private static final long DEDUP_TTL_MS = 60_000;
+
+    @Param({"10000", "1000000"})
+    public int boardSize;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private LeaderboardService leaderboardService;
+    private LeaderboardKeyFactory keyFactory;
+    private String boardKey;
+    private final AtomicLong eventSeq = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        connectionFactory = RedisBenchmarkSupport.connect();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        keyFactory = new LeaderboardKeyFactory(redisTemplate);
+        LeaderboardArchiveStore archiveStore = new LeaderboardArchiveStore(Files.createTempDirectory("bench-archive"));
+        // 복제 스코프를 비워 두면 구독하지 않으므로 리스너 컨테이너가 필요 없다
+        LeaderboardReplicator replicator = new LeaderboardReplicator(
+                redisTemplate, keyFactory, null, new SimpleMeterRegistry(), "", 1000);
+        // replica를 지정하지 않으면 모든 조회가 primary로 간다
+        ReplicaReadRouter readRouter = new ReplicaReadRouter(
+                redisTemplate, null, null, new SimpleMeterRegistry(), "", 1000);
+        // 회로 차단기는 벤치마크 중 열리지 않도록 충분히 느슨하게 둔다
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(
+                new SimpleMeterRegistry(), Integer.MAX_VALUE, 0, 60_000, 60_000);
+        // 핫 키 캐시를 끄고 매 조회가 Redis까지 가도록 한다
+        HotKeyDetector hotKeys = new HotKeyDetector(new SimpleMeterRegistry(), false, 1000, 10, 1000, 500, 100);
+        // 격벽은 한도 없이 벤치마크 연결 하나를 공유한다
+        RedisBulkheads bulkheads = new RedisBulkheads(redisTemplate, null, null, new SimpleMeterRegistry(), false,
+                Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 0);
+        leaderboardService = new LeaderboardService(redisTemplate, keyFactory, new LeaderboardRegistry(),
+                archiveStore, replicator, readRouter, breaker, hotKeys, bulkheads);
+        boardKey = KEY_PREFIX + boardSize;
+
+        if (leaderboardService.getTotalMembers(boardKey) < boardSize) {
+            redisTemplate.unlink(boardKey);
+            seed(boardKey, boardSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RedisBenchmarkSupport.unlinkByPattern(redisTemplate, DEDUP_PREFIX + "*");
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public LeaderboardService.RankScore addDistanceOnce() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userId = "user" + random.nextInt(boardSize);
+        String dedupKey = DEDUP_PREFIX + eventSeq.incrementAndGet();
+        return leaderboardService.addDistanceOnce(boardKey, dedupKey, userId, random.nextDouble(0.1, 10.0), DEDUP_TTL_MS);
+    }
+
+    @Benchmark
+    public List<LeaderboardService.ScoredValue> getTopN() {
+        return leaderboardService.getTopN(boardKey, 10);
+    }
+
+    @Benchmark
+    public List<LeaderboardService.ScoredValue> getAroundUser() {
+        String userId = "user" + ThreadLocalRandom.current().nextInt(boardSize);
+        return leaderboardService.getAroundUser(boardKey, userId, 3);
+    }
+
+    @Benchmark
+    public String getWeeklyKey() {
+        return keyFactory.getWeeklyKey(LocalDate.now());
+    }
+
+    private void seed(String key, int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant now = Instant.now();
+        Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            long meters = ScoreCodec.toMeters(random.nextDouble(0.1, 500.0));
+            batch.add(new DefaultTypedTuple<>("user" + i, (double) ScoreCodec.encode(meters, now)));
+            if (batch.size() == 1000) {
+                redisTemplate.opsForZSet().add(key, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.opsForZSet().add(key, batch);
+        }
+    }
+}
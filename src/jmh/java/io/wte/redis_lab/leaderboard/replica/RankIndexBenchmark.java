@@ -0,0 +1,58 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.ScoreCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 인메모리 복제본(RankIndex) 조회/갱신 벤치마크. Redis 없이 실행된다.
+ * LeaderboardBenchmark의 같은 연산(Redis 왕복)과 비교하기 위한 용도.
+ */
+@State(Scope.Thread)
+public class RankIndexBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int boardSize;
+
+    private RankIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.now();
+        index = new RankIndex(boardSize);
+        for (int i = 0; i < boardSize; i++) {
+            long meters = ScoreCodec.toMeters(random.nextDouble(0.1, 500.0));
+            index.upsert("user" + i, ScoreCodec.encode(meters, now));
+        }
+    }
+
+    @Benchmark
+    public LeaderboardService.RankScore rankScore() {
+        return index.rankScore("user" + ThreadLocalRandom.current().nextInt(boardSize));
+    }
+
+    @Benchmark
+    public List<LeaderboardService.ScoredValue> topN() {
+        return index.range(0, 9);
+    }
+
+    @Benchmark
+    public List<LeaderboardService.ScoredValue> aroundUser() {
+        long rank = index.rankOf("user" + ThreadLocalRandom.current().nextInt(boardSize));
+        return index.range(Math.max(rank - 3, 0), rank + 3);
+    }
+
+    @Benchmark
+    public int upsert() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long meters = ScoreCodec.toMeters(random.nextDouble(0.1, 500.0));
+        index.upsert("user" + random.nextInt(boardSize), ScoreCodec.encode(meters, Instant.now()));
+        return index.size();
+    }
+}
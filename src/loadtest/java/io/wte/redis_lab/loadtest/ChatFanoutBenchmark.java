@@ -0,0 +1,152 @@
+package io.wte.redis_lab.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.pubsub.service.ChatConnection;
+import io.wte.redis_lab.pubsub.service.ChatRoomBroker;
+import io.wte.redis_lab.pubsub.service.ShardedPubSub;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 팬아웃 처리량 측정.
+ *
+ * 애플리케이션과 같은 {@link ChatRoomBroker}에 메모리 접속자(소켓 대신 받은 프레임을 세기만 하는 sink)를
+ * --connections개 붙여 --rooms개 방에 고르게 나누고, --publishers개 스레드가 방마다 메시지를 SPUBLISH 한다.
+ * 접속자 중 --slow 비율은 프레임마다 --slow-ms만큼 멈춰 느린 소켓을 흉내 낸다.
+ * 실제 소켓 1만 개 대신 메모리 sink를 쓰므로 Redis 구독 경로, 배치, 송신 버퍼 비용만 측정한다.
+ *
+ * 사용 예: ./gradlew chatFanout --args="--connections=10000 --rooms=100 --messages=20000 --slow=0.01"
+ */
+public final class ChatFanoutBenchmark {
+
+    private static final String MESSAGE_MARKER = "{\"id\":";
+
+    private ChatFanoutBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int connections = Integer.parseInt(values.getOrDefault("connections", "10000"));
+        int rooms = Integer.parseInt(values.getOrDefault("rooms", "100"));
+        int messages = Integer.parseInt(values.getOrDefault("messages", "20000"));
+        int publishers = Integer.parseInt(values.getOrDefault("publishers", "8"));
+        double slowRatio = Double.parseDouble(values.getOrDefault("slow", "0.01"));
+        long slowMs = Long.parseLong(values.getOrDefault("slow-ms", "50"));
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                values.getOrDefault("host", "localhost"), Integer.parseInt(values.getOrDefault("port", "6379"))));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        ShardedPubSub pubSub = new ShardedPubSub(connectionFactory);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChatRoomBroker broker = new ChatRoomBroker(pubSub,
+                new RedisCircuitBreaker(meterRegistry, Integer.MAX_VALUE, 0, 60_000, 60_000),
+                new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                meterRegistry,
+                Long.parseLong(values.getOrDefault("batch-delay-ms", "5")),
+                Integer.parseInt(values.getOrDefault("batch-messages", "64")),
+                Integer.parseInt(values.getOrDefault("dispatch-threads", "2")),
+                Long.parseLong(values.getOrDefault("buffer-bytes", "262144")),
+                values.getOrDefault("overflow", "drop-oldest"));
+        try {
+            LongAdder frames = new LongAdder();
+            LongAdder delivered = new LongAdder();
+            List<ChatConnection> members = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                boolean slow = ThreadLocalRandom.current().nextDouble() < slowRatio;
+                ChatConnection connection = broker.newConnection("bench-" + i, new CountingSink(frames, delivered, slow ? slowMs : 0));
+                broker.join("bench-" + (i % rooms), connection);
+                members.add(connection);
+            }
+            System.out.printf("접속자 %d명, 방 %d개, 메시지 %d개, 느린 접속자 비율 %.1f%%%n",
+                    connections, rooms, messages, slowRatio * 100);
+
+            long started = System.nanoTime();
+            ExecutorService executor = Executors.newFixedThreadPool(publishers);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < publishers; t++) {
+                int thread = t;
+                tasks.add(executor.submit(() -> {
+                    for (int i = thread; i < messages; i += publishers) {
+                        broker.publish("bench-" + (i % rooms), "publisher-" + thread, "message " + i);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            executor.shutdown();
+            double publishSeconds = (System.nanoTime() - started) / 1e9;
+
+            // 빠른 접속자에게 모두 전달될 때까지 기다린다 (느린 접속자는 버퍼가 넘쳐 일부를 버린다)
+            long expected = (long) messages * connections / rooms;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            long last = -1;
+            while (System.nanoTime() < deadline && delivered.sum() != last) {
+                last = delivered.sum();
+                Thread.sleep(500);
+            }
+            double seconds = (System.nanoTime() - started) / 1e9 - 0.5;
+
+            long dropped = members.stream().mapToLong(ChatConnection::droppedFrames).sum();
+            long disconnected = members.stream().filter(ChatConnection::isClosed).count();
+            System.out.printf("발행: %d건, %.1fs (%.0f msg/s)%n", messages, publishSeconds, messages / publishSeconds);
+            System.out.printf("전달: %d/%d건, %.1fs (%.0f msg/s)%n", delivered.sum(), expected, seconds, delivered.sum() / seconds);
+            System.out.printf("프레임: %d개 (%.0f frame/s), 프레임당 평균 메시지 %.1f개%n",
+                    frames.sum(), frames.sum() / seconds, delivered.sum() / (double) Math.max(frames.sum(), 1));
+            System.out.printf("버린 프레임: %d개, 끊긴 접속자: %d명%n", dropped, disconnected);
+        } finally {
+            broker.close();
+            pubSub.close();
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * 받은 프레임과 프레임 안의 메시지 수를 세는 sink
+     */
+    private record CountingSink(LongAdder frames, LongAdder delivered, long delayMs) implements ChatConnection.FrameSink {
+
+        @Override
+        public void send(String frame) {
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int count = 0;
+            for (int i = frame.indexOf(MESSAGE_MARKER); i >= 0; i = frame.indexOf(MESSAGE_MARKER, i + 1)) {
+                count++;
+            }
+            frames.increment();
+            delivered.add(count);
+        }
+
+        @Override
+        public void close(String reason) {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.wte.redis_lab.loadtest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.wte.redis_lab.common.redis.HotKeyDetector;
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.ReplicaReadRouter;
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchiveStore;
+import io.wte.redis_lab.leaderboard.replica.LeaderboardReplicator;
+import io.wte.redis_lab.leaderboard.service.LeaderboardDataGenerator;
+import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardRegistry;
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 애플리케이션을 띄우지 않고 Redis에 대량 리더보드 데이터를 채우는 CLI.
+ * {@link LeaderboardDataGenerator}를 스프링 컨텍스트 없이 그대로 사용한다.
+ *
+ * 사용 예: ./gradlew generateData --args="--members=2000000 --past-weeks=8 --past-days=14 --producers=8"
+ */
+public final class DataGeneratorRunner {
+
+    private DataGeneratorRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LeaderboardDataGenerator.Spec spec = new LeaderboardDataGenerator.Spec(
+                Integer.parseInt(values.getOrDefault("members", "1000000")),
+                Integer.parseInt(values.getOrDefault("past-weeks", "4")),
+                Integer.parseInt(values.getOrDefault("past-days", "7")),
+                values.getOrDefault("prefix", "gen-"),
+                Integer.parseInt(values.getOrDefault("producers",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(values.getOrDefault("batch-size", "1000")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                values.getOrDefault("host", "localhost"), Integer.parseInt(values.getOrDefault("port", "6379"))));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            LeaderboardKeyFactory keyFactory = new LeaderboardKeyFactory(redisTemplate);
+            LeaderboardRegistry registry = new LeaderboardRegistry();
+            // 애플리케이션 밖에서는 격벽 한도 없이 이 연결 하나로 보낸다 (동시 파이프라인 수는 --producers가 정한다)
+            RedisBulkheads bulkheads = new RedisBulkheads(redisTemplate, null, null, new SimpleMeterRegistry(), false,
+                    Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 0);
+            // 복제 스코프와 replica를 비워 두면 구독/점검 없이 primary만 사용한다
+            LeaderboardService leaderboardService = new LeaderboardService(redisTemplate, keyFactory, registry,
+                    new LeaderboardArchiveStore(Files.createTempDirectory("datagen-archive")),
+                    new LeaderboardReplicator(redisTemplate, keyFactory, null, new SimpleMeterRegistry(), "", 1000),
+                    new ReplicaReadRouter(redisTemplate, null, null, new SimpleMeterRegistry(), "", 1000),
+                    new RedisCircuitBreaker(new SimpleMeterRegistry(), Integer.MAX_VALUE, 0, 60_000, 60_000),
+                    new HotKeyDetector(new SimpleMeterRegistry(), false, 1000, 10, 1000, 500, 100),
+                    bulkheads);
+
+            LeaderboardDataGenerator.Status status =
+                    new LeaderboardDataGenerator(bulkheads, keyFactory, registry, leaderboardService).generate(spec);
+
+            System.out.printf("생성 %s - 사용자: %d, ZADD 멤버: %d, 키: %d, 소요: %.1fs (%.0f 멤버/s)%n",
+                    status.error() == null ? "완료" : "실패(" + status.error() + ")",
+                    status.membersDone(), status.membersWritten(), status.keys(), status.elapsedMs() / 1000.0,
+                    status.membersWritten() * 1000.0 / Math.max(status.elapsedMs(), 1));
+            if (status.error() != null) {
+                System.exit(1);
+            }
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.wte.redis_lab.loadtest;
+
+import io.wte.redis_lab.idempotency.service.IdempotencyHashLayout;
+import io.wte.redis_lab.idempotency.service.IdempotencyService;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 멱등성 키 저장 레이아웃별 메모리 사용량 비교.
+ *
+ * 레이아웃마다 같은 수의 키를 실제 서비스 경로(checkAndMarkFirst → markCompleted, 값은 주문 ID)로 기록하고
+ * INFO memory의 used_memory 증가분을 키 수로 나눠 키당 바이트를 출력한다. 측정이 섞이지 않도록 빈 DB에서만 실행하며,
+ * 레이아웃이 끝날 때마다 만든 키를 지운다. 필드 TTL 레이아웃은 Redis 7.4 이상에서만 측정한다.
+ *
+ * 사용 예: ./gradlew idempotencyMemory --args="--keys=500000 --port=6390"
+ */
+public final class IdempotencyMemoryBenchmark {
+
+    private static final int THREADS = 16;
+
+    private IdempotencyMemoryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int keys = Integer.parseInt(values.getOrDefault("keys", "200000"));
+        int buckets = Integer.parseInt(values.getOrDefault("buckets", String.valueOf(Math.max(keys / 64, 1))));
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                values.getOrDefault("host", "localhost"), Integer.parseInt(values.getOrDefault("port", "6379"))));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            Long dbSize = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+            if (dbSize != null && dbSize > 0) {
+                System.out.printf("DB에 키 %d개가 있습니다. 메모리 측정을 위해 빈 Redis(DB)에서 실행하세요.%n", dbSize);
+                System.exit(1);
+            }
+
+            System.out.printf("멱등성 키 %d개, 해시 버킷 %d개%n", keys, buckets);
+            measure("string (idem:{key})", redisTemplate, new IdempotencyService(redisTemplate), keys);
+            IdempotencyHashLayout windowed = new IdempotencyHashLayout(redisTemplate, buckets, "hash", "false");
+            measure("hash + 시간 창", redisTemplate, new IdempotencyService(redisTemplate, windowed), keys);
+            IdempotencyHashLayout probe = new IdempotencyHashLayout(redisTemplate, buckets, "hash", "auto");
+            if (probe.usesFieldTtl()) {
+                measure("hash + 필드 TTL", redisTemplate, new IdempotencyService(redisTemplate, probe), keys);
+            } else {
+                System.out.println("hash + 필드 TTL: Redis 7.4 미만이라 건너뜀");
+            }
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void measure(String name, StringRedisTemplate redisTemplate,
+                                IdempotencyService service, int keys) throws Exception {
+        long before = usedMemory(redisTemplate);
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                tasks.add(executor.submit(() -> {
+                    for (int i = thread; i < keys; i += THREADS) {
+                        String key = "mem-" + i;
+                        service.checkAndMarkFirst(key);
+                        service.markCompleted(key, UUID.randomUUID().toString());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long after = usedMemory(redisTemplate);
+        Long redisKeys = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+        String sample = redisTemplate.execute((RedisCallback<String>) connection -> {
+            byte[] key = connection.keyCommands().randomKey();
+            return key != null ? connection.keyCommands().encodingOf(key).raw() : "-";
+        });
+        System.out.printf("%-20s 키당 %6.1f bytes, 전체 %,d bytes, Redis 키 %,d개 (인코딩 %s), %.0f 요청/s%n",
+                name, (after - before) / (double) keys, after - before, redisKeys, sample, keys * 2 / seconds);
+
+        unlink(redisTemplate, "idem:*");
+    }
+
+    private static long usedMemory(StringRedisTemplate redisTemplate) {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    private static void unlink(StringRedisTemplate redisTemplate, String pattern) {
+        List<String> batch = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == 1000) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.unlink(batch);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.wte.redis_lab.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 트래픽 구성(가중치)과 도착률 패턴을 정의하는 부하 프로필.
+ *
+ * 기본 도착률(baseRate)로 요청을 보내다가 burstPeriodSeconds마다 burstSeconds 동안
+ * burstMultiplier배로 도착률을 끌어올려 대회 당일과 같은 순간 폭주를 재현한다.
+ *
+ * @param name 프로필 이름
+ * @param baseRate 초당 기본 요청 수
+ * @param burstMultiplier 버스트 구간의 도착률 배수 (1이면 버스트 없음)
+ * @param burstPeriodSeconds 버스트 주기(초)
+ * @param burstSeconds 버스트 지속 시간(초)
+ * @param weights 요청 종류별 가중치
+ */
+public record LoadProfile(
+        String name,
+        double baseRate,
+        double burstMultiplier,
+        int burstPeriodSeconds,
+        int burstSeconds,
+        Map<TrafficOperation, Integer> weights
+) {
+
+    public static LoadProfile of(String name) {
+        return switch (name.toLowerCase()) {
+            // 대회 당일: 기록 적재 위주, 1분마다 10초간 5배 폭주
+            case "race-day" -> new LoadProfile(name, 500, 5.0, 60, 10, weights(70, 10, 5, 15, 0));
+            // 리더보드 화면 폴링 위주
+            case "polling" -> new LoadProfile(name, 1000, 1.0, 0, 0, weights(5, 50, 30, 15, 0));
+            // 주문 재시도 위주 (멱등성 경로)
+            case "order-retry" -> new LoadProfile(name, 300, 1.0, 0, 0, weights(0, 0, 0, 0, 100));
+            // 평상시 혼합 트래픽
+            case "mixed" -> new LoadProfile(name, 300, 1.0, 0, 0, weights(40, 25, 10, 15, 10));
+            default -> throw new IllegalArgumentException("유효하지 않은 프로필: " + name
+                    + " (race-day, polling, order-retry, mixed 중 하나)");
+        };
+    }
+
+    public LoadProfile withBaseRate(double rate) {
+        return new LoadProfile(name, rate, burstMultiplier, burstPeriodSeconds, burstSeconds, weights);
+    }
+
+    /**
+     * 테스트 시작 후 경과 시간에 해당하는 목표 도착률을 반환한다.
+     */
+    public double rateAt(double elapsedSeconds) {
+        if (burstMultiplier <= 1.0 || burstPeriodSeconds <= 0) {
+            return baseRate;
+        }
+        double positionInPeriod = elapsedSeconds % burstPeriodSeconds;
+        return positionInPeriod < burstSeconds ? baseRate * burstMultiplier : baseRate;
+    }
+
+    private static Map<TrafficOperation, Integer> weights(int progress, int top, int view, int around, int order) {
+        Map<TrafficOperation, Integer> weights = new EnumMap<>(TrafficOperation.class);
+        weights.put(TrafficOperation.PROGRESS, progress);
+        weights.put(TrafficOperation.TOP, top);
+        weights.put(TrafficOperation.VIEW, view);
+        weights.put(TrafficOperation.AROUND, around);
+        weights.put(TrafficOperation.ORDER, order);
+        return weights;
+    }
+}
@@ -0,0 +1,56 @@
+package io.wte.redis_lab.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 실행 옵션. --key=value 형식의 인자를 파싱한다.
+ *
+ * @param baseUrl 대상 서버 주소
+ * @param profile 부하 프로필
+ * @param durationSeconds 측정 시간(초)
+ * @param warmupSeconds 측정 전 워밍업 시간(초)
+ * @param users 가상 사용자 수 (userId 범위)
+ * @param maxInFlight 동시에 진행 중인 최대 요청 수
+ * @param orderRetryRatio 주문 요청 중 기존 멱등성 키로 재시도하는 비율
+ * @param reportDir HdrHistogram 리포트 출력 디렉터리
+ */
+public record LoadTestOptions(
+        String baseUrl,
+        LoadProfile profile,
+        int durationSeconds,
+        int warmupSeconds,
+        int users,
+        int maxInFlight,
+        double orderRetryRatio,
+        Path reportDir
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadProfile profile = LoadProfile.of(values.getOrDefault("profile", "mixed"));
+        if (values.containsKey("rate")) {
+            profile = profile.withBaseRate(Double.parseDouble(values.get("rate")));
+        }
+
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                profile,
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("users", "100000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Double.parseDouble(values.getOrDefault("order-retry-ratio", "0.3")),
+                Path.of(values.getOrDefault("report-dir", "build/reports/loadtest"))
+        );
+    }
+}
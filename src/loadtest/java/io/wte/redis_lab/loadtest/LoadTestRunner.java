@@ -0,0 +1,219 @@
+package io.wte.redis_lab.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실제 컨트롤러를 대상으로 하는 HTTP 부하 생성기.
+ *
+ * 개방형(open-model) 도착률로 요청을 예약하고, 요청마다 가상 스레드 하나를 사용한다.
+ * 지연 시간은 "예약된 시작 시각"부터 측정하므로 서버가 밀려 요청이 늦게 나가는 경우(coordinated omission)도 지연에 반영된다.
+ *
+ * 사용 예: ./gradlew loadTest --args="--profile=race-day --rate=800 --duration=120"
+ */
+public final class LoadTestRunner {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadTestOptions options;
+    private final RequestFactory requestFactory;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final TrafficOperation[] weightedOperations;
+
+    private final Map<TrafficOperation, Histogram> histograms = new EnumMap<>(TrafficOperation.class);
+    private final Map<TrafficOperation, LongAdder> errors = new EnumMap<>(TrafficOperation.class);
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+
+    private LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.requestFactory = new RequestFactory(options);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight());
+        this.weightedOperations = expandWeights(options.profile().weights());
+
+        for (TrafficOperation operation : TrafficOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        new LoadTestRunner(options).run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        LoadProfile profile = options.profile();
+        System.out.printf("부하 테스트 시작 - 대상: %s, 프로필: %s, 기본 도착률: %.0f req/s, 워밍업: %ds, 측정: %ds%n",
+                options.baseUrl(), profile.name(), profile.baseRate(), options.warmupSeconds(), options.durationSeconds());
+
+        generate(options.warmupSeconds());
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        dropped.reset();
+
+        recording = true;
+        long started = System.nanoTime();
+        generate(options.durationSeconds());
+
+        // 남은 요청이 끝날 때까지 대기
+        inFlight.acquire(options.maxInFlight());
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        report(elapsedSeconds);
+    }
+
+    /**
+     * 지정된 시간 동안 프로필의 도착률에 맞춰 요청을 예약한다.
+     * 1ms 단위로 누적된 "보내야 할 요청 수"만큼 가상 스레드를 띄운다.
+     */
+    private void generate(int seconds) {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long next = start;
+        double owed = 0;
+
+        while (next < end) {
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+
+            double elapsed = (next - start) / 1e9;
+            owed += options.profile().rateAt(elapsed) * TICK_NANOS / 1e9;
+            while (owed >= 1.0) {
+                owed -= 1.0;
+                dispatch(next);
+            }
+            next += TICK_NANOS;
+        }
+    }
+
+    private void dispatch(long intendedStart) {
+        if (!inFlight.tryAcquire()) {
+            // 클라이언트 측 동시성 한도 초과: 서버가 감당하지 못하는 구간
+            dropped.increment();
+            return;
+        }
+
+        TrafficOperation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        boolean record = recording;
+        executor.execute(() -> {
+            try {
+                execute(operation, intendedStart, record);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void execute(TrafficOperation operation, long intendedStart, boolean record) {
+        boolean failed;
+        try {
+            HttpRequest request = requestFactory.create(operation);
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (record) {
+            histograms.get(operation).recordValue(System.nanoTime() - intendedStart);
+            if (failed) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        Files.createDirectories(options.reportDir());
+
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+        Histogram total = new Histogram(3);
+        for (TrafficOperation operation : TrafficOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            printRow(operation.name(), histogram, errors.get(operation).sum(), elapsedSeconds);
+            writeDistribution(operation.name().toLowerCase(), histogram);
+        }
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        printRow("TOTAL", total, totalErrors, elapsedSeconds);
+        writeDistribution("total", total);
+
+        System.out.printf("%n드롭된 요청(동시성 한도 %d 초과): %d%n", options.maxInFlight(), dropped.sum());
+        System.out.printf("리포트 위치: %s (*.hgrm, HdrHistogram Plotter로 시각화 가능)%n", options.reportDir().toAbsolutePath());
+    }
+
+    private void printRow(String name, Histogram histogram, long errorCount, double elapsedSeconds) {
+        System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.reportDir().resolve(name + ".hgrm")))) {
+            // 나노초 기록값을 밀리초 단위로 출력
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static TrafficOperation[] expandWeights(Map<TrafficOperation, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("가중치 합은 양수여야 합니다.");
+        }
+        TrafficOperation[] expanded = new TrafficOperation[total];
+        int index = 0;
+        for (Map.Entry<TrafficOperation, Integer> entry : weights.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                expanded[index++] = entry.getKey();
+            }
+        }
+        return expanded;
+    }
+}
@@ -0,0 +1,102 @@
+package io.wte.redis_lab.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.wte.redis_lab.idempotency.dto.OrderRequest;
+import io.wte.redis_lab.leaderboard.dto.AddProgressRequest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 요청 종류별 HTTP 요청을 만든다.
+ * 페이로드는 애플리케이션의 요청 DTO(AddProgressRequest, OrderRequest)를 그대로 직렬화하므로 API와 항상 일치한다.
+ */
+class RequestFactory {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> SCOPES = List.of("all", "weekly", "daily");
+    private static final List<String> ITEMS = List.of("Running Shoes", "Energy Gel", "GPS Watch", "Race Entry");
+    private static final int RECENT_ORDER_KEYS = 4096;
+
+    private final String baseUrl;
+    private final int users;
+    private final double orderRetryRatio;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong eventSeq = new AtomicLong();
+    private final AtomicReferenceArray<String> recentOrderKeys = new AtomicReferenceArray<>(RECENT_ORDER_KEYS);
+
+    RequestFactory(LoadTestOptions options) {
+        this.baseUrl = options.baseUrl();
+        this.users = options.users();
+        this.orderRetryRatio = options.orderRetryRatio();
+    }
+
+    HttpRequest create(TrafficOperation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case PROGRESS -> post("/v1/leaderboard/progress", null, new AddProgressRequest(
+                    randomUserId(random),
+                    Math.round(random.nextDouble(0.5, 21.1) * 10.0) / 10.0,
+                    "load-" + runId + "-" + eventSeq.incrementAndGet(),
+                    SCOPES));
+            case TOP -> get("/v1/leaderboard/top?scope=weekly&limit=" + (random.nextBoolean() ? 10 : 100));
+            case VIEW -> get("/leaderboard/view?scope=weekly&limit=10");
+            case AROUND -> get("/v1/leaderboard/around/" + randomUserId(random) + "?scope=weekly&around=3");
+            case ORDER -> order(random);
+        };
+    }
+
+    private HttpRequest order(ThreadLocalRandom random) {
+        int slot = random.nextInt(RECENT_ORDER_KEYS);
+        String key = recentOrderKeys.get(slot);
+        if (key == null || random.nextDouble() >= orderRetryRatio) {
+            key = "load-" + runId + "-order-" + eventSeq.incrementAndGet();
+            recentOrderKeys.set(slot, key);
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setItemName(ITEMS.get(random.nextInt(ITEMS.size())));
+        request.setAmount(random.nextInt(1, 4));
+        return post("/idem/orders", key, request);
+    }
+
+    private long randomUserId(ThreadLocalRandom random) {
+        // 일부 헤비 러너에게 트래픽이 몰리도록 제곱 분포로 userId를 뽑는다
+        double skewed = random.nextDouble() * random.nextDouble();
+        return 1 + (long) (skewed * users);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String idempotencyKey, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("요청 직렬화 실패", e);
+        }
+    }
+}
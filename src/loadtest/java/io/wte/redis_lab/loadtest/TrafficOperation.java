@@ -0,0 +1,23 @@
+package io.wte.redis_lab.loadtest;
+
+/**
+ * 부하 테스트에서 재현하는 트래픽 종류.
+ * 각 항목은 실제 컨트롤러 엔드포인트 하나에 대응한다.
+ */
+public enum TrafficOperation {
+
+    /** POST /v1/leaderboard/progress - 러닝 기록 적재 */
+    PROGRESS,
+
+    /** GET /v1/leaderboard/top - 상위 랭킹 폴링 */
+    TOP,
+
+    /** GET /leaderboard/view - 리더보드 페이지 폴링 */
+    VIEW,
+
+    /** GET /v1/leaderboard/around/{userId} - 내 주변 랭킹 조회 */
+    AROUND,
+
+    /** POST /idem/orders - 멱등성 키 주문 (일부는 동일 키로 재시도) */
+    ORDER
+}
@@ -0,0 +1,74 @@
+package io.wte.redis_lab.blacklist.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.wte.redis_lab.blacklist.service.TokenBlacklistService;
+import io.wte.redis_lab.common.dto.ErrorResponse;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Base64;
+
+/**
+ * Bearer 토큰의 jti가 블랙리스트에 있으면 요청을 401로 거절한다.
+ * 서명 검증은 인증 계층의 몫이며, 여기서는 페이로드의 jti만 읽는다.
+ * /v2의 비동기 핸들러는 결과를 쓸 때 ASYNC로 다시 디스패치되므로 그때는 확인을 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenBlacklistInterceptor implements HandlerInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenBlacklistService blacklistService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Mono/Flux 결과를 쓰기 위한 재디스패치: 최초 요청에서 이미 확인했다
+            return true;
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return true;
+        }
+
+        String jti = extractJti(authorization.substring(BEARER_PREFIX.length()));
+        if (jti == null || !blacklistService.isRevoked(jti)) {
+            return true;
+        }
+
+        log.debug("폐기된 토큰 요청 거절 - jti: {}", jti);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ErrorResponse.of("TOKEN_REVOKED", "폐기된 토큰입니다."));
+        return false;
+    }
+
+    private String extractJti(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode jti = payload.get("jti");
+            return jti != null && jti.isTextual() ? jti.asText() : null;
+        } catch (Exception e) {
+            log.debug("토큰 페이로드 파싱 실패 - 오류: {}", e.getMessage());
+            return null;
+        }
+    }
+}
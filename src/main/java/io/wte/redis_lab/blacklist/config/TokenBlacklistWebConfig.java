@@ -0,0 +1,25 @@
+package io.wte.redis_lab.blacklist.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 토큰 블랙리스트 확인을 API 경로에 적용한다.
+ *
+ * /v2의 Mono/Flux 컨트롤러도 WebFlux가 아닌 Spring MVC가 비동기 반환값으로 처리하므로,
+ * 같은 HandlerInterceptor가 핸들러 호출(Mono 구독) 전에 실행된다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class TokenBlacklistWebConfig implements WebMvcConfigurer {
+
+    private final TokenBlacklistInterceptor tokenBlacklistInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tokenBlacklistInterceptor)
+                .addPathPatterns("/v1/**", "/v2/**", "/idem/**");
+    }
+}
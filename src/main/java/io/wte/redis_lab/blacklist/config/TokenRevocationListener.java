@@ -0,0 +1,52 @@
+package io.wte.redis_lab.blacklist.config;
+
+import io.wte.redis_lab.blacklist.service.TokenBlacklistService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 다른 노드에서 발행한 토큰 폐기 이벤트를 구독하여 로컬 블룸 필터에 반영한다.
+ *
+ * Pub/Sub은 연결이 끊긴 동안의 메시지를 다시 보내지 않으므로, 컨테이너가 재연결 후 채널을 다시 구독하면
+ * 필터를 재구성해 그 사이의 폐기를 Redis에서 읽어 온다. 처음 구독은 기동 시 재구성이 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener implements MessageListener, SubscriptionListener {
+
+    private final TokenBlacklistService blacklistService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenBlacklistService.REVOKE_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String jti = new String(message.getBody(), StandardCharsets.UTF_8);
+        blacklistService.onRevoked(jti);
+        log.debug("토큰 폐기 이벤트 수신 - jti: {}", jti);
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!subscribedOnce.compareAndSet(false, true)) {
+            // 구독 콜백 스레드를 막지 않도록 SCAN은 별도 스레드에서 한다
+            log.info("토큰 폐기 채널 재구독 - 필터 재구성");
+            Thread.ofVirtual().name("blacklist-rebuild").start(blacklistService::rebuild);
+        }
+    }
+}
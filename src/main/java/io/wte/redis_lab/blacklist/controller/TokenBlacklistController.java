@@ -0,0 +1,80 @@
+package io.wte.redis_lab.blacklist.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.wte.redis_lab.blacklist.dto.RevokeTokenRequest;
+import io.wte.redis_lab.blacklist.service.TokenBlacklistService;
+import io.wte.redis_lab.common.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/v1/blacklist")
+@RequiredArgsConstructor
+@Tag(name = "Token Blacklist API", description = "JWT 토큰 폐기(로그아웃) 관리 API")
+public class TokenBlacklistController {
+
+    private final TokenBlacklistService blacklistService;
+
+    @Operation(
+            summary = "토큰 폐기",
+            description = "토큰의 jti를 블랙리스트에 등록합니다. 남은 유효기간 동안만 보관되며 모든 노드에 전파됩니다."
+    )
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> revoke(
+            @Valid @RequestBody RevokeTokenRequest request) {
+
+        blacklistService.revoke(request.jti(), Duration.ofSeconds(request.ttlSeconds()));
+
+        return ResponseEntity.ok(
+                ApiResponse.success("토큰이 폐기되었습니다.", Map.of(
+                        "jti", request.jti(),
+                        "ttlSeconds", request.ttlSeconds()
+                )));
+    }
+
+    @Operation(
+            summary = "토큰 폐기 여부 조회",
+            description = "로컬 블룸 필터를 먼저 확인하고, 폐기 가능성이 있을 때만 Redis를 조회합니다."
+    )
+    @GetMapping("/check/{jti}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> check(
+            @Parameter(description = "토큰 고유 식별자", example = "9f1c2d3e-4b5a-6789-abcd-ef0123456789")
+            @PathVariable String jti) {
+
+        boolean revoked = blacklistService.isRevoked(jti);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("토큰 상태 조회 성공", Map.of(
+                        "jti", jti,
+                        "revoked", revoked
+                )));
+    }
+
+    @Operation(
+            summary = "블랙리스트 필터 상태 조회",
+            description = "블룸 필터 크기와 로컬 판정/Redis 조회/오탐 횟수를 조회합니다."
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<TokenBlacklistService.BlacklistStats>> stats() {
+        return ResponseEntity.ok(
+                ApiResponse.success("블랙리스트 상태 조회 성공", blacklistService.getStats()));
+    }
+
+    @Operation(
+            summary = "블랙리스트 필터 재구성",
+            description = "Redis의 bl:token:* 키를 SCAN하여 로컬 블룸 필터를 다시 만듭니다."
+    )
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<TokenBlacklistService.BlacklistStats>> rebuild() {
+        blacklistService.rebuild();
+        return ResponseEntity.ok(
+                ApiResponse.success("블랙리스트 필터 재구성 완료", blacklistService.getStats()));
+    }
+}
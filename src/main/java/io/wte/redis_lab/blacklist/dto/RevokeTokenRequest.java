@@ -0,0 +1,21 @@
+package io.wte.redis_lab.blacklist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * 토큰 폐기 요청 DTO
+ */
+@Schema(description = "토큰 폐기 요청")
+public record RevokeTokenRequest(
+
+        @Schema(description = "토큰 고유 식별자 (jti)", example = "9f1c2d3e-4b5a-6789-abcd-ef0123456789")
+        @NotBlank(message = "jti는 필수입니다")
+        String jti,
+
+        @Schema(description = "토큰의 남은 유효기간(초)", example = "3600")
+        @Positive(message = "유효기간은 양수여야 합니다")
+        long ttlSeconds
+) {
+}
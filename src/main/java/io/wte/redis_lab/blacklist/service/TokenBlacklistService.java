@@ -0,0 +1,181 @@
+package io.wte.redis_lab.blacklist.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JWT 토큰 블랙리스트 서비스.
+ *
+ * 폐기된 토큰은 Redis에 SETEX bl:token:{jti}로 저장하고, 동시에 각 노드의 로컬 블룸 필터에도 반영한다.
+ * 인증 요청마다 호출되는 {@link #isRevoked(String)}는 블룸 필터가 "없음"이라고 답하면 Redis를 전혀 호출하지 않는다.
+ * 다른 노드에서 발생한 폐기는 Pub/Sub 채널로 전달받아 로컬 필터에 추가한다.
+ *
+ * 필터 교체와 추가는 같은 잠금 아래에서 하므로, 재구성 중에 추가된 jti는 이전 필터와 새 필터 중 교체 후에
+ * 쓰이는 쪽에 반드시 들어간다. 구독이 끊긴 동안의 이벤트는 다시 구독할 때 재구성으로 채운다.
+ */
+@Slf4j
+@Service
+public class TokenBlacklistService {
+
+    public static final String KEY_PREFIX = "bl:token:";
+    public static final String REVOKE_CHANNEL = "bl:revoked";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    /** 재구성 중에 도착한 폐기 이벤트를 새 필터에도 반영하기 위한 참조 (swapLock 아래에서만 바꾼다) */
+    private BloomFilter rebuilding;
+    /** 필터 교체와 로컬 추가를 직렬화한다 */
+    private final ReentrantLock swapLock = new ReentrantLock();
+    /** 재구성이 동시에 두 번 돌지 않도록 한다 */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** 필터가 SCAN으로 한 번이라도 채워졌는지 여부. 준비 전에는 모든 조회를 Redis로 보낸다. */
+    private volatile boolean ready;
+
+    private final LongAdder localRejects = new LongAdder();
+    private final LongAdder redisLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public TokenBlacklistService(StringRedisTemplate redisTemplate,
+                                 @Value("${blacklist.bloom.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 토큰을 폐기한다. 토큰의 남은 유효기간 동안만 Redis에 보관하고 모든 노드에 전파한다.
+     *
+     * @param jti 토큰 고유 식별자
+     * @param ttl 토큰의 남은 유효기간
+     */
+    public void revoke(String jti, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + jti, "1", ttl);
+        addLocal(jti);
+        redisTemplate.convertAndSend(REVOKE_CHANNEL, jti);
+        log.debug("토큰 폐기 - jti: {}, ttl: {}", jti, ttl);
+    }
+
+    /**
+     * 토큰이 폐기되었는지 확인한다.
+     * 블룸 필터에 없으면 Redis 호출 없이 false를 반환하고, 있을 수도 있는 경우에만 Redis로 확인한다.
+     *
+     * @param jti 토큰 고유 식별자
+     * @return 폐기 여부
+     */
+    public boolean isRevoked(String jti) {
+        if (ready && !filter.mightContain(jti)) {
+            localRejects.increment();
+            return false;
+        }
+
+        redisLookups.increment();
+        boolean revoked = Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti));
+        if (!revoked && ready) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Pub/Sub으로 전달받은 다른 노드의 폐기 이벤트를 로컬 필터에 반영한다.
+     */
+    public void onRevoked(String jti) {
+        addLocal(jti);
+    }
+
+    /**
+     * Redis에 남아 있는 폐기 토큰을 SCAN으로 읽어 블룸 필터를 새로 만든다.
+     * 블룸 필터는 삭제를 지원하지 않으므로, 만료된 토큰을 걸러내기 위해 주기적으로도 실행한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blacklist.bloom.rebuild-interval-ms:600000}",
+            fixedDelayString = "${blacklist.bloom.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            BloomFilter next = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            setRebuilding(next);
+            long count = 0;
+
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    next.put(cursor.next().substring(KEY_PREFIX.length()));
+                    count++;
+                }
+                swapLock.lock();
+                try {
+                    filter = next;
+                    rebuilding = null;
+                } finally {
+                    swapLock.unlock();
+                }
+                ready = true;
+                log.info("토큰 블랙리스트 필터 재구성 완료 - 항목 수: {}", count);
+            } catch (Exception e) {
+                log.warn("토큰 블랙리스트 필터 재구성 실패, 기존 필터 유지 - 오류: {}", e.getMessage());
+            } finally {
+                setRebuilding(null);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public BlacklistStats getStats() {
+        BloomFilter current = filter;
+        return new BlacklistStats(
+                ready,
+                current.approximateInsertions(),
+                current.bitSize(),
+                current.hashCount(),
+                localRejects.sum(),
+                redisLookups.sum(),
+                falsePositives.sum()
+        );
+    }
+
+    private void addLocal(String jti) {
+        swapLock.lock();
+        try {
+            filter.put(jti);
+            if (rebuilding != null) {
+                rebuilding.put(jti);
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    private void setRebuilding(BloomFilter next) {
+        swapLock.lock();
+        try {
+            rebuilding = next;
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * 블랙리스트 필터 상태를 담는 레코드
+     */
+    public record BlacklistStats(boolean ready, long entries, long bitSize, int hashCount,
+                                 long localRejects, long redisLookups, long falsePositives) {
+    }
+}
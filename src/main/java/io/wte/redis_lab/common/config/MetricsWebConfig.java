@@ -0,0 +1,22 @@
+package io.wte.redis_lab.common.config;
+
+import io.wte.redis_lab.common.metrics.RedisMetricsInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    private final RedisMetricsInterceptor redisMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 다른 인터셉터의 Redis 호출까지 집계되도록 가장 먼저 실행
+        registry.addInterceptor(redisMetricsInterceptor)
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
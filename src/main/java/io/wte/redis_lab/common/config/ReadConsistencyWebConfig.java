@@ -0,0 +1,20 @@
+package io.wte.redis_lab.common.config;
+
+import io.wte.redis_lab.common.redis.ReadConsistencyInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ReadConsistencyWebConfig implements WebMvcConfigurer {
+
+    private final ReadConsistencyInterceptor readConsistencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readConsistencyInterceptor)
+                .addPathPatterns("/v1/**");
+    }
+}
@@ -0,0 +1,46 @@
+package io.wte.redis_lab.common.config;
+
+import io.lettuce.core.TimeoutOptions;
+import io.wte.redis_lab.common.redis.RedisDeadline;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientOptionsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Pub/Sub 구독용 리스너 컨테이너.
+     * 각 모듈은 이 컨테이너에 자신의 채널 리스너를 등록한다.
+     * 기본 설정은 메시지마다 스레드를 새로 띄워 처리 순서가 섞이므로, 수신 스레드에서 바로 처리한다
+     * (리더보드 변경 피드는 버전 순서대로 적용되어야 한다). 리스너는 가볍게 유지해야 한다.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        return container;
+    }
+
+    /**
+     * 명령별 타임아웃.
+     * {@link RedisDeadline} 마감 안에서 보낸 명령은 남은 시간만큼만 기다리고, 그 밖의 명령은
+     * spring.data.redis.timeout(없으면 Lettuce 기본 60초)을 쓴다.
+     */
+    @Bean
+    public LettuceClientOptionsBuilderCustomizer redisDeadlineCustomizer(RedisProperties redisProperties) {
+        Duration defaultTimeout = redisProperties.getTimeout() != null
+                ? redisProperties.getTimeout()
+                : Duration.ofSeconds(60);
+        return builder -> builder.timeoutOptions(TimeoutOptions.builder()
+                .timeoutSource(RedisDeadline.timeoutSource(defaultTimeout))
+                .build());
+    }
+}
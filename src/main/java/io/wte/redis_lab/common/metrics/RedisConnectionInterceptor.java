@@ -0,0 +1,109 @@
+package io.wte.redis_lab.common.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * RedisConnection 호출을 가로채 명령/스크립트별 지연과 왕복 횟수를 기록한다.
+ *
+ * 커넥션 하나당 인스턴스 하나를 사용하며, 파이프라인 구간의 명령은 개별 왕복으로 세지 않고
+ * closePipeline 시점에 배치 크기와 한 번의 왕복으로 기록한다.
+ */
+class RedisConnectionInterceptor implements MethodInterceptor {
+
+    /** 실제 Redis 명령이 아닌 커넥션 관리용 메서드 */
+    private static final Set<String> NON_COMMANDS = Set.of(
+            "close", "isClosed", "getNativeConnection", "isQueueing", "isPipelined",
+            "getSentinelConnection", "openPipeline", "getConvertPipelineAndTxResults"
+    );
+
+    private final RedisMetrics metrics;
+    private int pipelinedCommands;
+    private boolean pipelining;
+
+    RedisConnectionInterceptor(RedisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        String name = method.getName();
+
+        if (method.getDeclaringClass() == Object.class || NON_COMMANDS.contains(name)) {
+            if ("openPipeline".equals(name)) {
+                pipelining = true;
+                pipelinedCommands = 0;
+            }
+            return invocation.proceed();
+        }
+
+        // keyCommands(), zSetCommands() 등 하위 명령 인터페이스도 같은 인터셉터로 감싼다
+        if (name.endsWith("Commands") && method.getParameterCount() == 0) {
+            Object commands = invocation.proceed();
+            return commands != null ? wrap(commands) : null;
+        }
+
+        if ("closePipeline".equals(name)) {
+            return closePipeline(invocation);
+        }
+
+        if (pipelining) {
+            pipelinedCommands++;
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failed = true;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (name.startsWith("evalSha")) {
+                metrics.recordScript(scriptSha(invocation.getArguments()), elapsed, failed);
+            } else if (name.startsWith("eval")) {
+                metrics.recordScript("eval", elapsed, failed);
+            } else {
+                metrics.recordCommand(name, elapsed, failed);
+            }
+        }
+    }
+
+    private Object closePipeline(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            metrics.recordPipeline(pipelinedCommands, System.nanoTime() - start);
+            pipelining = false;
+            pipelinedCommands = 0;
+        }
+    }
+
+    private Object wrap(Object commands) {
+        ProxyFactory proxyFactory = new ProxyFactory(commands);
+        proxyFactory.addAdvice(this);
+        return proxyFactory.getProxy();
+    }
+
+    private static String scriptSha(Object[] args) {
+        if (args.length == 0) {
+            return "unknown";
+        }
+        if (args[0] instanceof String sha) {
+            return sha;
+        }
+        if (args[0] instanceof byte[] sha) {
+            return new String(sha, StandardCharsets.UTF_8);
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,71 @@
+package io.wte.redis_lab.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 호출 메트릭 기록기.
+ *
+ * - redis.command: 명령별 지연 (command, endpoint, outcome 태그)
+ * - redis.script: Lua 스크립트별 지연 (sha, endpoint, outcome 태그)
+ * - redis.pipeline.size: 파이프라인 한 번에 보낸 명령 수
+ * - redis.connection.acquire: 커넥션 획득 대기 시간 (풀 사용 시 풀 대기 포함)
+ * - redis.request.roundtrips: HTTP 요청 하나당 Redis 왕복 횟수 (N+1 패턴 탐지용)
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisMetrics {
+
+    private final MeterRegistry registry;
+
+    public void recordCommand(String command, long nanos, boolean failed) {
+        Timer.builder("redis.command")
+                .tag("command", command)
+                .tag("endpoint", RedisRequestContext.currentEndpoint())
+                .tag("outcome", failed ? "error" : "success")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        RedisRequestContext.addRoundTrip();
+    }
+
+    public void recordScript(String sha, long nanos, boolean failed) {
+        Timer.builder("redis.script")
+                .tag("sha", sha)
+                .tag("endpoint", RedisRequestContext.currentEndpoint())
+                .tag("outcome", failed ? "error" : "success")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        RedisRequestContext.addRoundTrip();
+    }
+
+    public void recordPipeline(int commands, long nanos) {
+        DistributionSummary.builder("redis.pipeline.size")
+                .tag("endpoint", RedisRequestContext.currentEndpoint())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(commands);
+        recordCommand("pipeline", nanos, false);
+    }
+
+    public void recordAcquire(long nanos) {
+        Timer.builder("redis.connection.acquire")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRequest(String endpoint, int roundTrips) {
+        DistributionSummary.builder("redis.request.roundtrips")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(roundTrips);
+    }
+}
@@ -0,0 +1,34 @@
+package io.wte.redis_lab.common.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청마다 엔드포인트 태그를 정하고, 요청이 끝나면 Redis 왕복 횟수를 기록한다.
+ * 엔드포인트는 실제 경로가 아닌 매핑 패턴(예: GET /v1/leaderboard/rank/{userId})을 사용해 태그 카디널리티를 제한한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisMetricsInterceptor implements HandlerInterceptor {
+
+    private final RedisMetrics redisMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+        RedisRequestContext.begin(endpoint);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String endpoint = RedisRequestContext.currentEndpoint();
+        int roundTrips = RedisRequestContext.end();
+        redisMetrics.recordRequest(endpoint, roundTrips);
+    }
+}
@@ -0,0 +1,52 @@
+package io.wte.redis_lab.common.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * RedisConnectionFactory 빈을 프록시로 감싸, 발급되는 모든 커넥션에 메트릭 인터셉터를 붙인다.
+ * StringRedisTemplate, Lua 스크립트 실행, 파이프라인 모두 이 커넥션을 거치므로 코드 변경 없이 계측된다.
+ *
+ * redis.metrics.enabled=false로 끌 수 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "redis.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RedisMetrics> metricsProvider;
+
+    public RedisMetricsPostProcessor(ObjectProvider<RedisMetrics> metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof RedisConnectionFactory)) {
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            String name = invocation.getMethod().getName();
+            if (!"getConnection".equals(name) && !"getClusterConnection".equals(name)) {
+                return invocation.proceed();
+            }
+
+            RedisMetrics metrics = metricsProvider.getObject();
+            long start = System.nanoTime();
+            Object connection = invocation.proceed();
+            metrics.recordAcquire(System.nanoTime() - start);
+
+            ProxyFactory connectionProxy = new ProxyFactory(connection);
+            connectionProxy.addAdvice(new RedisConnectionInterceptor(metrics));
+            return connectionProxy.getProxy();
+        });
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,44 @@
+package io.wte.redis_lab.common.metrics;
+
+/**
+ * 현재 요청 스레드의 엔드포인트와 Redis 왕복 횟수를 보관한다.
+ * HTTP 요청 밖(스케줄러, 기동 작업 등)에서 실행된 명령은 엔드포인트 "none"으로 집계된다.
+ */
+public final class RedisRequestContext {
+
+    public static final String NO_ENDPOINT = "none";
+
+    private static final ThreadLocal<RedisRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int roundTrips;
+
+    private RedisRequestContext(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static void begin(String endpoint) {
+        CURRENT.set(new RedisRequestContext(endpoint));
+    }
+
+    /**
+     * 현재 요청 컨텍스트를 정리하고 요청 동안의 Redis 왕복 횟수를 반환한다.
+     */
+    public static int end() {
+        RedisRequestContext context = CURRENT.get();
+        CURRENT.remove();
+        return context != null ? context.roundTrips : 0;
+    }
+
+    public static String currentEndpoint() {
+        RedisRequestContext context = CURRENT.get();
+        return context != null ? context.endpoint : NO_ENDPOINT;
+    }
+
+    static void addRoundTrip() {
+        RedisRequestContext context = CURRENT.get();
+        if (context != null) {
+            context.roundTrips++;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.wte.redis_lab.common.redis;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.wte.redis_lab.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/v1/admin")
+@RequiredArgsConstructor
+@Tag(name = "Redis Admin API", description = "Redis 접근 계층 상태 조회 API")
+public class HotKeyController {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    @Operation(
+            summary = "핫 키 조회",
+            description = "이 노드에서 로컬 캐시로 승격된 핫 키(Redis 키 + 조회 구분)와 윈도우 안 추정 조회 수를 반환합니다. " +
+                    "핫 키는 노드마다 따로 탐지합니다."
+    )
+    @GetMapping("/hot-keys")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getHotKeys() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("settings", hotKeyDetector.settings());
+        response.put("keys", hotKeyDetector.hotKeys());
+        return ResponseEntity.ok(ApiResponse.success("핫 키 조회 성공", response));
+    }
+}
@@ -0,0 +1,264 @@
+package io.wte.redis_lab.common.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 핫 키 탐지와 로컬 승격.
+ *
+ * Redis 조회마다 (키, 필드)를 슬라이딩 윈도우 count-min sketch({@link WindowedCountMinSketch})에 센다.
+ * 필드는 같은 키에 대한 서로 다른 조회를 구분한다 (예: top:100, rank:{userId}).
+ * 윈도우(redis.hot-key.bucket-ms × buckets) 안의 추정 횟수가 redis.hot-key.threshold 이상이 되면 핫 키로 승격하고,
+ * 이후 그 조회 결과를 노드 로컬에 redis.hot-key.cache-ttl-ms 동안 캐시한다. 구간이 바뀔 때마다 핫 키를 다시 추정해
+ * 임계값의 절반 아래로 떨어지면 강등하고 캐시를 비운다 (경계에서 승격/강등을 반복하지 않도록).
+ *
+ * 이 노드의 쓰기는 {@link #invalidate(String)}로 바로 캐시를 비우고, 다른 노드의 쓰기는 변경 피드를 받은 쪽에서
+ * 같은 메서드로 비운다. 피드 메시지를 놓친 경우에도 캐시 TTL이 지나면 다시 읽는다.
+ * 쓰기 토큰을 보낸 요청이나 허용 지연이 캐시 TTL보다 짧은 요청은 캐시를 거치지 않는다 ({@link ReadConsistency}).
+ * 핫 키 수는 redis.hot-key.max-keys로 제한한다 (메트릭 태그 수도 같이 제한된다).
+ */
+@Slf4j
+@Component
+public class HotKeyDetector {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final boolean enabled;
+    private final long bucketMs;
+    private final int buckets;
+    private final int threshold;
+    private final long cacheTtlMs;
+    private final int maxKeys;
+    private final WindowedCountMinSketch sketch;
+
+    /** 핫 키 (키 + ' ' + 필드 → 상태) */
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+    /** 핫 키 조회 결과 캐시 (Redis 키별) */
+    private final Map<String, Slot> cache = new ConcurrentHashMap<>();
+
+    private final Counter promotions;
+    private final Counter demotions;
+    private final Counter rejections;
+    private final Counter hits;
+    private final Counter misses;
+    private final MultiGauge windowCounts;
+
+    public HotKeyDetector(MeterRegistry meterRegistry,
+                          @Value("${redis.hot-key.enabled:true}") boolean enabled,
+                          @Value("${redis.hot-key.bucket-ms:1000}") long bucketMs,
+                          @Value("${redis.hot-key.buckets:10}") int buckets,
+                          @Value("${redis.hot-key.threshold:1000}") int threshold,
+                          @Value("${redis.hot-key.cache-ttl-ms:500}") long cacheTtlMs,
+                          @Value("${redis.hot-key.max-keys:100}") int maxKeys) {
+        this.enabled = enabled;
+        this.bucketMs = bucketMs;
+        this.buckets = buckets;
+        this.threshold = threshold;
+        this.cacheTtlMs = cacheTtlMs;
+        this.maxKeys = maxKeys;
+        this.sketch = new WindowedCountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH, buckets);
+
+        this.promotions = Counter.builder("redis.hotkey.promotions").register(meterRegistry);
+        this.demotions = Counter.builder("redis.hotkey.demotions").register(meterRegistry);
+        this.rejections = Counter.builder("redis.hotkey.rejections")
+                .description("핫 키 수 한도로 승격하지 못한 횟수")
+                .register(meterRegistry);
+        this.hits = Counter.builder("redis.hotkey.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("redis.hotkey.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("redis.hotkey.count", hotKeys, Map::size)
+                .description("현재 핫 키 수")
+                .register(meterRegistry);
+        this.windowCounts = MultiGauge.builder("redis.hotkey.window.requests")
+                .description("핫 키별 윈도우 안 추정 조회 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회를 세고, 핫 키면 로컬 캐시에서 반환한다 (없거나 만료됐으면 loader로 읽어 캐시).
+     *
+     * @param key Redis 키
+     * @param field 같은 키 안에서 조회를 구분하는 이름 (예: top:100)
+     * @param loader Redis 조회
+     */
+    public <T> T read(String key, String field, Supplier<T> loader) {
+        return read(key, field, loader, value -> true);
+    }
+
+    /**
+     * @param cacheable 캐시해도 되는 결과인지 (예: 아직 바뀔 수 있는 값은 제외)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String key, String field, Supplier<T> loader, Predicate<? super T> cacheable) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String item = key + ' ' + field;
+        int estimate = sketch.add(WindowedCountMinSketch.hash(item));
+        if (!hotKeys.containsKey(item) && (estimate < threshold || !promote(item, key, field, estimate))) {
+            return loader.get();
+        }
+        if (!cacheAllowed()) {
+            return loader.get();
+        }
+
+        Slot slot = cache.computeIfAbsent(key, k -> new Slot());
+        long now = System.nanoTime();
+        Cached cached = slot.fields.get(field);
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs * 1_000_000) {
+            hits.increment();
+            return (T) cached.value();
+        }
+        misses.increment();
+
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            Cached loaded = new Cached(value, now);
+            slot.fields.put(field, loaded);
+            // 읽는 동안 이 노드에서 쓰기가 있었다면 이전 값을 남기지 않는다
+            if (slot.invalidatedAt - now >= 0) {
+                slot.fields.remove(field, loaded);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 키에 대한 캐시를 비운다. 이 노드에서 키를 바꾼 뒤, 또는 다른 노드의 변경을 전달받았을 때 호출한다.
+     */
+    public void invalidate(String key) {
+        Slot slot = cache.get(key);
+        if (slot != null) {
+            slot.invalidatedAt = System.nanoTime();
+            slot.fields.clear();
+        }
+    }
+
+    /**
+     * 윈도우를 한 구간 넘기고 핫 키를 다시 추정해 임계값의 절반 아래면 강등한다.
+     */
+    @Scheduled(fixedRateString = "${redis.hot-key.bucket-ms:1000}")
+    public void rotate() {
+        if (!enabled) {
+            return;
+        }
+        sketch.rotate();
+        hotKeys.forEach((item, hotKey) -> {
+            hotKey.windowCount = sketch.estimate(WindowedCountMinSketch.hash(item));
+            if (hotKey.windowCount * 2L < threshold) {
+                demote(item, hotKey);
+            }
+        });
+        windowCounts.register(hotKeys.values().stream()
+                .map(hotKey -> MultiGauge.Row.of(Tags.of("key", hotKey.key, "field", hotKey.field), hotKey.windowCount))
+                .toList(), true);
+    }
+
+    /**
+     * 현재 핫 키 목록 (윈도우 안 추정 조회 수 내림차순)
+     */
+    public List<HotKeyView> hotKeys() {
+        double windowSeconds = bucketMs * buckets / 1000.0;
+        return hotKeys.values().stream()
+                .map(hotKey -> new HotKeyView(hotKey.key, hotKey.field, hotKey.windowCount,
+                        hotKey.windowCount / windowSeconds, hotKey.promotedAt))
+                .sorted(Comparator.comparingLong(HotKeyView::windowCount).reversed())
+                .toList();
+    }
+
+    /**
+     * 탐지 설정과 상태
+     */
+    public Settings settings() {
+        return new Settings(enabled, bucketMs * buckets, threshold, cacheTtlMs, maxKeys, sketch.sizeBytes());
+    }
+
+    private boolean promote(String item, String key, String field, int estimate) {
+        if (hotKeys.size() >= maxKeys) {
+            rejections.increment();
+            return false;
+        }
+        HotKey hotKey = new HotKey(key, field, Instant.now());
+        hotKey.windowCount = estimate;
+        if (hotKeys.putIfAbsent(item, hotKey) == null) {
+            promotions.increment();
+            log.info("핫 키 승격 - 키: {}, 필드: {}, 윈도우 조회 수: {}", key, field, estimate);
+        }
+        return true;
+    }
+
+    private void demote(String item, HotKey hotKey) {
+        if (!hotKeys.remove(item, hotKey)) {
+            return;
+        }
+        Slot slot = cache.get(hotKey.key);
+        if (slot != null) {
+            slot.fields.remove(hotKey.field);
+            if (slot.fields.isEmpty()) {
+                cache.remove(hotKey.key, slot);
+            }
+        }
+        demotions.increment();
+        log.info("핫 키 강등 - 키: {}, 필드: {}, 윈도우 조회 수: {}", hotKey.key, hotKey.field, hotKey.windowCount);
+    }
+
+    private boolean cacheAllowed() {
+        return ReadConsistency.writeToken() == 0 && ReadConsistency.maxStalenessMs(Long.MAX_VALUE) >= cacheTtlMs;
+    }
+
+    private static final class HotKey {
+        final String key;
+        final String field;
+        final Instant promotedAt;
+        volatile long windowCount;
+
+        HotKey(String key, String field, Instant promotedAt) {
+            this.key = key;
+            this.field = field;
+            this.promotedAt = promotedAt;
+        }
+    }
+
+    private static final class Slot {
+        final Map<String, Cached> fields = new ConcurrentHashMap<>();
+        volatile long invalidatedAt = System.nanoTime() - 1;
+    }
+
+    private record Cached(Object value, long loadedAt) {}
+
+    /**
+     * 핫 키
+     *
+     * @param key Redis 키
+     * @param field 조회 구분 (예: top:100, rank:{userId})
+     * @param windowCount 윈도우 안 추정 조회 수
+     * @param perSecond 초당 추정 조회 수
+     * @param promotedAt 승격 시각
+     */
+    public record HotKeyView(String key, String field, long windowCount, double perSecond, Instant promotedAt) {}
+
+    /**
+     * @param enabled 탐지 사용 여부
+     * @param windowMs 윈도우 길이(밀리초)
+     * @param threshold 승격 임계값 (윈도우 안 조회 수, 절반 아래로 떨어지면 강등)
+     * @param cacheTtlMs 로컬 캐시 TTL(밀리초)
+     * @param maxKeys 최대 핫 키 수
+     * @param sketchBytes count-min sketch 메모리(바이트)
+     */
+    public record Settings(boolean enabled, long windowMs, int threshold, long cacheTtlMs, int maxKeys, long sketchBytes) {}
+}
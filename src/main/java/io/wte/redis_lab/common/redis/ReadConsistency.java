@@ -0,0 +1,49 @@
+package io.wte.redis_lab.common.redis;
+
+/**
+ * 현재 요청 스레드의 읽기 일관성 요구를 보관한다.
+ *
+ * 클라이언트는 쓰기 응답의 {@value #WRITE_TOKEN_HEADER} 값을 다음 조회 요청에 그대로 실어 보내면
+ * 자신의 쓰기가 반영된 노드에서만 읽게 된다. {@value #MAX_STALENESS_HEADER}로 요청마다 허용 지연을 줄일 수 있다 (0이면 항상 primary).
+ * HTTP 요청 밖(스케줄러, 벤치마크 등)에서는 토큰 없이 기본 허용 지연이 적용된다.
+ */
+public final class ReadConsistency {
+
+    public static final String WRITE_TOKEN_HEADER = "X-Write-Token";
+    public static final String MAX_STALENESS_HEADER = "X-Max-Staleness-Ms";
+
+    private static final ThreadLocal<ReadConsistency> CURRENT = new ThreadLocal<>();
+
+    private final long writeToken;
+    private final long maxStalenessMs;
+
+    private ReadConsistency(long writeToken, long maxStalenessMs) {
+        this.writeToken = writeToken;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    /**
+     * @param writeToken 이 값 이상의 복제 오프셋을 가진 노드에서만 읽는다 (없으면 0)
+     * @param maxStalenessMs 허용 지연(밀리초, 지정하지 않으면 음수)
+     */
+    public static void begin(long writeToken, long maxStalenessMs) {
+        CURRENT.set(new ReadConsistency(writeToken, maxStalenessMs));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static long writeToken() {
+        ReadConsistency context = CURRENT.get();
+        return context != null ? context.writeToken : 0L;
+    }
+
+    /**
+     * @param defaultMs 요청에 지정되지 않았을 때의 허용 지연
+     */
+    public static long maxStalenessMs(long defaultMs) {
+        ReadConsistency context = CURRENT.get();
+        return context != null && context.maxStalenessMs >= 0 ? context.maxStalenessMs : defaultMs;
+    }
+}
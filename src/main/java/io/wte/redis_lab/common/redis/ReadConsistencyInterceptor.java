@@ -0,0 +1,38 @@
+package io.wte.redis_lab.common.redis;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 요청 헤더의 쓰기 토큰과 허용 지연을 {@link ReadConsistency}에 담는다.
+ * 형식이 잘못된 값은 지정하지 않은 것으로 본다.
+ */
+@Component
+public class ReadConsistencyInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadConsistency.begin(
+                Math.max(parse(request.getHeader(ReadConsistency.WRITE_TOKEN_HEADER)), 0L),
+                parse(request.getHeader(ReadConsistency.MAX_STALENESS_HEADER)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadConsistency.end();
+    }
+
+    private static long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.wte.redis_lab.common.redis;
+
+/**
+ * 격벽({@link RedisBulkheads})의 동시 실행 한도가 차서 대기 시간 안에 자리를 얻지 못한 경우.
+ * Redis 장애와 같이 대체 경로(스냅샷/스풀)로 처리할 수 있도록 {@link RedisUnavailableException}을 잇는다.
+ */
+public class RedisBulkheadFullException extends RedisUnavailableException {
+
+    private final String bulkhead;
+
+    public RedisBulkheadFullException(String bulkhead, String operation) {
+        super(operation + ": Redis 격벽(" + bulkhead + ") 포화");
+        this.bulkhead = bulkhead;
+    }
+
+    public String bulkhead() {
+        return bulkhead;
+    }
+}
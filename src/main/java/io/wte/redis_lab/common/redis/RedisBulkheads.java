@@ -0,0 +1,245 @@
+package io.wte.redis_lab.common.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.wte.redis_lab.common.metrics.RedisMetricsPostProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 트래픽 종류별 Redis 격벽(bulkhead).
+ *
+ * 요청은 가상 스레드에서 처리되므로 스레드 수가 더 이상 Redis 호출을 제한하지 않는다. 대신 Redis 호출을 종류별로 나눠
+ * 각각 동시 실행 한도(redis.bulkhead.{종류}.max-concurrent)와 대기 시간(max-wait-ms)을 두고,
+ * 쓰기 수집(ingest)과 관리/배치(admin)는 자기 Lettuce 연결을 따로 쓴다(redis.bulkhead.dedicated-connections).
+ * 대량 ZADD 파이프라인이나 UNLINK/SCAN이 몰려도 대화형 조회(read)가 쓰는 자동 구성 연결과 한도는 그대로 남는다.
+ *
+ * 한도가 찬 격벽은 대기 시간 동안 자리를 기다리고, 그래도 없으면 {@link RedisBulkheadFullException}을 던진다
+ * (조회는 상위 N 스냅샷, 기록은 스풀 같은 기존 대체 경로를 탄다). 배치 작업은 {@link Bulkhead#callBlocking}으로 끝까지 기다린다.
+ * 단일 Redis 설정(spring.data.redis.host/port)이 아니면 전용 연결 없이 한도만 적용한다.
+ */
+@Slf4j
+@Component
+public class RedisBulkheads {
+
+    public enum Kind {
+        /** 러닝 기록 등 쓰기 수집 */
+        INGEST,
+        /** 상위 N, 순위, 주변 조회 */
+        READ,
+        /** 테스트 데이터 생성, 초기화, 시즌 전환, 보관, 내보내기 */
+        ADMIN;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Kind, Bulkhead> bulkheads = new EnumMap<>(Kind.class);
+    private final List<LettuceConnectionFactory> ownedFactories = new ArrayList<>();
+
+    public RedisBulkheads(StringRedisTemplate primary,
+                          ObjectProvider<RedisProperties> properties,
+                          ObjectProvider<RedisMetricsPostProcessor> metricsPostProcessor,
+                          MeterRegistry meterRegistry,
+                          @Value("${redis.bulkhead.dedicated-connections:true}") boolean dedicatedConnections,
+                          @Value("${redis.bulkhead.ingest.max-concurrent:64}") int ingestLimit,
+                          @Value("${redis.bulkhead.ingest.max-wait-ms:100}") long ingestWaitMs,
+                          @Value("${redis.bulkhead.read.max-concurrent:128}") int readLimit,
+                          @Value("${redis.bulkhead.read.max-wait-ms:25}") long readWaitMs,
+                          @Value("${redis.bulkhead.admin.max-concurrent:4}") int adminLimit,
+                          @Value("${redis.bulkhead.admin.max-wait-ms:2000}") long adminWaitMs) {
+        RedisProperties redis = properties != null ? properties.getIfAvailable() : null;
+        boolean dedicated = dedicatedConnections && redis != null
+                && redis.getCluster() == null && redis.getSentinel() == null && redis.getUrl() == null;
+        if (dedicatedConnections && !dedicated) {
+            log.info("Redis 격벽 전용 연결 미사용 - 단일 Redis 설정이 아님, 한도만 적용");
+        }
+
+        StringRedisTemplate ingestTemplate = primary;
+        StringRedisTemplate adminTemplate = primary;
+        if (dedicated) {
+            RedisMetricsPostProcessor postProcessor = metricsPostProcessor.getIfAvailable();
+            ingestTemplate = new StringRedisTemplate(start(redis, postProcessor, "ingestRedisConnectionFactory"));
+            adminTemplate = new StringRedisTemplate(start(redis, postProcessor, "adminRedisConnectionFactory"));
+        }
+        bulkheads.put(Kind.INGEST, new Bulkhead(Kind.INGEST, ingestTemplate, ingestLimit, ingestWaitMs, meterRegistry));
+        bulkheads.put(Kind.READ, new Bulkhead(Kind.READ, primary, readLimit, readWaitMs, meterRegistry));
+        bulkheads.put(Kind.ADMIN, new Bulkhead(Kind.ADMIN, adminTemplate, adminLimit, adminWaitMs, meterRegistry));
+        log.info("Redis 격벽 - ingest: {}/{}ms, read: {}/{}ms, admin: {}/{}ms, 전용 연결: {}",
+                ingestLimit, ingestWaitMs, readLimit, readWaitMs, adminLimit, adminWaitMs, dedicated);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ownedFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    public Bulkhead ingest() {
+        return bulkheads.get(Kind.INGEST);
+    }
+
+    public Bulkhead read() {
+        return bulkheads.get(Kind.READ);
+    }
+
+    public Bulkhead admin() {
+        return bulkheads.get(Kind.ADMIN);
+    }
+
+    /**
+     * 자동 구성과 같은 주소/인증/마감 설정으로 단독 연결 팩토리를 연다.
+     */
+    private RedisConnectionFactory start(RedisProperties redis, RedisMetricsPostProcessor postProcessor, String name) {
+        RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration(redis.getHost(), redis.getPort());
+        ReplicaReadRouter.authenticate(standalone, redis);
+        Duration defaultTimeout = redis.getTimeout() != null ? redis.getTimeout() : Duration.ofSeconds(60);
+        LettuceClientConfiguration client = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder()
+                        .timeoutOptions(TimeoutOptions.builder()
+                                .timeoutSource(RedisDeadline.timeoutSource(defaultTimeout))
+                                .build())
+                        .build())
+                .clientName(name)
+                .build();
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(standalone, client);
+        factory.afterPropertiesSet();
+        factory.start();
+        ownedFactories.add(factory);
+        return postProcessor != null
+                ? (RedisConnectionFactory) postProcessor.postProcessAfterInitialization(factory, name)
+                : factory;
+    }
+
+    /**
+     * 격벽 하나: 전용(또는 공유) 연결 템플릿과 동시 실행 한도
+     */
+    public static final class Bulkhead {
+
+        private final String name;
+        private final StringRedisTemplate template;
+        private final int maxConcurrent;
+        private final long maxWaitMs;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Counter rejections;
+        private final Timer waitTimer;
+
+        Bulkhead(Kind kind, StringRedisTemplate template, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+            this.name = kind.tag();
+            this.template = template;
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMs = maxWaitMs;
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.rejections = Counter.builder("redis.bulkhead.rejections")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("redis.bulkhead.wait")
+                    .description("격벽 자리를 얻을 때까지 기다린 시간")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.bulkhead.queue", waiting, AtomicInteger::get)
+                    .description("자리를 기다리는 호출 수")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.bulkhead.active", this, Bulkhead::active)
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("redis.bulkhead.limit", this, bulkhead -> bulkhead.maxConcurrent)
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 이 격벽의 Redis 템플릿 (전용 연결이 없으면 자동 구성 템플릿)
+         */
+        public StringRedisTemplate template() {
+            return template;
+        }
+
+        /**
+         * 자리를 최대 max-wait-ms 동안 기다려 실행한다.
+         *
+         * @throws RedisBulkheadFullException 대기 시간 안에 자리를 얻지 못한 경우
+         */
+        public <T> T call(String operation, Supplier<T> action) {
+            acquire(operation, maxWaitMs);
+            try {
+                return action.get();
+            } finally {
+                permits.release();
+            }
+        }
+
+        /**
+         * 자리가 날 때까지 기다려 실행한다. 요청 경로가 아닌 배치 작업용.
+         */
+        public <T> T callBlocking(String operation, Supplier<T> action) {
+            acquire(operation, Long.MAX_VALUE);
+            try {
+                return action.get();
+            } finally {
+                permits.release();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int active() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        public int waiting() {
+            return waiting.get();
+        }
+
+        private void acquire(String operation, long waitMs) {
+            if (permits.tryAcquire()) {
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return;
+            }
+            long started = System.nanoTime();
+            waiting.incrementAndGet();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisUnavailableException(operation + ": 격벽 대기 중 인터럽트", e);
+            } finally {
+                waiting.decrementAndGet();
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                rejections.increment();
+                throw new RedisBulkheadFullException(name, operation);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.wte.redis_lab.common.redis;
+
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 요청 경로의 Redis 호출을 감싸는 마감 시간 + 회로 차단기.
+ *
+ * 호출마다 마감(조회 redis.deadline.read-ms, 쓰기 redis.deadline.write-ms)을 걸고,
+ * 타임아웃/연결 실패가 redis.breaker.failure-threshold번 연속되면 회로를 연다.
+ * 열려 있는 동안(redis.breaker.open-ms)은 Redis를 호출하지 않고 바로 {@link RedisUnavailableException}을 던져
+ * 요청 스레드가 타임아웃을 기다리며 쌓이지 않게 한다. 그 뒤 한 번의 시험 호출이 성공하면 다시 닫는다.
+ *
+ * 스크립트 오류처럼 Redis가 응답한 실패는 장애로 세지 않고 그대로 전달한다.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final Duration readDeadline;
+    private final Duration writeDeadline;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejections;
+
+    public RedisCircuitBreaker(MeterRegistry meterRegistry,
+                               @Value("${redis.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${redis.breaker.open-ms:5000}") long openMs,
+                               @Value("${redis.deadline.read-ms:250}") long readDeadlineMs,
+                               @Value("${redis.deadline.write-ms:1000}") long writeDeadlineMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.readDeadline = Duration.ofMillis(readDeadlineMs);
+        this.writeDeadline = Duration.ofMillis(writeDeadlineMs);
+        this.successes = Counter.builder("redis.breaker.calls").tag("result", "success").register(meterRegistry);
+        this.failures = Counter.builder("redis.breaker.calls").tag("result", "failure").register(meterRegistry);
+        this.rejections = Counter.builder("redis.breaker.calls").tag("result", "rejected").register(meterRegistry);
+        Gauge.builder("redis.breaker.state", this, breaker -> breaker.state().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회 마감으로 실행한다.
+     */
+    public <T> T read(String operation, Supplier<T> action) {
+        return execute(operation, readDeadline, action);
+    }
+
+    /**
+     * 쓰기 마감으로 실행한다.
+     */
+    public <T> T write(String operation, Supplier<T> action) {
+        return execute(operation, writeDeadline, action);
+    }
+
+    /**
+     * @throws RedisUnavailableException 회로가 열려 있거나 마감 초과/연결 실패인 경우
+     */
+    public <T> T execute(String operation, Duration deadline, Supplier<T> action) {
+        if (!tryAcquire()) {
+            rejections.increment();
+            throw new RedisUnavailableException(operation + ": Redis 회로 차단 중");
+        }
+        try {
+            T result = RedisDeadline.within(deadline, action);
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (!isRedisFailure(e)) {
+                onSuccess();
+                throw e;
+            }
+            onFailure(operation, e);
+            throw new RedisUnavailableException(operation + ": " + e.getMessage(), e);
+        } catch (Error e) {
+            // Redis 응답과 무관한 오류라 회로 상태는 그대로 두되, 시험 호출이었다면 다음 호출이 다시 시험하도록 자리를 돌려준다
+            releaseProbe();
+            throw e;
+        }
+    }
+
+    /**
+     * 지금 호출하면 Redis까지 가는지 (닫혀 있거나 시험 호출을 보낼 차례)
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.currentTimeMillis() - openedAt >= openMs;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return 다시 시도해 볼 만한 시점까지 남은 초 (최소 1)
+     */
+    public synchronized long retryAfterSeconds() {
+        long remainingMs = state == State.OPEN ? openMs - (System.currentTimeMillis() - openedAt) : 0;
+        return Math.max(1, (remainingMs + 999) / 1000);
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        successes.increment();
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("Redis 회로 닫힘 - 정상 응답 확인");
+            state = State.CLOSED;
+            probeInFlight = false;
+        }
+    }
+
+    private synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    private synchronized void onFailure(String operation, RuntimeException e) {
+        failures.increment();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Redis 회로 열림 - 연속 실패: {}, 마지막 작업: {}, 오류: {}",
+                        consecutiveFailures, operation, e.getMessage());
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+        }
+    }
+
+    private static boolean isRedisFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof QueryTimeoutException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof RedisCommandTimeoutException
+                    || t instanceof RedisConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package io.wte.redis_lab.common.redis;
+
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드에서 실행되는 Redis 명령의 마감 시각.
+ *
+ * Lettuce는 명령을 호출 스레드에서 내보내면서 {@link #timeoutSource(Duration)}로 명령별 타임아웃을 정하므로,
+ * {@link #within(Duration, Supplier)} 안에서 실행된 명령은 남은 시간이 지나면 바로 실패한다.
+ * 마감이 없는 명령(스케줄러, 리액티브, 구독 등)은 기본 타임아웃(spring.data.redis.timeout)을 그대로 쓴다.
+ */
+public final class RedisDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RedisDeadline() {
+    }
+
+    /**
+     * 마감 시간 안에서 action을 실행한다. 이미 더 이른 마감이 있으면 그 마감을 따른다.
+     */
+    public static <T> T within(Duration timeout, Supplier<T> action) {
+        Long previous = DEADLINE_NANOS.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        DEADLINE_NANOS.set(previous != null ? Math.min(previous, deadline) : deadline);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                DEADLINE_NANOS.set(previous);
+            } else {
+                DEADLINE_NANOS.remove();
+            }
+        }
+    }
+
+    /**
+     * @return 남은 시간(밀리초, 최소 1). 마감이 없으면 -1
+     */
+    static long remainingMs() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return -1;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * 마감이 있으면 남은 시간을, 없으면 기본 타임아웃을 명령 타임아웃으로 쓰는 Lettuce 타임아웃 소스
+     */
+    public static TimeoutOptions.TimeoutSource timeoutSource(Duration defaultTimeout) {
+        long defaultMs = defaultTimeout.toMillis();
+        return new TimeoutOptions.TimeoutSource() {
+            @Override
+            public long getTimeout(RedisCommand<?, ?, ?> command) {
+                long remaining = remainingMs();
+                return remaining > 0 ? remaining : defaultMs;
+            }
+        };
+    }
+}
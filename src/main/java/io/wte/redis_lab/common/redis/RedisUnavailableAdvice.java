@@ -0,0 +1,38 @@
+package io.wte.redis_lab.common.redis;
+
+import io.wte.redis_lab.common.dto.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 대체 경로 없이 Redis가 필요한 요청이 {@link RedisUnavailableException}으로 끝나면 503과 Retry-After로 응답한다.
+ * 클라이언트는 회로가 다시 시험 호출을 허용할 시점 이후에 재시도하면 된다.
+ * 격벽 포화({@link RedisBulkheadFullException})는 Redis 장애가 아니라 순간적인 과부하이므로 1초 뒤 재시도를 안내한다.
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class RedisUnavailableAdvice {
+
+    private final RedisCircuitBreaker breaker;
+
+    @ExceptionHandler(RedisBulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(RedisBulkheadFullException e) {
+        log.debug("Redis 격벽 포화로 요청 거절: {}", e.getMessage());
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("REDIS_BUSY", "요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+
+    @ExceptionHandler(RedisUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleRedisUnavailable(RedisUnavailableException e) {
+        log.warn("Redis 사용 불가로 요청 실패: {}", e.getMessage());
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(breaker.retryAfterSeconds()))
+                .body(ErrorResponse.of("REDIS_UNAVAILABLE", "일시적으로 요청을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+}
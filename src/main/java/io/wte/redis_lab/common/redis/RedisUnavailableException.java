@@ -0,0 +1,16 @@
+package io.wte.redis_lab.common.redis;
+
+/**
+ * Redis가 마감 안에 응답하지 않았거나 회로가 열려 있어 호출하지 않은 경우.
+ * 호출 측은 로컬 스냅샷/스풀 같은 대체 경로로 처리하거나 503으로 응답한다.
+ */
+public class RedisUnavailableException extends RuntimeException {
+
+    public RedisUnavailableException(String message) {
+        super(message);
+    }
+
+    public RedisUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
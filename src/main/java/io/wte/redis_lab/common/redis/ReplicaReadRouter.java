@@ -0,0 +1,432 @@
+package io.wte.redis_lab.common.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.wte.redis_lab.common.metrics.RedisMetricsPostProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 조회를 replica로 보내되, 허용 지연과 쓰기 토큰을 만족할 때만 보낸다.
+ *
+ * redis.read.replicas(예: localhost:6380)를 설정하면 primary + replica 정적 토폴로지로
+ * 조회 전용 커넥션 팩토리(ReadFrom.REPLICA_PREFERRED)를 따로 만든다. 쓰기와 기존 기능은
+ * 자동 구성된 primary 템플릿을 그대로 쓴다. replica를 설정하지 않으면 모든 조회가 primary로 간다.
+ *
+ * 일관성 판단은 복제 오프셋으로 한다.
+ * - 쓰기 토큰: 쓰기 스크립트와 INFO replication을 한 파이프라인으로 보내 쓰기 직후 primary의
+ *   master_repl_offset을 얻는다. 이 값을 사용자별로 기억하고 응답 헤더로도 돌려준다.
+ * - 주기 점검(redis.read.poll-ms): primary 오프셋 표본과 각 replica의 slave_repl_offset을 비교해
+ *   가장 뒤처진 replica의 오프셋과 지연(그 오프셋까지 primary가 도달했던 시각부터 지금까지)을 계산한다.
+ * 가장 뒤처진 replica가 토큰 이상이고 지연이 허용 범위(요청 헤더 또는 redis.read.max-staleness-ms) 안일 때만
+ * replica에서 읽는다. 점검이 실패하거나 복제 링크가 끊긴 replica가 있으면 모두 primary에서 읽는다.
+ *
+ * 오프셋은 같은 복제 이력(master_replid) 안에서만 비교할 수 있다. 장애 조치나 재시작으로 primary의 master_replid가
+ * 바뀌면 이전 이력의 사용자 토큰과 tokenFloor, 오프셋 표본을 버린다. 그대로 두면 새 이력의 오프셋이 이전 토큰에
+ * 닿을 때까지 모든 조회가 primary로 가거나, 작은 이전 토큰이 새 이력에서 잘못 만족된다.
+ */
+@Slf4j
+@Component
+public class ReplicaReadRouter {
+
+    private static final String INFO_SECTION = "replication";
+    private static final int MAX_SAMPLES = 1200;
+    private static final int MAX_TRACKED_USERS = 100_000;
+    private static final long UNBOUNDED = Long.MAX_VALUE / 4;
+
+    private final StringRedisTemplate primary;
+    private final StringRedisTemplate readTemplate;
+    private final long defaultMaxStalenessMs;
+
+    /** replica 주소 → 점검용 단독 커넥션 템플릿 */
+    private final Map<String, StringRedisTemplate> replicas = new LinkedHashMap<>();
+    private final List<LettuceConnectionFactory> ownedFactories = new ArrayList<>();
+
+    /** 사용자별 마지막 쓰기 토큰. 모든 replica가 따라잡으면 점검 때 지운다 */
+    private final Map<String, WriteToken> userTokens = new ConcurrentHashMap<>();
+    /** 추적 한도를 넘어 사용자별로 기억하지 못한 토큰 중 최댓값 (모든 조회에 적용) */
+    private final AtomicLong tokenFloor = new AtomicLong();
+    /** 마지막으로 본 primary의 master_replid (토큰과 오프셋이 속한 복제 이력) */
+    private volatile String replicationId;
+
+    /** primary 오프셋 표본 {시각(ms), 오프셋} - 점검 스레드에서만 접근 */
+    private final ArrayDeque<long[]> primarySamples = new ArrayDeque<>();
+    private volatile ReplicaState state = ReplicaState.UNKNOWN;
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaReadRouter(StringRedisTemplate primary,
+                             ObjectProvider<RedisProperties> properties,
+                             ObjectProvider<RedisMetricsPostProcessor> metricsPostProcessor,
+                             MeterRegistry meterRegistry,
+                             @Value("${redis.read.replicas:}") String replicaNodes,
+                             @Value("${redis.read.max-staleness-ms:1000}") long defaultMaxStalenessMs) {
+        this.primary = primary;
+        this.defaultMaxStalenessMs = defaultMaxStalenessMs;
+
+        List<String> nodes = Arrays.stream(replicaNodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .toList();
+        if (nodes.isEmpty()) {
+            this.readTemplate = primary;
+        } else {
+            RedisProperties redis = properties.getIfAvailable(RedisProperties::new);
+            RedisStaticMasterReplicaConfiguration topology =
+                    new RedisStaticMasterReplicaConfiguration(redis.getHost(), redis.getPort());
+            for (String node : nodes) {
+                topology.node(host(node), port(node));
+            }
+            authenticate(topology, redis);
+            RedisConnectionFactory readFactory = start(topology, redis, ReadFrom.REPLICA_PREFERRED);
+            RedisMetricsPostProcessor postProcessor = metricsPostProcessor.getIfAvailable();
+            if (postProcessor != null) {
+                readFactory = (RedisConnectionFactory)
+                        postProcessor.postProcessAfterInitialization(readFactory, "readRedisConnectionFactory");
+            }
+            this.readTemplate = new StringRedisTemplate(readFactory);
+
+            for (String node : nodes) {
+                RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration(host(node), port(node));
+                authenticate(standalone, redis);
+                replicas.put(node, new StringRedisTemplate(start(standalone, redis, null)));
+            }
+            log.info("replica 조회 사용 - primary: {}:{}, replicas: {}, 기본 허용 지연: {}ms",
+                    redis.getHost(), redis.getPort(), nodes, defaultMaxStalenessMs);
+        }
+
+        this.replicaReads = Counter.builder("redis.read.routed").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("redis.read.routed").tag("target", "primary").register(meterRegistry);
+        Gauge.builder("redis.read.replica.lag", this, router -> router.state.lagMs())
+                .description("가장 뒤처진 replica의 추정 지연(밀리초)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("redis.read.tracked.users", userTokens, Map::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ownedFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * 현재 요청의 일관성 요구(헤더의 쓰기 토큰, 허용 지연)를 만족하는 조회용 템플릿.
+     */
+    public StringRedisTemplate reads() {
+        return route(ReadConsistency.writeToken());
+    }
+
+    /**
+     * 특정 사용자에 대한 조회용 템플릿. 그 사용자의 최근 쓰기가 반영된 노드에서만 읽는다.
+     *
+     * @param userId 사용자 ID
+     */
+    public StringRedisTemplate readsFor(String userId) {
+        WriteToken token = userTokens.get(userId);
+        long userToken = token != null && token.replicationId().equals(replicationId) ? token.offset() : 0L;
+        return route(Math.max(ReadConsistency.writeToken(), userToken));
+    }
+
+    /**
+     * 사용자의 쓰기 토큰이 아직 모든 replica에 반영되지 않았는지.
+     * 이 사용자의 조회는 노드 로컬 캐시처럼 쓰기 이전 값을 가질 수 있는 곳을 거치지 않아야 한다.
+     *
+     * @param userId 사용자 ID
+     */
+    public boolean hasPendingWrite(String userId) {
+        WriteToken token = userTokens.get(userId);
+        return token != null && token.replicationId().equals(replicationId) && token.offset() > state.replicatedOffset();
+    }
+
+    /**
+     * primary에서 스크립트를 실행하고, 같은 왕복에서 쓰기 직후의 복제 오프셋을 쓰기 토큰으로 얻는다.
+     * replica를 쓰지 않으면 스크립트만 실행하고 토큰은 0이다.
+     *
+     * @param userId 토큰을 기억할 사용자 (null이면 기억하지 않음)
+     * @return 스크립트 결과와 쓰기 토큰
+     */
+    public <T> TrackedWrite<T> execute(String userId, RedisScript<T> script, List<String> keys, List<String> args) {
+        return execute(primary, userId, script, keys, args);
+    }
+
+    /**
+     * {@link #execute(String, RedisScript, List, List)}를 지정한 primary 연결(예: 격벽 전용 연결)로 실행한다.
+     *
+     * @param writer primary에 연결된 템플릿
+     */
+    public <T> TrackedWrite<T> execute(StringRedisTemplate writer, String userId, RedisScript<T> script,
+                                       List<String> keys, List<String> args) {
+        if (!isEnabled()) {
+            return new TrackedWrite<>(writer.execute(script, keys, args.toArray()), 0L);
+        }
+
+        byte[][] keysAndArgs = Stream.concat(keys.stream(), args.stream())
+                .map(value -> value.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        List<Object> results;
+        try {
+            results = executeWithOffset(writer, script, keys.size(), keysAndArgs);
+        } catch (DataAccessException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            // 스크립트 캐시가 비어 있으면(재시작, SCRIPT FLUSH) 올리고 한 번 더 시도
+            writer.execute((RedisCallback<String>) connection -> connection.scriptingCommands()
+                    .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+            results = executeWithOffset(writer, script, keys.size(), keysAndArgs);
+        }
+
+        Properties info = (Properties) results.get(1);
+        long token = Long.parseLong(info.getProperty("master_repl_offset", "0"));
+        String replid = info.getProperty("master_replid");
+        observeReplicationId(replid);
+        if (userId != null && replid != null) {
+            track(userId, new WriteToken(replid, token));
+        }
+        @SuppressWarnings("unchecked")
+        T result = (T) results.get(0);
+        return new TrackedWrite<>(result, token);
+    }
+
+    /**
+     * primary와 각 replica의 복제 오프셋을 읽어 라우팅 상태를 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${redis.read.poll-ms:100}")
+    public void poll() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            Properties primaryInfo = info(primary);
+            if (observeReplicationId(primaryInfo.getProperty("master_replid"))) {
+                // 이전 이력의 표본은 새 이력의 오프셋과 비교할 수 없다
+                primarySamples.clear();
+            }
+            long primaryOffset = Long.parseLong(primaryInfo.getProperty("master_repl_offset", "0"));
+            primarySamples.addLast(new long[]{now, primaryOffset});
+            if (primarySamples.size() > MAX_SAMPLES) {
+                primarySamples.removeFirst();
+            }
+
+            long minOffset = Long.MAX_VALUE;
+            for (Map.Entry<String, StringRedisTemplate> replica : replicas.entrySet()) {
+                Properties info = info(replica.getValue());
+                if (!"up".equals(info.getProperty("master_link_status"))) {
+                    markUnavailable(now, "replica " + replica.getKey() + "의 복제 링크가 끊김");
+                    return;
+                }
+                minOffset = Math.min(minOffset, Long.parseLong(info.getProperty("slave_repl_offset", "0")));
+            }
+
+            long replicated = minOffset;
+            state = new ReplicaState(true, replicated, lagMs(replicated, now), now);
+            String currentId = replicationId;
+            userTokens.values().removeIf(token -> token.offset() <= replicated
+                    || !token.replicationId().equals(currentId));
+        } catch (Exception e) {
+            markUnavailable(now, e.getMessage());
+        }
+    }
+
+    private StringRedisTemplate route(long token) {
+        if (!isEnabled()) {
+            return primary;
+        }
+        ReplicaState current = state;
+        long staleness = current.lagMs() + (System.currentTimeMillis() - current.checkedAtMs());
+        boolean servable = current.healthy()
+                && staleness <= ReadConsistency.maxStalenessMs(defaultMaxStalenessMs)
+                && Math.max(token, tokenFloor.get()) <= current.replicatedOffset();
+        (servable ? replicaReads : primaryReads).increment();
+        return servable ? readTemplate : primary;
+    }
+
+    private void track(String userId, WriteToken token) {
+        if (!token.replicationId().equals(replicationId)) {
+            // 기록하는 사이 이력이 바뀌었다: 새 이력의 오프셋과 비교할 수 없는 토큰이다
+            return;
+        }
+        if (userTokens.size() >= MAX_TRACKED_USERS && !userTokens.containsKey(userId)) {
+            // 이력 변경의 초기화와 겹치지 않도록 같은 모니터 아래에서 다시 확인한다
+            synchronized (this) {
+                if (token.replicationId().equals(replicationId)) {
+                    tokenFloor.accumulateAndGet(token.offset(), Math::max);
+                }
+            }
+            return;
+        }
+        userTokens.merge(userId, token, (previous, next) ->
+                previous.replicationId().equals(next.replicationId()) && previous.offset() >= next.offset()
+                        ? previous : next);
+    }
+
+    /**
+     * primary의 master_replid가 바뀌었으면 이전 이력의 토큰과 tokenFloor를 버린다.
+     *
+     * @return 이력이 바뀌었는지 (처음 본 경우는 false)
+     */
+    private synchronized boolean observeReplicationId(String replid) {
+        String previous = replicationId;
+        if (replid == null || replid.equals(previous)) {
+            return false;
+        }
+        replicationId = replid;
+        if (previous == null) {
+            return false;
+        }
+        tokenFloor.set(0);
+        userTokens.values().removeIf(token -> !token.replicationId().equals(replid));
+        log.warn("primary 복제 이력 변경 - {} → {}, 쓰기 토큰 초기화", previous, replid);
+        return true;
+    }
+
+    /**
+     * replica가 가진 오프셋까지 primary가 도달해 있던 가장 늦은 표본 시각부터의 경과 시간.
+     * 그 시각 이전의 쓰기는 모두 replica에 반영되어 있다.
+     */
+    private long lagMs(long replicatedOffset, long now) {
+        Iterator<long[]> samples = primarySamples.descendingIterator();
+        while (samples.hasNext()) {
+            long[] sample = samples.next();
+            if (sample[1] <= replicatedOffset) {
+                return now - sample[0];
+            }
+        }
+        return UNBOUNDED;
+    }
+
+    private void markUnavailable(long now, String reason) {
+        if (state.healthy()) {
+            log.warn("replica 조회 중단 - 모든 조회를 primary로 보냄: {}", reason);
+        }
+        state = new ReplicaState(false, 0L, UNBOUNDED, now);
+    }
+
+    private static List<Object> executeWithOffset(StringRedisTemplate writer, RedisScript<?> script,
+                                                  int numKeys, byte[][] keysAndArgs) {
+        return writer.executePipelined((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().evalSha(script.getSha1(),
+                    ReturnType.fromJavaType(script.getResultType()), numKeys, keysAndArgs);
+            connection.serverCommands().info(INFO_SECTION);
+            return null;
+        }, writer.getStringSerializer());
+    }
+
+    private static Properties info(StringRedisTemplate template) {
+        Properties info = template.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info(INFO_SECTION));
+        return info != null ? info : new Properties();
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 자동 구성과 같은 마감 설정(요청별 RedisDeadline, 없으면 spring.data.redis.timeout)으로 연결 팩토리를 연다.
+     */
+    private LettuceConnectionFactory start(RedisConfiguration configuration, RedisProperties redis, ReadFrom readFrom) {
+        Duration defaultTimeout = redis.getTimeout() != null ? redis.getTimeout() : Duration.ofSeconds(60);
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder()
+                        .timeoutOptions(TimeoutOptions.builder()
+                                .timeoutSource(RedisDeadline.timeoutSource(defaultTimeout))
+                                .build())
+                        .build());
+        if (readFrom != null) {
+            client.readFrom(readFrom);
+        }
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration, client.build());
+        factory.afterPropertiesSet();
+        factory.start();
+        ownedFactories.add(factory);
+        return factory;
+    }
+
+    static void authenticate(RedisConfiguration configuration, RedisProperties redis) {
+        if (configuration instanceof RedisConfiguration.WithDatabaseIndex withDatabase) {
+            withDatabase.setDatabase(redis.getDatabase());
+        }
+        if (configuration instanceof RedisConfiguration.WithAuthentication withAuthentication) {
+            if (redis.getUsername() != null) {
+                withAuthentication.setUsername(redis.getUsername());
+            }
+            if (redis.getPassword() != null) {
+                withAuthentication.setPassword(RedisPassword.of(redis.getPassword()));
+            }
+        }
+    }
+
+    private static String host(String node) {
+        int colon = node.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("replica 주소는 host:port 형식이어야 합니다: " + node);
+        }
+        return node.substring(0, colon);
+    }
+
+    private static int port(String node) {
+        return Integer.parseInt(node.substring(node.lastIndexOf(':') + 1));
+    }
+
+    /**
+     * 쓰기 결과와 쓰기 토큰 (replica를 쓰지 않으면 0)
+     */
+    public record TrackedWrite<T>(T result, long token) {}
+
+    /**
+     * 사용자별 쓰기 토큰. 오프셋은 같은 복제 이력 안에서만 의미가 있다.
+     */
+    private record WriteToken(String replicationId, long offset) {}
+
+    private record ReplicaState(boolean healthy, long replicatedOffset, long lagMs, long checkedAtMs) {
+        static final ReplicaState UNKNOWN = new ReplicaState(false, 0L, UNBOUNDED, 0L);
+    }
+}
@@ -0,0 +1,105 @@
+package io.wte.redis_lab.common.redis;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 슬라이딩 윈도우 count-min sketch.
+ *
+ * 윈도우를 buckets개의 구간으로 나누어 구간마다 depth × width 카운터를 두고, 전 구간의 합계 카운터를 따로 유지한다.
+ * 추가는 현재 구간과 합계에 한 번씩 더하고, 추정은 합계 카운터의 행별 최솟값이다 (실제보다 작게 추정하지 않는다).
+ * {@link #rotate()}는 가장 오래된 구간을 합계에서 빼고 비운 뒤 현재 구간으로 삼는다.
+ * 카운터는 원자적으로 더하므로 락 없이 여러 스레드에서 호출할 수 있다. 회전 중에 들어온 추가는 다음 회전 때 정확히 한 번 빠진다.
+ */
+final class WindowedCountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray[] buckets;
+    private final AtomicIntegerArray total;
+    private volatile int current;
+
+    /**
+     * @param depth 해시 함수(행) 수
+     * @param width 행당 카운터 수 (2의 거듭제곱으로 올림)
+     * @param buckets 윈도우 구간 수
+     */
+    WindowedCountMinSketch(int depth, int width, int buckets) {
+        int size = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.depth = depth;
+        this.mask = size - 1;
+        this.buckets = new AtomicIntegerArray[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new AtomicIntegerArray(depth * size);
+        }
+        this.total = new AtomicIntegerArray(depth * size);
+    }
+
+    /**
+     * 항목을 한 번 세고 윈도우 안의 추정 횟수를 반환한다.
+     */
+    int add(long hash) {
+        AtomicIntegerArray bucket = buckets[current];
+        long h2 = (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = cell(hash, h2, row);
+            bucket.incrementAndGet(index);
+            estimate = Math.min(estimate, total.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    /**
+     * 윈도우 안의 추정 횟수
+     */
+    int estimate(long hash) {
+        long h2 = (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, total.get(cell(hash, h2, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 가장 오래된 구간을 윈도우에서 빼고 새 구간을 시작한다.
+     */
+    void rotate() {
+        int next = (current + 1) % buckets.length;
+        AtomicIntegerArray expired = buckets[next];
+        for (int i = 0; i < expired.length(); i++) {
+            int count = expired.getAndSet(i, 0);
+            if (count != 0) {
+                total.addAndGet(i, -count);
+            }
+        }
+        current = next;
+    }
+
+    /**
+     * 카운터 메모리 사용량(바이트)
+     */
+    long sizeBytes() {
+        return (long) (buckets.length + 1) * total.length() * Integer.BYTES;
+    }
+
+    private int cell(long h1, long h2, int row) {
+        int column = (int) ((h1 + row * h2) >>> 32) & mask;
+        return row * (mask + 1) + column;
+    }
+
+    /**
+     * 64비트 FNV-1a 해시에 비트 섞기를 더한다 (행마다 다른 열을 고르기 위해 상위/하위 32비트를 모두 쓴다).
+     */
+    static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            h ^= item.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
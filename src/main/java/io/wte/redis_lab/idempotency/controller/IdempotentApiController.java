@@ -25,6 +25,9 @@ import java.util.Map;
 @Tag(name = "Idempotency API", description = "멱등성 키를 활용한 중복 방지 API")
 public class IdempotentApiController {
 
+    // 주문 로그에 그대로 기록되므로 길이를 제한한다
+    static final int MAX_KEY_LENGTH = 255;
+
     private final IdempotencyService idempotencyService;
     private final OrderService orderService;
 
@@ -48,6 +51,11 @@ public class IdempotentApiController {
                     responseCode = "400",
                     description = "잘못된 요청 (멱등성 키 누락 등)",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Redis 응답 지연/장애로 중복 여부를 확인할 수 없음 (Retry-After 이후 재시도)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     @PostMapping("/orders")
@@ -60,6 +68,10 @@ public class IdempotentApiController {
             return ResponseEntity.badRequest()
                     .body(ErrorResponse.validationError("Idempotency-Key header is required"));
         }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorResponse.validationError("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
 
         IdempotencyService.IdempotencyResult result = idempotencyService.checkAndMarkFirst(key);
 
@@ -78,4 +90,32 @@ public class IdempotentApiController {
             return ResponseEntity.ok(ApiResponse.success("기존 주문 정보를 반환합니다.", orderResponse));
         }
     }
+
+    @Operation(
+            summary = "주문 조회",
+            description = "주문 ID로 저장된 주문을 조회합니다."
+    )
+    @GetMapping("/orders/{orderId}")
+    public ResponseEntity<?> getOrder(
+            @Parameter(description = "주문 ID", example = "3f0c8a8e-2b7d-4c1e-9f57-0b8f3c1d2e4a")
+            @PathVariable String orderId) {
+        return orderService.findOrder(orderId)
+                .<ResponseEntity<?>>map(order -> ResponseEntity.ok(ApiResponse.success("주문 조회 성공", order)))
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(ErrorResponse.of("ORDER_NOT_FOUND", "주문을 찾을 수 없습니다: " + orderId)));
+    }
+
+    @Operation(
+            summary = "멱등성 키로 주문 조회",
+            description = "주문을 만든 요청의 멱등성 키로 주문을 조회합니다. Redis의 멱등성 키가 만료된 뒤에도 조회됩니다."
+    )
+    @GetMapping("/orders")
+    public ResponseEntity<?> getOrderByIdempotencyKey(
+            @Parameter(description = "멱등성 키", example = "user123-order-20250108-001")
+            @RequestParam String idempotencyKey) {
+        return orderService.findOrderByIdempotencyKey(idempotencyKey)
+                .<ResponseEntity<?>>map(order -> ResponseEntity.ok(ApiResponse.success("주문 조회 성공", order)))
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(ErrorResponse.of("ORDER_NOT_FOUND", "주문을 찾을 수 없습니다: " + idempotencyKey)));
+    }
 }
@@ -0,0 +1,68 @@
+package io.wte.redis_lab.idempotency.controller;
+
+import io.wte.redis_lab.idempotency.dto.OrderRequest;
+import io.wte.redis_lab.idempotency.dto.OrderResponse;
+import io.wte.redis_lab.idempotency.service.OrderService;
+import io.wte.redis_lab.idempotency.service.ReactiveIdempotencyService;
+import io.wte.redis_lab.common.dto.ApiResponse;
+import io.wte.redis_lab.common.dto.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v2/idem")
+@Tag(name = "Reactive Idempotency API", description = "논블로킹 멱등성 키 주문 API")
+public class ReactiveIdempotentApiController {
+
+    private final ReactiveIdempotencyService idempotencyService;
+    private final OrderService orderService;
+
+    @Operation(
+            summary = "멱등성 키를 사용한 주문 생성 (논블로킹)",
+            description = "Idempotency-Key 헤더를 사용하여 중복 요청을 방지하면서 주문을 생성합니다. " +
+                         "Redis 응답을 기다리는 동안 요청 스레드를 점유하지 않습니다."
+    )
+    @PostMapping("/orders")
+    public Mono<ResponseEntity<?>> createOrder(
+            @Parameter(description = "멱등성 키", example = "user123-order-20250108-001", required = true)
+            @RequestHeader(value = "Idempotency-Key", required = false) String key,
+            @Validated @RequestBody OrderRequest req
+    ) {
+        if (key == null || key.isBlank()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ErrorResponse.validationError("Idempotency-Key header is required")));
+        }
+        if (key.length() > IdempotentApiController.MAX_KEY_LENGTH) {
+            return Mono.just(ResponseEntity.badRequest().body(ErrorResponse.validationError(
+                    "Idempotency-Key must be at most " + IdempotentApiController.MAX_KEY_LENGTH + " characters")));
+        }
+
+        return idempotencyService.checkAndMarkFirst(key)
+                .flatMap(result -> {
+                    if (result.isFirstRequest()) {
+                        // 주문 저장은 fsync까지 블로킹하므로 이벤트 루프가 아닌 스레드에서 실행한다
+                        return Mono.fromCallable(() -> orderService.createNewOrder(key, req.getItemName(), req.getAmount()))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMap(created -> {
+                                    String orderId = (String) created.get("orderId");
+                                    OrderResponse orderResponse = new OrderResponse(false, key, orderId, req.getItemName(), req.getAmount());
+                                    return idempotencyService.markCompleted(key, orderId)
+                                            .thenReturn(ResponseEntity.status(201)
+                                                    .body(ApiResponse.success("주문이 성공적으로 생성되었습니다.", orderResponse)));
+                                });
+                    }
+
+                    String orderId = result.getExistingResult();
+                    OrderResponse orderResponse = new OrderResponse(true, key, orderId, req.getItemName(), req.getAmount());
+                    return Mono.just(ResponseEntity.ok(ApiResponse.success("기존 주문 정보를 반환합니다.", orderResponse)));
+                });
+    }
+}
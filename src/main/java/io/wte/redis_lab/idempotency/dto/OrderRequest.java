@@ -2,6 +2,7 @@ package io.wte.redis_lab.idempotency.dto;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,7 +13,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public class OrderRequest {
 
     @NotBlank
-    @Schema(description = "상품명", example = "MacBook Pro", required = true)
+    @Size(max = 200)
+    @Schema(description = "상품명", example = "MacBook Pro", maxLength = 200, required = true)
     private String itemName;
 
     @Min(1)
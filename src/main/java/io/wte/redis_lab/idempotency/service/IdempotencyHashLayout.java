@@ -0,0 +1,196 @@
+package io.wte.redis_lab.idempotency.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 멱등성 키를 키마다 문자열로 두지 않고 작은 해시 버킷의 필드로 묶어 저장하는 레이아웃 (idempotency.layout=hash).
+ *
+ * 값이 주문 ID 정도로 작으면 키당 오버헤드(키 객체, 만료 사전 항목)가 대부분이므로, 수십 개씩 listpack 해시에 모으면
+ * 메모리가 크게 준다. 버킷은 키 해시(idempotency.hash.bucket-by=hash) 또는 키의 첫 '-' 앞부분
+ * (bucket-by=prefix, 예: user123-order-001 → user123)으로 정한다. 버킷 수(idempotency.hash.buckets)는
+ * 살아 있는 키 수 / 64 정도로 잡아 버킷이 listpack 한도(hash-max-listpack-entries, 기본 128) 안에 머물게 한다.
+ *
+ * 만료 방식은 서버 버전에 따라 고른다 (idempotency.hash.field-ttl=auto|true|false).
+ * - 필드 TTL (Redis 7.4+): idem:h:{버킷} 해시에 HSETNX 후 HPEXPIRE로 필드마다 TTL을 건다.
+ * - 시간 창 (이전 버전): idem:w:{버킷}:{창 번호} 해시를 TTL 길이의 시간 창마다 새로 만들고 해시 전체에 2창 TTL을 건다.
+ *   현재 창과 직전 창을 함께 확인하므로 키는 최소 TTL, 최대 2배 TTL 동안 유지된다.
+ * 어느 쪽이든 "처음 한 번만 성공"은 Lua 안의 HSETNX로 보장한다.
+ * auto는 기동 시 서버 버전을 확인하며, 확인에 실패하면 시간 창 방식을 쓴다. 여러 인스턴스가 같은 Redis를 쓰면
+ * 방식이 섞이지 않도록 true/false로 고정하는 편이 안전하다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "idempotency.layout", havingValue = "hash")
+public class IdempotencyHashLayout {
+
+    private static final String FIELD_TTL_PREFIX = "idem:h:";
+    private static final String WINDOW_PREFIX = "idem:w:";
+
+    /**
+     * KEYS[1]: 버킷 해시, ARGV[1]: 멱등성 키, ARGV[2]: 값, ARGV[3]: TTL(밀리초)
+     * 반환: {1} (처음) 또는 {0, 기존 값}
+     */
+    static final String FIELD_TTL_CLAIM_LUA = """
+            if redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2]) == 1 then
+              redis.call('HPEXPIRE', KEYS[1], ARGV[3], 'FIELDS', 1, ARGV[1])
+              return {1}
+            end
+            return {0, redis.call('HGET', KEYS[1], ARGV[1])}
+            """;
+
+    /** HSET은 필드 TTL을 지우므로 다시 건다 */
+    static final String FIELD_TTL_COMPLETE_LUA = """
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('HPEXPIRE', KEYS[1], ARGV[3], 'FIELDS', 1, ARGV[1])
+            return {1}
+            """;
+
+    /**
+     * KEYS[1]: 현재 창 해시, KEYS[2]: 직전 창 해시, ARGV[1]: 멱등성 키, ARGV[2]: 값, ARGV[3]: 해시 TTL(밀리초, 2창)
+     * 반환: {1} (처음) 또는 {0, 기존 값}
+     */
+    static final String WINDOW_CLAIM_LUA = """
+            local previous = redis.call('HGET', KEYS[2], ARGV[1])
+            if previous then
+              return {0, previous}
+            end
+            if redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2]) == 1 then
+              if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+              end
+              return {1}
+            end
+            return {0, redis.call('HGET', KEYS[1], ARGV[1])}
+            """;
+
+    /** 직전 창에 있던 키는 그 창에서 갱신한다 */
+    static final String WINDOW_COMPLETE_LUA = """
+            local target = KEYS[1]
+            if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then
+              target = KEYS[2]
+            end
+            redis.call('HSET', target, ARGV[1], ARGV[2])
+            if redis.call('PTTL', target) < 0 then
+              redis.call('PEXPIRE', target, ARGV[3])
+            end
+            return {1}
+            """;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIELD_TTL_CLAIM = new DefaultRedisScript<>(FIELD_TTL_CLAIM_LUA, List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIELD_TTL_COMPLETE = new DefaultRedisScript<>(FIELD_TTL_COMPLETE_LUA, List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> WINDOW_CLAIM = new DefaultRedisScript<>(WINDOW_CLAIM_LUA, List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> WINDOW_COMPLETE = new DefaultRedisScript<>(WINDOW_COMPLETE_LUA, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int buckets;
+    private final boolean bucketByPrefix;
+    private final boolean fieldTtl;
+
+    public IdempotencyHashLayout(StringRedisTemplate redisTemplate,
+                                 @Value("${idempotency.hash.buckets:4096}") int buckets,
+                                 @Value("${idempotency.hash.bucket-by:hash}") String bucketBy,
+                                 @Value("${idempotency.hash.field-ttl:auto}") String fieldTtlMode) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("idempotency.hash.buckets는 1 이상이어야 합니다: " + buckets);
+        }
+        this.redisTemplate = redisTemplate;
+        this.buckets = buckets;
+        this.bucketByPrefix = "prefix".equalsIgnoreCase(bucketBy);
+        this.fieldTtl = switch (fieldTtlMode.toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> supportsFieldTtl();
+        };
+        log.info("멱등성 해시 레이아웃 - 버킷: {}, 기준: {}, 만료 방식: {}",
+                buckets, bucketByPrefix ? "prefix" : "hash", fieldTtl ? "필드 TTL" : "시간 창");
+    }
+
+    public boolean usesFieldTtl() {
+        return fieldTtl;
+    }
+
+    /**
+     * 처음 요청이면 값을 기록하는 호출 (SET NX와 같은 의미)
+     */
+    public Call claim(String idempotencyKey, String value, Duration ttl) {
+        return call(fieldTtl ? FIELD_TTL_CLAIM : WINDOW_CLAIM, idempotencyKey, value, ttl);
+    }
+
+    /**
+     * 처리 결과로 값을 덮어쓰고 TTL을 다시 거는 호출
+     */
+    public Call complete(String idempotencyKey, String value, Duration ttl) {
+        return call(fieldTtl ? FIELD_TTL_COMPLETE : WINDOW_COMPLETE, idempotencyKey, value, ttl);
+    }
+
+    /**
+     * claim 스크립트의 응답 {1} 또는 {0, 기존 값}을 결과로 바꾼다.
+     */
+    public static IdempotencyService.IdempotencyResult toResult(List<?> reply) {
+        if (reply != null && !reply.isEmpty() && ((Number) reply.get(0)).longValue() == 1) {
+            return IdempotencyService.IdempotencyResult.firstRequest();
+        }
+        return IdempotencyService.IdempotencyResult.duplicateRequest(
+                reply != null && reply.size() > 1 ? String.valueOf(reply.get(1)) : null);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Call call(RedisScript<List> script, String idempotencyKey, String value, Duration ttl) {
+        String bucket = "{" + bucketOf(idempotencyKey) + "}";
+        if (fieldTtl) {
+            return new Call(script, List.of(FIELD_TTL_PREFIX + bucket),
+                    List.of(idempotencyKey, value, String.valueOf(ttl.toMillis())));
+        }
+        long window = System.currentTimeMillis() / ttl.toMillis();
+        return new Call(script,
+                List.of(WINDOW_PREFIX + bucket + ":" + window, WINDOW_PREFIX + bucket + ":" + (window - 1)),
+                List.of(idempotencyKey, value, String.valueOf(ttl.toMillis() * 2)));
+    }
+
+    private String bucketOf(String idempotencyKey) {
+        if (bucketByPrefix) {
+            int dash = idempotencyKey.indexOf('-');
+            if (dash > 0) {
+                return idempotencyKey.substring(0, dash);
+            }
+        }
+        int h = idempotencyKey.hashCode();
+        return String.valueOf(Math.floorMod(h ^ (h >>> 16), buckets));
+    }
+
+    private boolean supportsFieldTtl() {
+        try {
+            Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                    connection.serverCommands().info("server"));
+            String version = info != null ? info.getProperty("redis_version", "0") : "0";
+            String[] parts = version.split("\\.");
+            int major = Integer.parseInt(parts[0]);
+            int minor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return major > 7 || (major == 7 && minor >= 4);
+        } catch (Exception e) {
+            log.warn("Redis 버전 확인 실패 - 시간 창 방식 사용: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 실행할 스크립트와 인자
+     */
+    @SuppressWarnings("rawtypes")
+    public record Call(RedisScript<List> script, List<String> keys, List<String> args) {}
+}
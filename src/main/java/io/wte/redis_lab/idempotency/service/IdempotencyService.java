@@ -1,27 +1,104 @@
 package io.wte.redis_lab.idempotency.service;
 
-import lombok.RequiredArgsConstructor;
+import io.wte.redis_lab.common.redis.HotKeyDetector;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.RedisUnavailableException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 
+/**
+ * 멱등성 키 서비스. 기본은 키마다 문자열 하나(idem:{key}, SET NX EX)이고,
+ * idempotency.layout=hash이면 {@link IdempotencyHashLayout}의 해시 버킷에 필드로 저장한다.
+ *
+ * Redis 호출은 {@link RedisCircuitBreaker}의 쓰기 마감 안에서 실행한다. Redis 없이는 중복 여부를 알 수 없으므로
+ * 대체 경로 없이 {@link RedisUnavailableException}을 던진다 (503).
+ *
+ * 재시도가 몰리는 키는 {@link HotKeyDetector}가 완료된 결과를 노드 로컬에 잠시 캐시해 Redis 없이 중복으로 응답한다.
+ * 완료된 결과는 키가 만료될 때까지 바뀌지 않으므로, 어긋나는 것은 만료 직후 캐시 TTL 동안뿐이다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class IdempotencyService {
     
     private final StringRedisTemplate redisTemplate;
+    private final IdempotencyHashLayout hashLayout;
+    private final RedisCircuitBreaker breaker;
+    private final HotKeyDetector hotKeys;
     
     private static final String KEY_PREFIX = "idem:";
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
-    
+    private static final String PENDING = "PENDING";
+
+    public IdempotencyService(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, null, null, null);
+    }
+
+    public IdempotencyService(StringRedisTemplate redisTemplate, @Nullable IdempotencyHashLayout hashLayout) {
+        this(redisTemplate, hashLayout, null, null);
+    }
+
+    @Autowired
+    public IdempotencyService(StringRedisTemplate redisTemplate, @Nullable IdempotencyHashLayout hashLayout,
+                              @Nullable RedisCircuitBreaker breaker, @Nullable HotKeyDetector hotKeys) {
+        this.redisTemplate = redisTemplate;
+        this.hashLayout = hashLayout;
+        this.breaker = breaker;
+        this.hotKeys = hotKeys;
+    }
+
+    /**
+     * @throws RedisUnavailableException Redis가 마감 안에 응답하지 않았거나 회로가 열려 있는 경우
+     */
     public IdempotencyResult checkAndMarkFirst(String idempotencyKey) {
+        if (hotKeys == null) {
+            return guarded("checkAndMarkFirst", () -> claim(idempotencyKey));
+        }
+        return hotKeys.read(KEY_PREFIX + idempotencyKey, "claim",
+                () -> guarded("checkAndMarkFirst", () -> claim(idempotencyKey)),
+                IdempotencyService::isCompleted);
+    }
+
+    /**
+     * @throws RedisUnavailableException Redis가 마감 안에 응답하지 않았거나 회로가 열려 있는 경우
+     */
+    public void markCompleted(String idempotencyKey, String result) {
+        guarded("markCompleted", () -> {
+            complete(idempotencyKey, result);
+            return null;
+        });
+    }
+
+    /**
+     * 처리가 끝난 키의 중복 요청 결과인지 (첫 요청이나 처리 중인 키의 결과는 곧 바뀌므로 캐시하지 않는다)
+     */
+    private static boolean isCompleted(IdempotencyResult result) {
+        return !result.isFirstRequest() && result.getExistingResult() != null
+                && !PENDING.equals(result.getExistingResult());
+    }
+
+    private <T> T guarded(String operation, Supplier<T> action) {
+        return breaker != null ? breaker.write(operation, action) : action.get();
+    }
+
+    private IdempotencyResult claim(String idempotencyKey) {
+        if (hashLayout != null) {
+            IdempotencyHashLayout.Call call = hashLayout.claim(idempotencyKey, PENDING, DEFAULT_TTL);
+            IdempotencyResult result = IdempotencyHashLayout.toResult(
+                    redisTemplate.execute(call.script(), call.keys(), call.args().toArray()));
+            log.debug("{}: {}", result.isFirstRequest() ? "첫 번째 요청" : "중복 요청", idempotencyKey);
+            return result;
+        }
+
         String redisKey = KEY_PREFIX + idempotencyKey;
         
         Boolean isFirstRequest = redisTemplate.opsForValue()
-                .setIfAbsent(redisKey, "PENDING", DEFAULT_TTL);
+                .setIfAbsent(redisKey, PENDING, DEFAULT_TTL);
         
         if (Boolean.TRUE.equals(isFirstRequest)) {
             log.debug("첫 번째 요청: {}", idempotencyKey);
@@ -33,7 +110,14 @@ public class IdempotencyService {
         }
     }
     
-    public void markCompleted(String idempotencyKey, String result) {
+    private void complete(String idempotencyKey, String result) {
+        if (hashLayout != null) {
+            IdempotencyHashLayout.Call call = hashLayout.complete(idempotencyKey, result, DEFAULT_TTL);
+            redisTemplate.execute(call.script(), call.keys(), call.args().toArray());
+            log.debug("처리 완료 표시: {} -> {}", idempotencyKey, result);
+            return;
+        }
+
         String redisKey = KEY_PREFIX + idempotencyKey;
         redisTemplate.opsForValue().set(redisKey, result, DEFAULT_TTL);
         log.debug("처리 완료 표시: {} -> {}", idempotencyKey, result);
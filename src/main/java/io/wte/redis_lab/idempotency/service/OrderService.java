@@ -1,27 +1,47 @@
 package io.wte.redis_lab.idempotency.service;
 
+import io.wte.redis_lab.idempotency.store.Order;
+import io.wte.redis_lab.idempotency.store.OrderStore;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
+/**
+ * 주문 생성/조회. 주문은 {@link OrderStore}의 추가 전용 로그에 기록되어 재시작 후에도 남는다.
+ * 생성은 디스크에 반영될 때까지 블로킹하므로 리액티브 경로에서는 별도 스케줄러에서 호출해야 한다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class OrderService {
-    private final Map<String, Map<String, Object>> store = new ConcurrentHashMap<>();
 
-    /** 실제로는 DB 저장 자리 – 데모에선 메모리 보관 */
+    private final OrderStore orderStore;
+
     public Map<String, Object> createNewOrder(String idempotencyKey, String itemName, int amount) {
-        String orderId = UUID.randomUUID().toString();
-        Map<String, Object> result = Map.of(
-                "orderId", orderId,
-                "itemName", itemName,
-                "amount", amount
+        Order order;
+        try {
+            order = orderStore.append(idempotencyKey, itemName, amount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 저장 실패", e);
+        }
+        log.info("[CREATE] orderId={}, item={}, amount={}, ikey={}", order.orderId(), itemName, amount, idempotencyKey);
+        return Map.of(
+                "orderId", order.orderId(),
+                "itemName", order.itemName(),
+                "amount", order.amount()
         );
-        store.put(orderId, result);
-        log.info("[CREATE] orderId={}, item={}, amount={}, ikey={}", orderId, itemName, amount, idempotencyKey);
-        return result;
+    }
+
+    public Optional<Order> findOrder(String orderId) {
+        return orderStore.findById(orderId);
+    }
+
+    public Optional<Order> findOrderByIdempotencyKey(String idempotencyKey) {
+        return orderStore.findByIdempotencyKey(idempotencyKey);
     }
 }
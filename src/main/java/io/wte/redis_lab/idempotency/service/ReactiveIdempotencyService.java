@@ -0,0 +1,71 @@
+package io.wte.redis_lab.idempotency.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Lettuce 리액티브 드라이버 기반의 논블로킹 멱등성 서비스.
+ * 키 형식과 TTL, 해시 레이아웃 사용 여부가 {@link IdempotencyService}와 같아 두 구현을 섞어 써도 결과가 일치한다.
+ */
+@Slf4j
+@Service
+public class ReactiveIdempotencyService {
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final IdempotencyHashLayout hashLayout;
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    public ReactiveIdempotencyService(ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                      @Nullable IdempotencyHashLayout hashLayout) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.hashLayout = hashLayout;
+    }
+
+    public Mono<IdempotencyService.IdempotencyResult> checkAndMarkFirst(String idempotencyKey) {
+        if (hashLayout != null) {
+            IdempotencyHashLayout.Call call = hashLayout.claim(idempotencyKey, "PENDING", DEFAULT_TTL);
+            return reactiveRedisTemplate.execute(call.script(), call.keys(), call.args())
+                    .next()
+                    .map(reply -> IdempotencyHashLayout.toResult((List<?>) reply))
+                    .doOnNext(result -> log.debug("{}: {}",
+                            result.isFirstRequest() ? "첫 번째 요청" : "중복 요청", idempotencyKey));
+        }
+
+        String redisKey = KEY_PREFIX + idempotencyKey;
+
+        return reactiveRedisTemplate.opsForValue()
+                .setIfAbsent(redisKey, "PENDING", DEFAULT_TTL)
+                .flatMap(isFirstRequest -> {
+                    if (Boolean.TRUE.equals(isFirstRequest)) {
+                        log.debug("첫 번째 요청: {}", idempotencyKey);
+                        return Mono.just(IdempotencyService.IdempotencyResult.firstRequest());
+                    }
+                    return reactiveRedisTemplate.opsForValue().get(redisKey)
+                            .map(IdempotencyService.IdempotencyResult::duplicateRequest)
+                            .defaultIfEmpty(IdempotencyService.IdempotencyResult.duplicateRequest(null))
+                            .doOnNext(result -> log.debug("중복 요청: {}, 기존 값: {}", idempotencyKey, result.getExistingResult()));
+                });
+    }
+
+    public Mono<Boolean> markCompleted(String idempotencyKey, String result) {
+        if (hashLayout != null) {
+            IdempotencyHashLayout.Call call = hashLayout.complete(idempotencyKey, result, DEFAULT_TTL);
+            return reactiveRedisTemplate.execute(call.script(), call.keys(), call.args())
+                    .then(Mono.just(true))
+                    .doOnNext(ok -> log.debug("처리 완료 표시: {} -> {}", idempotencyKey, result));
+        }
+
+        String redisKey = KEY_PREFIX + idempotencyKey;
+        return reactiveRedisTemplate.opsForValue()
+                .set(redisKey, result, DEFAULT_TTL)
+                .doOnNext(ok -> log.debug("처리 완료 표시: {} -> {}", idempotencyKey, result));
+    }
+}
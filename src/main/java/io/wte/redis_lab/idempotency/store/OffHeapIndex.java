@@ -0,0 +1,107 @@
+package io.wte.redis_lab.idempotency.store;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongPredicate;
+
+/**
+ * 64비트 해시 → 로그 위치 오픈 어드레싱 해시 테이블 (힙 밖 direct 버퍼).
+ *
+ * 슬롯은 해시(8) | 위치(8) 16바이트이고 해시 0은 빈 슬롯을 뜻한다. 해시 충돌은 호출자가 위치의 레코드를 읽어
+ * 실제 키를 비교하는 것으로 가려낸다 ({@link #find(long, LongPredicate)}). 부하율이 0.7을 넘으면 두 배로 늘린다.
+ * 동기화하지 않으므로 호출자가 읽기/쓰기 락으로 보호해야 한다.
+ */
+final class OffHeapIndex {
+
+    private static final int SLOT_SIZE = 16;
+    // 슬롯 2^26개 × 16B = 1GB (direct 버퍼 하나의 한도 안)
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private ByteBuffer slots;
+    private int mask;
+    private int size;
+
+    OffHeapIndex(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 메모리 사용량(바이트)
+     */
+    long capacityBytes() {
+        return (long) slots.capacity();
+    }
+
+    /**
+     * 해시가 같고 matches가 참인 위치를 찾는다.
+     *
+     * @return 위치 (없으면 -1)
+     */
+    long find(long hash, LongPredicate matches) {
+        long h = nonZero(hash);
+        for (int slot = slotOf(h); ; slot = (slot + 1) & mask) {
+            long stored = slots.getLong(slot * SLOT_SIZE);
+            if (stored == 0) {
+                return -1;
+            }
+            if (stored == h) {
+                long offset = slots.getLong(slot * SLOT_SIZE + 8);
+                if (matches.test(offset)) {
+                    return offset;
+                }
+            }
+        }
+    }
+
+    /**
+     * 항목을 추가한다. 같은 해시가 이미 있어도 덮어쓰지 않고 새 슬롯에 넣는다.
+     */
+    void put(long hash, long offset) {
+        if ((size + 1) * 10L > (mask + 1) * 7L) {
+            grow();
+        }
+        insert(nonZero(hash), offset);
+        size++;
+    }
+
+    private void insert(long h, long offset) {
+        int slot = slotOf(h);
+        while (slots.getLong(slot * SLOT_SIZE) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.putLong(slot * SLOT_SIZE + 8, offset);
+        slots.putLong(slot * SLOT_SIZE, h);
+    }
+
+    private void grow() {
+        int capacity = mask + 1;
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("인덱스 용량 한도를 초과했습니다: " + capacity);
+        }
+        ByteBuffer old = slots;
+        allocate(capacity << 1);
+        for (int i = 0; i < capacity; i++) {
+            long h = old.getLong(i * SLOT_SIZE);
+            if (h != 0) {
+                insert(h, old.getLong(i * SLOT_SIZE + 8));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        mask = capacity - 1;
+    }
+
+    private int slotOf(long h) {
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long nonZero(long hash) {
+        return hash != 0 ? hash : 1;
+    }
+}
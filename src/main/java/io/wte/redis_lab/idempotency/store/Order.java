@@ -0,0 +1,14 @@
+package io.wte.redis_lab.idempotency.store;
+
+import java.time.Instant;
+
+/**
+ * 저장된 주문
+ *
+ * @param orderId 주문 ID (UUID)
+ * @param idempotencyKey 주문을 만든 요청의 멱등성 키
+ * @param itemName 상품 이름
+ * @param amount 수량
+ * @param createdAt 생성 시각
+ */
+public record Order(String orderId, String idempotencyKey, String itemName, int amount, Instant createdAt) {}
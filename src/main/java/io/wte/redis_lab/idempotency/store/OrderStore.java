@@ -0,0 +1,424 @@
+package io.wte.redis_lab.idempotency.store;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 추가 전용 로그에 주문을 기록하는 저장소.
+ *
+ * 로그는 고정 크기 세그먼트 파일(orders-000000.log, ...)을 메모리 매핑해 쓰고, 레코드는 세그먼트 경계를 넘지 않는다.
+ * 레코드 형식 (빅엔디언):
+ * <pre>
+ * length(4) | crc32c(4) | orderId msb(8) | orderId lsb(8) | amount(4) | createdAt(8) | keyLength(2) | itemLength(2) | key | item
+ * </pre>
+ * length는 crc 뒤 본문 길이이며 0이면 세그먼트의 끝이다.
+ *
+ * 주문 ID와 멱등성 키 → 로그 위치 인덱스는 힙 밖 해시 테이블({@link OffHeapIndex})에 두고 기동 시 로그를 읽어 다시 만든다.
+ * 레코드 본문은 페이지 캐시에만 있으므로 주문 수가 늘어도 힙 사용량은 변하지 않는다 (인덱스는 주문당 32바이트의 direct 메모리).
+ *
+ * 영속화는 그룹 커밋이다. 기록한 스레드는 자신의 레코드 끝까지 fsync 되기를 기다리는데, 먼저 flush 락을 잡은 스레드가
+ * 그때까지 쓰인 모든 레코드를 한 번에 force 하므로 동시에 들어온 요청들은 fsync 한 번을 나눠 쓴다 (orders.store.fsync=false면 생략).
+ * 인덱스에는 기록 직후 넣으므로 fsync가 끝나기 전에도 조회된다.
+ * 기동 시 crc가 맞지 않는 레코드(쓰는 도중 죽은 흔적)를 만나면 그 뒤를 0으로 지우고 그 위치부터 이어 쓴다.
+ */
+@Slf4j
+@Component
+public class OrderStore {
+
+    static final int RECORD_HEADER = 8;
+    static final int FIXED_PAYLOAD = 32;
+    static final int MAX_TEXT_BYTES = 1024;
+
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final OffHeapIndex byOrderId = new OffHeapIndex(1 << 16);
+    private final OffHeapIndex byIdempotencyKey = new OffHeapIndex(1 << 16);
+    private MappedByteBuffer current;
+    private int writeOffset;
+    private long records;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile long durablePosition;
+    private long flushedRecords;
+
+    private final Timer fsyncTimer;
+    private final DistributionSummary fsyncBatch;
+
+    public OrderStore(MeterRegistry meterRegistry,
+                      @Value("${orders.store.dir:data/orders}") Path directory,
+                      @Value("${orders.store.segment-mb:64}") int segmentMb,
+                      @Value("${orders.store.fsync:true}") boolean fsync) {
+        if (segmentMb <= 0 || segmentMb > 1024) {
+            throw new IllegalArgumentException("orders.store.segment-mb는 1~1024 사이여야 합니다: " + segmentMb);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentMb << 20;
+        this.fsync = fsync;
+        this.fsyncTimer = Timer.builder("orders.store.fsync")
+                .description("그룹 커밋 fsync 시간")
+                .register(meterRegistry);
+        this.fsyncBatch = DistributionSummary.builder("orders.store.fsync.batch")
+                .description("fsync 한 번에 영속화된 주문 수")
+                .register(meterRegistry);
+        Gauge.builder("orders.store.records", this, OrderStore::size).register(meterRegistry);
+        Gauge.builder("orders.store.index.bytes", this, OrderStore::indexBytes)
+                .description("힙 밖 인덱스 메모리")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세그먼트를 매핑하고 레코드를 읽어 인덱스를 다시 만든다.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                long size = Files.size(file);
+                MappedByteBuffer segment = map(file, size > 0 ? (int) Math.min(size, Integer.MAX_VALUE) : segmentSize);
+                segments.add(segment);
+                int end = recover(i, segment);
+                if (end + 4 <= segment.capacity() && segment.getInt(end) != 0) {
+                    log.warn("주문 로그 손상 레코드 발견, 이후 영역 정리 - 파일: {}, 위치: {}", file.getFileName(), end);
+                    for (int offset = end; offset < segment.capacity(); offset++) {
+                        segment.put(offset, (byte) 0);
+                    }
+                    segment.force();
+                }
+                current = segment;
+                writeOffset = end;
+            }
+            if (current == null) {
+                roll();
+            }
+            durablePosition = position(segments.size() - 1, writeOffset);
+            flushedRecords = records;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("주문 저장소 열기 - 디렉터리: {}, 세그먼트: {}, 주문 수: {}",
+                directory.toAbsolutePath(), segments.size(), records);
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (current != null) {
+                current.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 주문을 기록한다. fsync를 켜 두었으면 디스크에 반영된 뒤 반환한다.
+     *
+     * @param idempotencyKey 멱등성 키
+     * @param itemName 상품 이름
+     * @param amount 수량
+     * @return 저장된 주문
+     * @throws IllegalArgumentException 멱등성 키나 상품 이름이 1KB(UTF-8)를 넘는 경우
+     * @throws IOException 새 세그먼트를 만들지 못한 경우
+     */
+    public Order append(String idempotencyKey, String itemName, int amount) throws IOException {
+        byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+        byte[] item = itemName.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_TEXT_BYTES || item.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("멱등성 키와 상품 이름은 " + MAX_TEXT_BYTES + "바이트 이하여야 합니다.");
+        }
+        UUID orderId = UUID.randomUUID();
+        long createdAt = System.currentTimeMillis();
+
+        ByteBuffer payload = ByteBuffer.allocate(FIXED_PAYLOAD + key.length + item.length)
+                .putLong(orderId.getMostSignificantBits())
+                .putLong(orderId.getLeastSignificantBits())
+                .putInt(amount)
+                .putLong(createdAt)
+                .putShort((short) key.length)
+                .putShort((short) item.length)
+                .put(key)
+                .put(item);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+
+        long end;
+        lock.writeLock().lock();
+        try {
+            int recordSize = RECORD_HEADER + payload.capacity();
+            if (writeOffset + recordSize > current.capacity()) {
+                roll();
+            }
+            long position = position(segments.size() - 1, writeOffset);
+            current.putInt(writeOffset + 4, (int) crc.getValue());
+            current.put(writeOffset + RECORD_HEADER, payload.array());
+            current.putInt(writeOffset, payload.capacity());
+            writeOffset += recordSize;
+            records++;
+
+            byOrderId.put(hash(orderId), position);
+            if (byIdempotencyKey.find(hash(key), offset -> keyEquals(offset, key)) < 0) {
+                // 같은 키로 다시 만들어진 주문이 있어도 키 조회는 처음 주문을 가리킨다
+                byIdempotencyKey.put(hash(key), position);
+            }
+            end = position(segments.size() - 1, writeOffset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (fsync) {
+            awaitDurable(end);
+        }
+        return new Order(orderId.toString(), idempotencyKey, itemName, amount, Instant.ofEpochMilli(createdAt));
+    }
+
+    public Optional<Order> findById(String orderId) {
+        UUID id;
+        try {
+            id = UUID.fromString(orderId);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long position = byOrderId.find(hash(id), offset -> {
+                MappedByteBuffer segment = segments.get(segmentOf(offset));
+                int at = offsetOf(offset) + RECORD_HEADER;
+                return segment.getLong(at) == id.getMostSignificantBits()
+                        && segment.getLong(at + 8) == id.getLeastSignificantBits();
+            });
+            return position < 0 ? Optional.empty() : Optional.of(read(position));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Order> findByIdempotencyKey(String idempotencyKey) {
+        byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            long position = byIdempotencyKey.find(hash(key), offset -> keyEquals(offset, key));
+            return position < 0 ? Optional.empty() : Optional.of(read(position));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long indexBytes() {
+        lock.readLock().lock();
+        try {
+            return byOrderId.capacityBytes() + byIdempotencyKey.capacityBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * target 위치까지 디스크에 반영될 때까지 기다린다.
+     * flush 락을 먼저 잡은 스레드가 그때까지 쓰인 레코드 전체를 force 하고, 기다리던 스레드는 대부분 그 결과로 바로 반환한다.
+     */
+    private void awaitDurable(long target) {
+        if (durablePosition >= target) {
+            return;
+        }
+        // synchronized로 기다리면 가상 스레드가 캐리어 스레드를 붙잡은 채 fsync를 기다린다
+        flushLock.lock();
+        try {
+            if (durablePosition >= target) {
+                return;
+            }
+            long upTo;
+            long written;
+            MappedByteBuffer segment;
+            int to;
+            lock.readLock().lock();
+            try {
+                upTo = position(segments.size() - 1, writeOffset);
+                written = records;
+                segment = current;
+                to = writeOffset;
+            } finally {
+                lock.readLock().unlock();
+            }
+            // 이전 세그먼트는 넘어갈 때 이미 force 했다
+            int from = segmentOf(durablePosition) == segmentOf(upTo) ? offsetOf(durablePosition) : 0;
+            long started = System.nanoTime();
+            segment.force(from, to - from);
+            fsyncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            fsyncBatch.record(written - flushedRecords);
+            flushedRecords = written;
+            durablePosition = upTo;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 반영하고 새 세그먼트를 연다. 쓰기 락 안에서 호출한다.
+     */
+    private void roll() throws IOException {
+        if (current != null) {
+            current.force();
+        }
+        Path file = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        current = map(file, segmentSize);
+        segments.add(current);
+        writeOffset = 0;
+        log.info("주문 로그 세그먼트 추가 - 파일: {}", file.getFileName());
+    }
+
+    /**
+     * 세그먼트의 레코드를 인덱스에 올린다.
+     *
+     * @return 마지막 정상 레코드의 끝 위치
+     */
+    private int recover(int segmentNo, MappedByteBuffer segment) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length < FIXED_PAYLOAD || offset + RECORD_HEADER + length > segment.capacity()) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(segment.slice(offset + RECORD_HEADER, length));
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                break;
+            }
+            long position = position(segmentNo, offset);
+            int at = offset + RECORD_HEADER;
+            byOrderId.put(hash(new UUID(segment.getLong(at), segment.getLong(at + 8))), position);
+            byte[] key = new byte[Short.toUnsignedInt(segment.getShort(at + 28))];
+            segment.get(at + FIXED_PAYLOAD, key);
+            if (byIdempotencyKey.find(hash(key), existing -> keyEquals(existing, key)) < 0) {
+                byIdempotencyKey.put(hash(key), position);
+            }
+            records++;
+            offset += RECORD_HEADER + length;
+        }
+        return offset;
+    }
+
+    private Order read(long position) {
+        MappedByteBuffer segment = segments.get(segmentOf(position));
+        int at = offsetOf(position) + RECORD_HEADER;
+        UUID orderId = new UUID(segment.getLong(at), segment.getLong(at + 8));
+        int amount = segment.getInt(at + 16);
+        long createdAt = segment.getLong(at + 20);
+        byte[] key = new byte[Short.toUnsignedInt(segment.getShort(at + 28))];
+        byte[] item = new byte[Short.toUnsignedInt(segment.getShort(at + 30))];
+        segment.get(at + FIXED_PAYLOAD, key);
+        segment.get(at + FIXED_PAYLOAD + key.length, item);
+        return new Order(orderId.toString(), new String(key, StandardCharsets.UTF_8),
+                new String(item, StandardCharsets.UTF_8), amount, Instant.ofEpochMilli(createdAt));
+    }
+
+    private boolean keyEquals(long position, byte[] key) {
+        MappedByteBuffer segment = segments.get(segmentOf(position));
+        int at = offsetOf(position) + RECORD_HEADER;
+        if (Short.toUnsignedInt(segment.getShort(at + 28)) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (segment.get(at + FIXED_PAYLOAD + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static long position(int segmentNo, int offset) {
+        return ((long) segmentNo << 32) | offset;
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    /**
+     * FNV-1a 64 + 비트 섞기
+     */
+    static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,169 @@
+package io.wte.redis_lab.leaderboard.archive;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.LocalLeaderboard;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 마감된 리더보드의 읽기 전용 스냅샷 파일 (메모리 매핑).
+ *
+ * 파일 구조 (빅엔디언):
+ * <pre>
+ * [헤더 32B]  magic(4) | formatVersion(4) | count(8) | heapSize(8) | createdAt(8)
+ * [레코드]    순위 순서의 고정 길이 레코드 count개: score(double 8) | memberOffset(int 4) | memberLength(int 4)
+ * [인덱스]    멤버 바이트 오름차순으로 정렬된 순위(int 4) count개
+ * [힙]        멤버 ID의 UTF-8 바이트 연속 영역
+ * </pre>
+ *
+ * 순위 범위 조회는 레코드 위치를 바로 계산하므로 O(1) 탐색이고,
+ * 멤버 조회는 인덱스에 대한 이진 탐색으로 O(log n)이다. 모든 읽기는 절대 위치 접근이라 스레드 안전하다.
+ */
+public class LeaderboardArchive implements LocalLeaderboard {
+
+    static final int MAGIC = 0x4C424152; // "LBAR"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 16;
+    static final int INDEX_ENTRY_SIZE = 4;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int indexOffset;
+    private final int heapOffset;
+    private final long createdAt;
+
+    private LeaderboardArchive(Path path, MappedByteBuffer buffer, int count, int heapOffset, long createdAt) {
+        this.path = path;
+        this.buffer = buffer;
+        this.count = count;
+        this.indexOffset = HEADER_SIZE + count * RECORD_SIZE;
+        this.heapOffset = heapOffset;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 매핑한다.
+     *
+     * @param path 스냅샷 파일 경로
+     * @return 매핑된 스냅샷
+     * @throws IOException 파일을 읽을 수 없거나 형식이 올바르지 않은 경우
+     */
+    public static LeaderboardArchive open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 파일 크기가 올바르지 않습니다: " + path + " (" + size + " bytes)");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("스냅샷 파일 형식이 올바르지 않습니다: " + path);
+            }
+
+            long count = buffer.getLong(8);
+            long heapSize = buffer.getLong(16);
+            long heapOffset = HEADER_SIZE + count * (RECORD_SIZE + INDEX_ENTRY_SIZE);
+            if (heapOffset + heapSize != size) {
+                throw new IOException("스냅샷 파일이 손상되었습니다: " + path);
+            }
+            return new LeaderboardArchive(path, buffer, (int) count, (int) heapOffset, buffer.getLong(24));
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * 순위 구간 [start, end]의 멤버와 점수를 반환한다 (양 끝 포함, 0부터 시작).
+     */
+    public List<LeaderboardService.ScoredValue> range(long start, long end) {
+        long from = Math.max(start, 0);
+        long to = Math.min(end, count - 1L);
+        if (from > to) {
+            return List.of();
+        }
+
+        List<LeaderboardService.ScoredValue> values = new ArrayList<>((int) (to - from + 1));
+        for (int rank = (int) from; rank <= to; rank++) {
+            values.add(new LeaderboardService.ScoredValue(member(rank), score(rank)));
+        }
+        return values;
+    }
+
+    /**
+     * 멤버의 순위를 이진 탐색으로 찾는다.
+     *
+     * @return 순위 (0부터 시작, 없으면 -1)
+     */
+    public long rankOf(String member) {
+        byte[] target = member.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int rank = buffer.getInt(indexOffset + mid * INDEX_ENTRY_SIZE);
+            int cmp = compareMember(rank, target);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    public LeaderboardService.RankScore rankScore(String member) {
+        long rank = rankOf(member);
+        return new LeaderboardService.RankScore(rank, rank >= 0 ? score((int) rank) : 0.0);
+    }
+
+    public double score(int rank) {
+        return buffer.getDouble(HEADER_SIZE + rank * RECORD_SIZE);
+    }
+
+    public String member(int rank) {
+        int record = HEADER_SIZE + rank * RECORD_SIZE;
+        int offset = buffer.getInt(record + 8);
+        int length = buffer.getInt(record + 12);
+        byte[] bytes = new byte[length];
+        buffer.get(heapOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * rank 위치 멤버의 바이트와 target을 부호 없는 사전순으로 비교한다.
+     */
+    private int compareMember(int rank, byte[] target) {
+        int record = HEADER_SIZE + rank * RECORD_SIZE;
+        int offset = heapOffset + buffer.getInt(record + 8);
+        int length = buffer.getInt(record + 12);
+        int common = Math.min(length, target.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(buffer.get(offset + i) & 0xFF, target[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, target.length);
+    }
+}
@@ -0,0 +1,115 @@
+package io.wte.redis_lab.leaderboard.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 보관된 리더보드 스냅샷 파일의 위치와 매핑을 관리한다.
+ *
+ * 기동 시 디렉터리의 스냅샷 목록을 읽어 두므로, 보관 여부 확인은 파일 시스템 접근 없이 맵 조회 한 번이다.
+ * 파일은 처음 조회될 때 매핑하고 이후 재사용한다.
+ *
+ * 디렉터리는 노드마다 따로 두는 로컬 디스크를 전제로 한다. 노드 ID는 디렉터리의 node-id 파일에 한 번 만들어
+ * 재시작 후에도 유지하며, {@link LeaderboardArchiver}가 노드별 기록 확인에 쓴다.
+ */
+@Slf4j
+@Component
+public class LeaderboardArchiveStore {
+
+    private static final String EXTENSION = ".lbar";
+    private static final String NODE_ID_FILE = "node-id";
+
+    private final Path directory;
+    private final Map<String, Path> archivedKeys = new ConcurrentHashMap<>();
+    private final Map<String, LeaderboardArchive> opened = new ConcurrentHashMap<>();
+    private String nodeId;
+
+    public LeaderboardArchiveStore(@Value("${leaderboard.archive.dir:data/leaderboard-archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    @PostConstruct
+    void loadIndex() throws IOException {
+        Files.createDirectories(directory);
+        nodeId = loadNodeId();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .forEach(file -> archivedKeys.put(keyOf(file), file));
+        }
+        log.info("리더보드 스냅샷 목록 로드 - 디렉터리: {}, 노드: {}, 스냅샷 수: {}",
+                directory.toAbsolutePath(), nodeId, archivedKeys.size());
+    }
+
+    private String loadNodeId() throws IOException {
+        Path file = directory.resolve(NODE_ID_FILE);
+        if (Files.exists(file)) {
+            return Files.readString(file).strip();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(file, id);
+        return id;
+    }
+
+    /**
+     * 보관된 리더보드라면 매핑된 스냅샷을 반환한다.
+     *
+     * @param boardKey 리더보드 키
+     * @return 스냅샷 (보관되지 않았으면 empty)
+     */
+    public Optional<LeaderboardArchive> find(String boardKey) {
+        Path file = archivedKeys.get(boardKey);
+        if (file == null) {
+            return Optional.empty();
+        }
+        return Optional.of(opened.computeIfAbsent(boardKey, key -> {
+            try {
+                return LeaderboardArchive.open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    public boolean contains(String boardKey) {
+        return archivedKeys.containsKey(boardKey);
+    }
+
+    /**
+     * 이 노드(스냅샷 디렉터리)의 ID
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 새 스냅샷을 기록할 경로를 반환한다.
+     */
+    public Path pathOf(String boardKey) {
+        return directory.resolve(boardKey.replace(':', '_') + EXTENSION);
+    }
+
+    /**
+     * 기록이 끝난 스냅샷을 등록하여 이후 조회가 파일에서 처리되도록 한다.
+     */
+    public void register(String boardKey, Path file) {
+        opened.remove(boardKey);
+        archivedKeys.put(boardKey, file);
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - EXTENSION.length()).replace('_', ':');
+    }
+}
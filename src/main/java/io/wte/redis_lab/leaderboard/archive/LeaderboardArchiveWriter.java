@@ -0,0 +1,212 @@
+package io.wte.redis_lab.leaderboard.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static io.wte.redis_lab.leaderboard.archive.LeaderboardArchive.*;
+
+/**
+ * 순위 순서로 전달되는 멤버/점수를 {@link LeaderboardArchive} 형식의 파일로 기록한다.
+ *
+ * 레코드와 멤버 바이트는 임시 파일로 바로 스트리밍하고, 힙에는 멤버 인덱스용 순위 배열(int[])만 남긴다.
+ * 완료 시 인덱스를 멤버 순으로 정렬해 하나의 파일로 합친 뒤 원자적으로 이름을 바꾼다.
+ */
+public class LeaderboardArchiveWriter implements Closeable {
+
+    private final Path target;
+    private final Path recordsFile;
+    private final Path heapFile;
+    private final DataOutputStream records;
+    private final BufferedOutputStream heap;
+    private int count;
+    private long heapSize;
+    private boolean finished;
+
+    public LeaderboardArchiveWriter(Path target) throws IOException {
+        this.target = target;
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        this.recordsFile = Files.createTempFile(dir, target.getFileName().toString(), ".records");
+        this.heapFile = Files.createTempFile(dir, target.getFileName().toString(), ".heap");
+        this.records = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recordsFile), 1 << 16));
+        this.heap = new BufferedOutputStream(Files.newOutputStream(heapFile), 1 << 16);
+    }
+
+    /**
+     * 다음 순위의 멤버를 추가한다. 반드시 점수 내림차순(순위 순)으로 호출해야 한다.
+     */
+    public void add(String member, double score) throws IOException {
+        byte[] bytes = member.getBytes(StandardCharsets.UTF_8);
+        if (heapSize + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("스냅샷 크기 한도(2GB)를 초과했습니다.");
+        }
+        records.writeDouble(score);
+        records.writeInt((int) heapSize);
+        records.writeInt(bytes.length);
+        heap.write(bytes);
+        heapSize += bytes.length;
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * 멤버 인덱스를 만들고 최종 파일을 완성한다.
+     *
+     * @return 완성된 파일 크기(바이트)
+     */
+    public long finish() throws IOException {
+        records.close();
+        heap.close();
+
+        long fileSize = HEADER_SIZE + (long) count * (RECORD_SIZE + INDEX_ENTRY_SIZE) + heapSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("스냅샷 크기 한도(2GB)를 초과했습니다.");
+        }
+
+        int[] index = buildIndex();
+
+        Path assembling = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(assembling, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(count).putLong(heapSize).putLong(System.currentTimeMillis());
+                header.flip();
+                writeFully(out, header);
+
+                transfer(recordsFile, out);
+
+                ByteBuffer indexBuffer = ByteBuffer.allocate(1 << 16);
+                for (int rank : index) {
+                    if (!indexBuffer.hasRemaining()) {
+                        indexBuffer.flip();
+                        writeFully(out, indexBuffer);
+                        indexBuffer.clear();
+                    }
+                    indexBuffer.putInt(rank);
+                }
+                indexBuffer.flip();
+                writeFully(out, indexBuffer);
+
+                transfer(heapFile, out);
+                out.force(true);
+            }
+
+            Files.move(assembling, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // 옮기기 전에 실패했으면 조립 중이던 파일이 남지 않도록 지운다 (옮긴 뒤에는 이미 없다)
+            Files.deleteIfExists(assembling);
+        }
+        finished = true;
+        deleteTemp();
+        return fileSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+        heap.close();
+        if (!finished) {
+            deleteTemp();
+        }
+    }
+
+    /**
+     * 순위 배열을 멤버 바이트의 부호 없는 사전순으로 정렬한다.
+     */
+    private int[] buildIndex() throws IOException {
+        int[] index = new int[count];
+        Arrays.setAll(index, i -> i);
+        if (count < 2) {
+            return index;
+        }
+
+        try (FileChannel recordsChannel = FileChannel.open(recordsFile, StandardOpenOption.READ);
+             FileChannel heapChannel = FileChannel.open(heapFile, StandardOpenOption.READ)) {
+            MappedByteBuffer recordBuffer = recordsChannel.map(FileChannel.MapMode.READ_ONLY, 0, recordsChannel.size());
+            MappedByteBuffer heapBuffer = heapChannel.map(FileChannel.MapMode.READ_ONLY, 0, heapChannel.size());
+            mergeSort(index, new int[count], 0, count, (a, b) -> compareMembers(recordBuffer, heapBuffer, a, b));
+        }
+        return index;
+    }
+
+    private static int compareMembers(MappedByteBuffer recordBuffer, MappedByteBuffer heapBuffer, int rankA, int rankB) {
+        int offsetA = recordBuffer.getInt(rankA * RECORD_SIZE + 8);
+        int lengthA = recordBuffer.getInt(rankA * RECORD_SIZE + 12);
+        int offsetB = recordBuffer.getInt(rankB * RECORD_SIZE + 8);
+        int lengthB = recordBuffer.getInt(rankB * RECORD_SIZE + 12);
+        int common = Math.min(lengthA, lengthB);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(heapBuffer.get(offsetA + i) & 0xFF, heapBuffer.get(offsetB + i) & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(lengthA, lengthB);
+    }
+
+    /**
+     * 박싱 없이 int 배열을 정렬하는 병합 정렬. [from, to) 구간을 정렬한다.
+     */
+    private static void mergeSort(int[] values, int[] buffer, int from, int to, IntComparator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(values, buffer, from, mid, comparator);
+        mergeSort(values, buffer, mid, to, comparator);
+        if (comparator.compare(values[mid - 1], values[mid]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(values, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                values[i] = buffer[left++];
+            } else {
+                values[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static void transfer(Path source, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private void deleteTemp() throws IOException {
+        Files.deleteIfExists(recordsFile);
+        Files.deleteIfExists(heapFile);
+    }
+
+    @FunctionalInterface
+    private interface IntComparator {
+        int compare(int a, int b);
+    }
+}
@@ -0,0 +1,259 @@
+package io.wte.redis_lab.leaderboard.archive;
+
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 마감된 기간(주간/일간) 리더보드를 노드마다 로컬 스냅샷 파일로 옮기고, 모든 노드가 옮긴 뒤 Redis 키를 해제한다.
+ *
+ * 마감된 기간에는 더 이상 쓰기가 없으므로 ZREVRANGE를 인덱스 페이지 단위로 읽으면
+ * 순위 순서 그대로 파일에 스트리밍할 수 있다 (전체를 메모리에 올려 정렬할 필요가 없다).
+ * 기록 중 멤버 수나 리더보드 버전이 바뀌면 파일을 버리고 키를 지우지 않은 채 다음 실행으로 미룬다.
+ *
+ * 스냅샷은 기록한 노드의 디스크에만 있으므로 모든 노드가 각자 기록한다. 기록을 마친 노드는
+ * lb:archive:acks:{키} 해시에 (노드 ID → 기록한 리더보드 버전)을 남기고, 살아 있는 노드(lb:archive:nodes에
+ * leaderboard.archive.node-ttl-ms 안에 heartbeat를 남긴 노드)가 모두 현재 버전으로 기록했을 때만
+ * Lua 한 번으로 Redis 키를 UNLINK 한다. 그 전까지는 키가 남아 있으므로 어느 노드에서 조회해도 결과가 같다.
+ * 키를 해제한 뒤에 새로 합류한 노드(다른 디스크)에는 그 기간의 스냅샷이 없다.
+ */
+@Slf4j
+@Component
+public class LeaderboardArchiver {
+
+    private static final int PAGE_SIZE = 10_000;
+    private static final String NODES_KEY = "lb:archive:nodes";
+    private static final String ACKS_PREFIX = "lb:archive:acks:";
+    /** 기록 확인 해시의 TTL: 해제되지 않은 채 남아도 가장 긴 보관 기간(26주) 뒤에는 사라진다 */
+    private static final Duration ACKS_TTL = Duration.ofDays(200);
+
+    /**
+     * 살아 있는 노드가 모두 현재 버전으로 기록했으면 리더보드 키와 버전, 기록 확인 해시를 지운다.
+     *
+     * KEYS[1]: 리더보드 키
+     * KEYS[2]: 기록 확인 해시 (lb:archive:acks:{키})
+     * KEYS[3]: 노드 heartbeat ZSET (lb:archive:nodes)
+     * KEYS[4]: 리더보드 버전 해시 (lb:versions)
+     * ARGV[1]: 살아 있다고 볼 heartbeat 하한 (epoch 밀리초)
+     *
+     * 반환: 1(해제했거나 이미 없음), 0(아직 기록하지 않은 노드가 있음)
+     */
+    static final String RELEASE_LUA = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              redis.call('UNLINK', KEYS[2])
+              return 1
+            end
+            local live = redis.call('ZRANGEBYSCORE', KEYS[3], ARGV[1], '+inf')
+            if #live == 0 then
+              return 0
+            end
+            local version = redis.call('HGET', KEYS[4], KEYS[1]) or '0'
+            for _, node in ipairs(live) do
+              if redis.call('HGET', KEYS[2], node) ~= version then
+                return 0
+              end
+            end
+            redis.call('UNLINK', KEYS[1], KEYS[2])
+            redis.call('HDEL', KEYS[4], KEYS[1])
+            return 1
+            """;
+
+    private final DefaultRedisScript<Long> releaseScript = new DefaultRedisScript<>(RELEASE_LUA, Long.class);
+
+    private final RedisBulkheads.Bulkhead admin;
+    private final StringRedisTemplate redisTemplate;
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardArchiveStore archiveStore;
+    private final int graceDays;
+    private final long nodeTtlMs;
+
+    public LeaderboardArchiver(RedisBulkheads bulkheads,
+                               LeaderboardKeyFactory keyFactory,
+                               LeaderboardArchiveStore archiveStore,
+                               @Value("${leaderboard.archive.grace-days:1}") int graceDays,
+                               @Value("${leaderboard.archive.node-ttl-ms:30000}") long nodeTtlMs) {
+        // 전체 페이지를 읽는 배치 작업이므로 admin 격벽의 연결과 한도를 쓴다
+        this.admin = bulkheads.admin();
+        this.redisTemplate = admin.template();
+        this.keyFactory = keyFactory;
+        this.archiveStore = archiveStore;
+        this.graceDays = graceDays;
+        this.nodeTtlMs = nodeTtlMs;
+    }
+
+    /**
+     * 이 노드가 살아 있음을 남긴다. 오래된 노드 항목은 함께 정리한다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.archive.heartbeat-ms:10000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().add(NODES_KEY, archiveStore.nodeId(), now);
+            redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - nodeTtlMs * 10);
+        } catch (Exception e) {
+            log.warn("리더보드 보관 노드 heartbeat 실패 - 오류: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 마감 후 유예 기간이 지난 주간/일간 리더보드를 모두 찾아 이 노드에 보관한다.
+     * 모든 노드에서 실행되며, 마지막으로 기록한 노드의 실행에서 Redis 키가 해제된다.
+     */
+    @Scheduled(cron = "${leaderboard.archive.cron:0 10 0 * * *}")
+    public void archiveClosedPeriods() {
+        LocalDate cutoff = LocalDate.now().minusDays(graceDays);
+        for (String pattern : List.of(keyFactory.weeklyKeyPattern(), keyFactory.dailyKeyPattern())) {
+            for (String key : scanKeys(pattern)) {
+                boolean closed = keyFactory.periodEnd(key).map(end -> end.isBefore(cutoff)).orElse(false);
+                if (!closed) {
+                    continue;
+                }
+                try {
+                    archive(key);
+                } catch (Exception e) {
+                    log.warn("리더보드 보관 실패 - 키: {}, 오류: {}", key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 리더보드 하나를 이 노드의 스냅샷 파일로 기록하고(이미 현재 버전으로 기록했으면 건너뛴다),
+     * 살아 있는 노드가 모두 기록했으면 Redis 키를 UNLINK 한다.
+     *
+     * @param boardKey 리더보드 키
+     * @return 보관 결과
+     * @throws IOException 파일 기록에 실패한 경우
+     */
+    public ArchiveResult archive(String boardKey) throws IOException {
+        Long expected = redisTemplate.opsForZSet().zCard(boardKey);
+        if (expected == null || expected == 0) {
+            // 이미 해제됐거나 빈 리더보드: 이 노드의 스냅샷이 있으면 그대로 쓴다
+            return archiveStore.find(boardKey)
+                    .map(archive -> result(boardKey, archive, true))
+                    .orElseGet(() -> new ArchiveResult(boardKey, 0, 0, null, false, false));
+        }
+        // 멤버 수가 같아도 점수만 바뀐 쓰기가 있을 수 있으므로 리더보드 버전도 함께 비교한다
+        String versionBefore = version(boardKey);
+        if (archiveStore.contains(boardKey) && versionBefore.equals(ackedVersion(boardKey))) {
+            return release(boardKey);
+        }
+
+        Path file = archiveStore.pathOf(boardKey);
+        long fileSize;
+        int written;
+        try (LeaderboardArchiveWriter writer = new LeaderboardArchiveWriter(file)) {
+            for (long start = 0; ; start += PAGE_SIZE) {
+                long from = start;
+                Set<ZSetOperations.TypedTuple<String>> page = admin.callBlocking("archivePage", () ->
+                        redisTemplate.opsForZSet().reverseRangeWithScores(boardKey, from, from + PAGE_SIZE - 1));
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                for (ZSetOperations.TypedTuple<String> tuple : page) {
+                    writer.add(tuple.getValue(), tuple.getScore() != null ? tuple.getScore() : 0.0);
+                }
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            written = writer.count();
+
+            // 파일을 제자리로 옮기기 전에 확인한다: 불일치하면 finish 없이 닫아 임시 파일만 지워지고,
+            // 재시작 시 loadIndex가 불완전한 스냅샷을 등록하는 일이 없다
+            Long actual = redisTemplate.opsForZSet().zCard(boardKey);
+            String versionAfter = version(boardKey);
+            if (actual == null || actual != written || !Objects.equals(versionBefore, versionAfter)) {
+                // 기록 도중 쓰기가 있었다: 파일은 다음 실행 때 다시 만들고 Redis 키는 유지한다
+                log.warn("리더보드 보관 중 변경 감지, 키 유지 - 키: {}, 기록: {}, 현재: {}, 버전: {} → {}",
+                        boardKey, written, actual, versionBefore, versionAfter);
+                return new ArchiveResult(boardKey, written, 0, null, false, false);
+            }
+            fileSize = writer.finish();
+        }
+
+        archiveStore.register(boardKey, file);
+        String acksKey = ACKS_PREFIX + boardKey;
+        redisTemplate.opsForHash().put(acksKey, archiveStore.nodeId(), versionBefore);
+        redisTemplate.expire(acksKey, ACKS_TTL);
+        log.info("리더보드 스냅샷 기록 - 키: {}, 멤버 수: {}, 버전: {}, 파일: {} ({} bytes)",
+                boardKey, written, versionBefore, file, fileSize);
+        return release(boardKey);
+    }
+
+    /**
+     * 살아 있는 노드가 모두 현재 버전으로 기록했을 때만 Redis 키를 해제한다.
+     */
+    private ArchiveResult release(String boardKey) throws IOException {
+        LeaderboardArchive archive = archiveStore.find(boardKey)
+                .orElseThrow(() -> new IllegalStateException("보관되지 않은 리더보드입니다: " + boardKey));
+        Long released = redisTemplate.execute(releaseScript,
+                List.of(boardKey, ACKS_PREFIX + boardKey, NODES_KEY, keyFactory.getVersionsKey()),
+                String.valueOf(System.currentTimeMillis() - nodeTtlMs));
+        boolean unlinked = released != null && released == 1;
+        if (unlinked) {
+            log.info("모든 노드가 보관한 리더보드 키 해제 - 키: {}", boardKey);
+        }
+        return result(boardKey, archive, unlinked);
+    }
+
+    private ArchiveResult result(String boardKey, LeaderboardArchive archive, boolean unlinked) {
+        long fileSize;
+        try {
+            fileSize = Files.size(archive.path());
+        } catch (IOException e) {
+            fileSize = -1;
+        }
+        return new ArchiveResult(boardKey, archive.size(), fileSize, archive.path().toString(), true, unlinked);
+    }
+
+    private String version(String boardKey) {
+        Object version = redisTemplate.opsForHash().get(keyFactory.getVersionsKey(), boardKey);
+        return version != null ? version.toString() : "0";
+    }
+
+    private String ackedVersion(String boardKey) {
+        Object version = redisTemplate.opsForHash().get(ACKS_PREFIX + boardKey, archiveStore.nodeId());
+        return version != null ? version.toString() : null;
+    }
+
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * 보관 결과
+     *
+     * @param boardKey 리더보드 키
+     * @param members 기록된 멤버 수
+     * @param fileSize 스냅샷 파일 크기(바이트)
+     * @param file 스냅샷 파일 경로
+     * @param archived 이 노드에 스냅샷이 완성되어 등록됐는지
+     * @param unlinked Redis 키 해제 여부 (모든 노드가 기록했거나 키가 이미 없음)
+     */
+    public record ArchiveResult(String boardKey, long members, long fileSize, String file,
+                                boolean archived, boolean unlinked) {
+    }
+}
@@ -1,12 +1,22 @@
 package io.wte.redis_lab.leaderboard.controller;
 
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchiver;
 import io.wte.redis_lab.leaderboard.dto.AddProgressRequest;
 import io.wte.redis_lab.leaderboard.dto.LeaderboardEntry;
+import io.wte.redis_lab.leaderboard.dto.RecordActivityRequest;
 import io.wte.redis_lab.leaderboard.dto.UserRankResponse;
+import io.wte.redis_lab.leaderboard.service.LeaderboardDataGenerator;
+import io.wte.redis_lab.leaderboard.service.LeaderboardDefinition;
+import io.wte.redis_lab.leaderboard.service.LeaderboardExporter;
 import io.wte.redis_lab.leaderboard.service.LeaderboardService;
 import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardRegistry;
+import io.wte.redis_lab.leaderboard.service.LeaderboardSeasonService;
+import io.wte.redis_lab.leaderboard.service.ProgressSpool;
 import io.wte.redis_lab.common.dto.ApiResponse;
 import io.wte.redis_lab.common.dto.ErrorResponse;
+import io.wte.redis_lab.common.redis.ReadConsistency;
+import io.wte.redis_lab.common.redis.RedisUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,14 +26,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
@@ -35,7 +52,18 @@ public class LeaderboardController {
 
     private final LeaderboardService leaderboardService;
     private final LeaderboardKeyFactory keyFactory;
-    private final StringRedisTemplate redisTemplate;
+    private final LeaderboardRegistry registry;
+    private final LeaderboardArchiver archiver;
+    private final LeaderboardDataGenerator dataGenerator;
+    private final ProgressSpool progressSpool;
+    private final LeaderboardSeasonService seasonService;
+    private final LeaderboardExporter exporter;
+
+    /** 상위 N 응답이 Redis가 아닌 마지막 스냅샷일 때 붙이는 헤더 */
+    static final String STALE_HEADER = "X-Data-Stale";
+    static final String AS_OF_HEADER = "X-Data-As-Of";
+    /** 내보내기 시작 시점의 멤버 수 */
+    static final String TOTAL_MEMBERS_HEADER = "X-Total-Members";
 
     // 중복 방지 키의 TTL (7일)
     private static final long DEDUP_TTL_MS = 7L * 24 * 60 * 60 * 1000;
@@ -43,7 +71,8 @@ public class LeaderboardController {
     @Operation(
             summary = "러닝 진행상황 추가",
             description = "사용자의 러닝 기록을 리더보드에 추가합니다. " +
-                    "동일한 eventId로는 중복 처리되지 않으며, 스코프별로 점수가 누적됩니다."
+                    "동일한 eventId로는 중복 처리되지 않으며, 스코프별로 점수가 누적됩니다. " +
+                    "Redis를 쓸 수 없으면 기록을 로컬에 보류하고 202를 반환하며, Redis가 돌아오면 자동으로 반영됩니다."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -51,6 +80,11 @@ public class LeaderboardController {
                     description = "진행상황 추가 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Redis 장애로 기록 보류 (나중에 반영)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "400",
                     description = "잘못된 요청 (유효성 검사 실패)",
@@ -61,40 +95,100 @@ public class LeaderboardController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> addProgress(
             @Valid @RequestBody AddProgressRequest request) {
 
-        log.info("러닝 진행상황 추가 - 사용자: {}, 거리: {}km, 이벤트: {}",
+        log.debug("러닝 진행상황 추가 - 사용자: {}, 거리: {}km, 이벤트: {}",
                 request.userId(), request.deltaKm(), request.eventId());
 
-        Map<String, Object> results = new HashMap<>();
-        LocalDate today = LocalDate.now();
         String dedupKey = keyFactory.getDedupKey(request.eventId());
         String userId = String.valueOf(request.userId());
 
-        // 각 스코프별로 점수 가산 처리
-        for (String scope : request.scopes()) {
-            String leaderboardKey = getLeaderboardKey(scope, today);
-
-            // Lua 스크립트로 멱등성 보장하며 점수 가산
-            double totalScore = leaderboardService.addDistanceOnce(
-                    leaderboardKey, dedupKey, userId, request.deltaKm(), DEDUP_TTL_MS);
-
-            // 가산 후 현재 순위도 함께 조회
-            LeaderboardService.RankScore rankScore =
-                    leaderboardService.getRankScore(leaderboardKey, userId);
+        // 모든 스코프를 한 번의 스크립트 호출로 가산 (중복 확인과 TTL 설정도 스크립트 안에서, 가산 후 순위도 함께 반환)
+        List<LeaderboardService.BoardWrite> writes =
+                leaderboardService.planDistanceWrites(request.scopes(), request.deltaKm(), LocalDate.now());
+        LeaderboardService.EventResult result;
+        try {
+            result = leaderboardService.recordEvent(dedupKey, userId, writes, DEDUP_TTL_MS);
+        } catch (RedisUnavailableException e) {
+            return spool(dedupKey, userId, writes, e);
+        }
 
-            results.put(scope, Map.of(
-                    "totalDistance", totalScore,
+        Map<String, Object> results = new HashMap<>();
+        for (int i = 0; i < writes.size(); i++) {
+            LeaderboardService.RankScore rankScore = result.boards().get(i);
+            results.put(request.scopes().get(i), Map.of(
+                    "totalDistance", rankScore.score(),
                     "rank", rankScore.rank(),
-                    "added", request.deltaKm()
+                    "added", result.applied() ? request.deltaKm() : 0.0
             ));
         }
 
-        return ResponseEntity.ok(
+        return withWriteToken(result.writeToken(),
                 ApiResponse.success("러닝 진행상황이 성공적으로 추가되었습니다.", results));
     }
 
+    @Operation(
+            summary = "활동 기록",
+            description = "활동 하나로 정의된 모든 지표(거리, 러닝 횟수, 이동 시간, 상승 고도, 최장 거리)의 리더보드를 " +
+                    "스크립트 한 번으로 갱신합니다. 동일한 eventId로는 중복 처리되지 않습니다. " +
+                    "Redis를 쓸 수 없으면 기록을 로컬에 보류하고 202를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "활동 기록 성공",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Redis 장애로 기록 보류 (나중에 반영)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 요청 (유효성 검사 실패)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/activities")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> recordActivity(
+            @Valid @RequestBody RecordActivityRequest request) {
+
+        log.debug("활동 기록 - 사용자: {}, 이벤트: {}", request.userId(), request.eventId());
+
+        String dedupKey = keyFactory.getDedupKey(request.eventId());
+        String userId = String.valueOf(request.userId());
+        List<LeaderboardService.BoardWrite> writes =
+                leaderboardService.planWrites(request.values(), LocalDate.now());
+        LeaderboardService.EventResult result;
+        try {
+            result = leaderboardService.recordEvent(dedupKey, userId, writes, DEDUP_TTL_MS);
+        } catch (RedisUnavailableException e) {
+            return spool(dedupKey, userId, writes, e);
+        }
+
+        // 지표 → 스코프 → {값, 순위}
+        Map<String, Map<String, Object>> boards = new LinkedHashMap<>();
+        for (int i = 0; i < writes.size(); i++) {
+            LeaderboardService.BoardWrite write = writes.get(i);
+            LeaderboardService.RankScore rankScore = result.boards().get(i);
+            boards.computeIfAbsent(write.definition().metric(), metric -> new LinkedHashMap<>())
+                    .put(write.scope(), Map.of(
+                            "value", rankScore.score(),
+                            "unit", write.definition().unit(),
+                            "rank", rankScore.rank()
+                    ));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("applied", result.applied());
+        response.put("boards", boards);
+        return withWriteToken(result.writeToken(),
+                ApiResponse.success(result.applied() ? "활동이 기록되었습니다." : "이미 처리된 이벤트입니다.", response));
+    }
+
     @Operation(
             summary = "리더보드 상위 조회",
-            description = "지정된 범위의 리더보드에서 상위 N명을 조회합니다."
+            description = "지정된 범위의 리더보드에서 상위 N명을 조회합니다. " +
+                    "Redis를 쓸 수 없으면 마지막으로 조회한 목록을 반환하고 X-Data-Stale, X-Data-As-Of 헤더를 붙입니다."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -112,28 +206,125 @@ public class LeaderboardController {
             @RequestParam String scope,
 
             @Parameter(description = "조회할 상위 인원 수", example = "10")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+
+            @Parameter(description = "지표 (distance, runs, moving-time, elevation, longest-run)", example = "distance")
+            @RequestParam(defaultValue = LeaderboardRegistry.DISTANCE) String metric,
+
+            @Parameter(description = "조회 기준 날짜 (생략 시 오늘, 지난 기간은 보관 스냅샷에서 조회)", example = "2025-09-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+
+            @Parameter(description = "시즌 번호 (scope=all에서만, 생략 시 현재 시즌, 지난 시즌은 보관 스냅샷에서 조회)", example = "2")
+            @RequestParam(required = false) Long season) {
 
         if (limit <= 0 || limit > 100) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.<List<LeaderboardEntry>>error("조회 인원은 1~100 사이여야 합니다."));
         }
+        if (season != null && (season < 0 || !"all".equalsIgnoreCase(scope))) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<List<LeaderboardEntry>>error("시즌은 scope=all에서 0 이상으로 지정해야 합니다."));
+        }
 
-        String leaderboardKey = getLeaderboardKey(scope, LocalDate.now());
-        List<LeaderboardService.ScoredValue> scoredValues =
-                leaderboardService.getTopN(leaderboardKey, limit);
+        String leaderboardKey = season != null
+                ? keyFactory.seasonKeyName(registry.get(metric).metric(), season)
+                : getReadKey(metric, scope, date);
+        LeaderboardService.TopResult top = leaderboardService.getTopNOrSnapshot(leaderboardKey, limit);
 
         // 순위를 포함하여 응답 생성 (0부터 시작)
         AtomicLong rankCounter = new AtomicLong(0);
-        List<LeaderboardEntry> entries = scoredValues.stream()
+        List<LeaderboardEntry> entries = top.entries().stream()
                 .map(sv -> new LeaderboardEntry(
                         rankCounter.getAndIncrement(),
                         sv.userId(),
                         sv.score()))
                 .toList();
 
-        return ResponseEntity.ok(
-                ApiResponse.success("리더보드 조회 성공", entries));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (top.stale()) {
+            response.header(STALE_HEADER, "true")
+                    .header(AS_OF_HEADER, top.asOf().toString());
+        }
+        return response.body(ApiResponse.success("리더보드 조회 성공", entries));
+    }
+
+    @Operation(
+            summary = "리더보드 전체 내보내기",
+            description = "리더보드 전체를 NDJSON 또는 CSV로 스트리밍합니다. 순위 순(order=rank)은 페이지 단위 ZREVRANGE, " +
+                    "순서 없는 덤프(order=scan)는 ZSCAN으로 읽으며 메모리 사용량은 멤버 수와 관계없이 일정합니다. " +
+                    "X-Total-Members 헤더는 시작 시점의 멤버 수로, 진행 중인 리더보드에서는 실제 행 수와 다를 수 있습니다."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "내보내기 시작 (본문 스트리밍)"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 형식/정렬/시즌"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "429",
+                    description = "동시에 실행 중인 내보내기가 너무 많음"
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<?> exportLeaderboard(
+            @Parameter(description = "리더보드 범위", example = "weekly")
+            @RequestParam String scope,
+
+            @Parameter(description = "지표 (distance, runs, moving-time, elevation, longest-run)", example = "distance")
+            @RequestParam(defaultValue = LeaderboardRegistry.DISTANCE) String metric,
+
+            @Parameter(description = "기준 날짜 (생략 시 오늘, 지난 기간은 보관 스냅샷에서 내보냄)", example = "2025-09-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+
+            @Parameter(description = "시즌 번호 (scope=all에서만, 생략 시 현재 시즌)", example = "2")
+            @RequestParam(required = false) Long season,
+
+            @Parameter(description = "출력 형식 (ndjson, csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+
+            @Parameter(description = "정렬 (rank: 순위 순, scan: 순서 없음)", example = "rank")
+            @RequestParam(defaultValue = "rank") String order,
+
+            @Parameter(description = "gzip 압축 여부 (true면 .gz 파일로 내려받음)", example = "true")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        LeaderboardExporter.Format exportFormat;
+        try {
+            exportFormat = LeaderboardExporter.Format.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+        if (!"rank".equalsIgnoreCase(order) && !"scan".equalsIgnoreCase(order)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("정렬은 rank 또는 scan이어야 합니다."));
+        }
+        if (season != null && (season < 0 || !"all".equalsIgnoreCase(scope))) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("시즌은 scope=all에서 0 이상으로 지정해야 합니다."));
+        }
+
+        String leaderboardKey = season != null
+                ? keyFactory.seasonKeyName(registry.get(metric).metric(), season)
+                : getReadKey(metric, scope, date);
+        long members = leaderboardService.getTotalMembers(leaderboardKey);
+
+        Optional<StreamingResponseBody> body =
+                exporter.start(leaderboardKey, exportFormat, "scan".equalsIgnoreCase(order), gzip);
+        if (body.isEmpty()) {
+            return ResponseEntity.status(429)
+                    .body(ApiResponse.error("실행 중인 내보내기가 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+
+        String fileName = leaderboardKey.replace(':', '_') + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(TOTAL_MEMBERS_HEADER, String.valueOf(members))
+                .body(body.get());
     }
 
     @Operation(
@@ -146,9 +337,15 @@ public class LeaderboardController {
             @PathVariable String userId,
 
             @Parameter(description = "리더보드 범위", example = "weekly")
-            @RequestParam String scope) {
+            @RequestParam String scope,
+
+            @Parameter(description = "지표 (distance, runs, moving-time, elevation, longest-run)", example = "distance")
+            @RequestParam(defaultValue = LeaderboardRegistry.DISTANCE) String metric,
 
-        String leaderboardKey = getLeaderboardKey(scope, LocalDate.now());
+            @Parameter(description = "조회 기준 날짜 (생략 시 오늘)", example = "2025-09-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        String leaderboardKey = getReadKey(metric, scope, date);
         LeaderboardService.RankScore rankScore =
                 leaderboardService.getRankScore(leaderboardKey, userId);
 
@@ -172,14 +369,20 @@ public class LeaderboardController {
             @RequestParam String scope,
 
             @Parameter(description = "앞뒤로 조회할 인원 수", example = "3")
-            @RequestParam(defaultValue = "3") int around) {
+            @RequestParam(defaultValue = "3") int around,
+
+            @Parameter(description = "지표 (distance, runs, moving-time, elevation, longest-run)", example = "distance")
+            @RequestParam(defaultValue = LeaderboardRegistry.DISTANCE) String metric,
+
+            @Parameter(description = "조회 기준 날짜 (생략 시 오늘)", example = "2025-09-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
 
         if (around < 0 || around > 20) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.<List<LeaderboardEntry>>error("주변 조회 범위는 0~20 사이여야 합니다."));
         }
 
-        String leaderboardKey = getLeaderboardKey(scope, LocalDate.now());
+        String leaderboardKey = getReadKey(metric, scope, date);
 
         // 먼저 사용자의 현재 순위를 확인
         LeaderboardService.RankScore userRank =
@@ -210,63 +413,78 @@ public class LeaderboardController {
     }
 
     @Operation(
-            summary = "테스트 데이터 생성",
-            description = "리더보드 테스트를 위한 랜덤 사용자 데이터를 생성합니다."
+            summary = "대량 테스트 데이터 생성",
+            description = "모든 지표와 스코프(전체/주간/일간)에 지난 기간까지 포함한 합성 데이터를 백그라운드에서 생성합니다. " +
+                    "사용자별 러닝 횟수·거리·페이스·상승 고도를 분포에서 뽑아 날마다 시뮬레이션하고, " +
+                    "키별로 묶은 ZADD를 파이프라인으로 보냅니다. 진행 상황은 GET /test-data/status로 확인합니다."
     )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "생성 시작",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 생성 조건",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "이미 생성이 진행 중",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
     @PostMapping("/test-data")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> generateTestData(
-            @Parameter(description = "생성할 사용자 수", example = "20")
-            @RequestParam(defaultValue = "20") int userCount,
-            
-            @Parameter(description = "대상 스코프", example = "weekly")
-            @RequestParam(defaultValue = "weekly") String scope) {
-
-        if (userCount <= 0 || userCount > 100) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("사용자 수는 1~100 사이여야 합니다."));
-        }
+    public ResponseEntity<ApiResponse<LeaderboardDataGenerator.Status>> generateTestData(
+            @Parameter(description = "생성할 사용자 수", example = "1000000")
+            @RequestParam(defaultValue = "10000") int userCount,
 
-        LocalDate today = LocalDate.now();
-        String leaderboardKey = getLeaderboardKey(scope, today);
-        
-        Map<String, Object> result = new HashMap<>();
-        int successCount = 0;
-
-        // 랜덤 사용자 데이터 생성
-        for (int i = 1; i <= userCount; i++) {
-            try {
-                String userId = "user" + String.format("%03d", i);
-                // 0.1km ~ 50km 랜덤 거리
-                double distance = Math.round((Math.random() * 49.9 + 0.1) * 10.0) / 10.0;
-                
-                log.info("테스트 데이터 생성 시도 - 사용자: {}, 거리: {}", userId, distance);
-                
-                // 테스트용이므로 직접 Redis에 추가 (중복 방지 로직 우회)
-                redisTemplate.opsForZSet().add(leaderboardKey, userId, distance + (System.currentTimeMillis() / 1e15));
-                successCount++;
-                log.info("테스트 데이터 생성 완료 - 사용자: {}, 거리: {}", userId, distance);
-                
-                // 약간의 딜레이로 타임스탬프 차이 생성
-                Thread.sleep(2);
-                
-            } catch (Exception e) {
-                log.warn("테스트 데이터 생성 실패 - 사용자 {}: {}", i, e.getMessage(), e);
-            }
+            @Parameter(description = "현재 주 외에 생성할 지난 주 수", example = "4")
+            @RequestParam(defaultValue = "4") int pastWeeks,
+
+            @Parameter(description = "오늘 외에 생성할 지난 날 수", example = "7")
+            @RequestParam(defaultValue = "7") int pastDays,
+
+            @Parameter(description = "사용자 ID 접두사", example = "gen-")
+            @RequestParam(defaultValue = "gen-") String memberPrefix,
+
+            @Parameter(description = "생산자 스레드 수", example = "4")
+            @RequestParam(defaultValue = "4") int producers,
+
+            @Parameter(description = "ZADD 한 번에 넣는 멤버 수", example = "1000")
+            @RequestParam(defaultValue = "1000") int batchSize,
+
+            @Parameter(description = "난수 시드 (같은 시드면 같은 데이터)", example = "42")
+            @RequestParam(defaultValue = "42") long seed) {
+
+        try {
+            LeaderboardDataGenerator.Status status = dataGenerator.start(new LeaderboardDataGenerator.Spec(
+                    userCount, pastWeeks, pastDays, memberPrefix, producers, batchSize, seed));
+            return ResponseEntity.status(202)
+                    .body(ApiResponse.success("테스트 데이터 생성을 시작했습니다.", status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(ApiResponse.error(e.getMessage()));
         }
-        
-        result.put("requestedUsers", userCount);
-        result.put("successCount", successCount);
-        result.put("scope", scope);
-        result.put("leaderboardKey", leaderboardKey);
-        result.put("totalMembers", leaderboardService.getTotalMembers(leaderboardKey));
+    }
 
-        return ResponseEntity.ok(
-                ApiResponse.success("테스트 데이터 생성 완료", result));
+    @Operation(
+            summary = "테스트 데이터 생성 상태",
+            description = "진행 중이거나 마지막으로 실행한 대량 데이터 생성의 진행 상황을 조회합니다."
+    )
+    @GetMapping("/test-data/status")
+    public ResponseEntity<ApiResponse<LeaderboardDataGenerator.Status>> getTestDataStatus() {
+        return dataGenerator.status()
+                .map(status -> ResponseEntity.ok(ApiResponse.success("테스트 데이터 생성 상태", status)))
+                .orElseGet(() -> ResponseEntity.ok(ApiResponse.success("실행한 데이터 생성이 없습니다.", null)));
     }
 
     @Operation(
             summary = "리더보드 데이터 초기화",
-            description = "지정된 스코프의 리더보드 데이터를 모두 삭제합니다."
+            description = "지정된 스코프의 리더보드 데이터를 모두 삭제합니다. " +
+                    "키를 UNLINK 하므로 멤버 수가 많아도 Redis를 막지 않습니다."
     )
     @DeleteMapping("/clear")
     public ResponseEntity<ApiResponse<Map<String, Object>>> clearLeaderboard(
@@ -276,21 +494,107 @@ public class LeaderboardController {
         LocalDate today = LocalDate.now();
         String leaderboardKey = getLeaderboardKey(scope, today);
         
-        Boolean deleted = redisTemplate.delete(leaderboardKey);
-        Long deletedCount = deleted != null && deleted ? 1L : 0L;
-        
+        boolean cleared = seasonService.reset(leaderboardKey);
+
         // 중복 방지 키들도 모두 정리
-        redisTemplate.delete(redisTemplate.keys("lb:dedup:test-event-*"));
+        seasonService.unlinkByPattern(keyFactory.getDedupKey("test-event-*"));
         
         Map<String, Object> result = new HashMap<>();
         result.put("scope", scope);
         result.put("leaderboardKey", leaderboardKey);
-        result.put("cleared", deletedCount > 0);
+        result.put("cleared", cleared);
         
         return ResponseEntity.ok(
                 ApiResponse.success("리더보드 초기화 완료", result));
     }
 
+    @Operation(
+            summary = "현재 시즌 조회",
+            description = "현재 시즌 번호와 시즌별 전체 리더보드 키를 조회합니다."
+    )
+    @GetMapping("/season")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSeason() {
+        long season = keyFactory.currentSeason();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("season", season);
+        result.put("keys", seasonService.seasonKeys(season));
+        return ResponseEntity.ok(ApiResponse.success("현재 시즌", result));
+    }
+
+    @Operation(
+            summary = "시즌 전환",
+            description = "전체 시즌 리더보드를 다음 시즌으로 전환합니다. 새 시즌은 새 키에 기록되고 조회는 시즌 포인터로 " +
+                    "한 번에 넘어갑니다. 이전 시즌 키는 유예 시간 뒤 스냅샷으로 보관하거나 UNLINK 합니다."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "시즌 전환 성공"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "현재 시즌이 expectedSeason과 다름 (이미 전환됨)"
+            )
+    })
+    @PostMapping("/season/rollover")
+    public ResponseEntity<ApiResponse<LeaderboardSeasonService.Rollover>> rolloverSeason(
+            @Parameter(description = "현재 시즌 번호 (생략 시 이 노드가 알고 있는 현재 시즌)", example = "1")
+            @RequestParam(required = false) Long expectedSeason) {
+
+        try {
+            LeaderboardSeasonService.Rollover rollover = seasonService.rollover(
+                    expectedSeason != null ? expectedSeason : keyFactory.currentSeason());
+            return ResponseEntity.ok(ApiResponse.success("시즌을 전환했습니다.", rollover));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "지난 기간 리더보드 보관",
+            description = "마감된 주간/일간 리더보드를 스냅샷 파일로 기록합니다. 이후 이 노드의 해당 기간 조회는 스냅샷 파일에서 처리됩니다. " +
+                    "Redis 키는 살아 있는 모든 노드가 현재 버전의 스냅샷을 기록했을 때만 UNLINK 합니다 " +
+                    "(다른 노드는 매일 정기 보관에서 기록하며, 다시 호출하면 해제를 재시도)."
+    )
+    @PostMapping("/archive")
+    public ResponseEntity<ApiResponse<LeaderboardArchiver.ArchiveResult>> archivePeriod(
+            @Parameter(description = "보관할 스코프 (weekly, daily)", example = "weekly")
+            @RequestParam String scope,
+
+            @Parameter(description = "지표 (distance, runs, moving-time, elevation, longest-run)", example = "distance")
+            @RequestParam(defaultValue = LeaderboardRegistry.DISTANCE) String metric,
+
+            @Parameter(description = "보관할 기간에 속한 날짜", example = "2025-09-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) throws IOException {
+
+        String leaderboardKey = getReadKey(metric, scope, date);
+        boolean closed = keyFactory.periodEnd(leaderboardKey)
+                .map(end -> end.isBefore(LocalDate.now()))
+                .orElse(false);
+        if (!closed) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("마감된 주간/일간 리더보드만 보관할 수 있습니다."));
+        }
+
+        return ResponseEntity.ok(
+                ApiResponse.success("리더보드 보관 완료", archiver.archive(leaderboardKey)));
+    }
+
+    /**
+     * 조회용 리더보드 키를 반환한다.
+     * 읽기에는 TTL 설정이 필요 없으므로 Redis를 호출하지 않고 키 이름만 계산한다.
+     *
+     * @param metric 지표 이름
+     * @param scope 리더보드 범위 (all, weekly, daily)
+     * @param date 기준 날짜 (null이면 오늘)
+     * @return Redis 리더보드 키
+     * @throws IllegalArgumentException 정의되지 않은 지표이거나 유효하지 않은 스코프인 경우
+     */
+    private String getReadKey(String metric, String scope, LocalDate date) {
+        LeaderboardDefinition definition = registry.get(metric);
+        return keyFactory.boardKeyName(definition.metric(), scope, date != null ? date : LocalDate.now());
+    }
+
     /**
      * 스코프와 날짜를 기반으로 적절한 리더보드 키를 반환한다.
      *
@@ -307,4 +611,34 @@ public class LeaderboardController {
             default -> throw new IllegalArgumentException("유효하지 않은 스코프: " + scope);
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Redis에 쓰지 못한 기록을 로컬 스풀에 보류하고 202로 응답한다.
+     * 스풀에도 쓰지 못하면 기록을 잃지 않도록 실패로 응답한다 (503).
+     */
+    private ResponseEntity<ApiResponse<Map<String, Object>>> spool(String dedupKey, String userId,
+                                                                   List<LeaderboardService.BoardWrite> writes,
+                                                                   RedisUnavailableException cause) {
+        try {
+            progressSpool.append(dedupKey, userId, writes, DEDUP_TTL_MS);
+        } catch (IOException e) {
+            log.error("리더보드 기록 보류 실패 - 사용자: {}, 키: {}", userId, dedupKey, e);
+            throw cause;
+        }
+        log.warn("Redis 사용 불가 - 리더보드 기록 보류: {}, 원인: {}", dedupKey, cause.getMessage());
+        return ResponseEntity.status(202)
+                .body(ApiResponse.success("Redis 장애로 기록을 보류했습니다. 복구 후 반영됩니다.",
+                        Map.<String, Object>of("spooled", true)));
+    }
+
+    /**
+     * 쓰기 토큰이 있으면 응답 헤더로 돌려준다. 클라이언트가 다음 조회에 그대로 보내면 자신의 쓰기를 읽는다.
+     */
+    private static <T> ResponseEntity<T> withWriteToken(long writeToken, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (writeToken > 0) {
+            response.header(ReadConsistency.WRITE_TOKEN_HEADER, String.valueOf(writeToken));
+        }
+        return response.body(body);
+    }
+}
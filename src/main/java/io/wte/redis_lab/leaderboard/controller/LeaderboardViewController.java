@@ -1,19 +1,21 @@
 package io.wte.redis_lab.leaderboard.controller;
 
-import io.wte.redis_lab.leaderboard.dto.LeaderboardEntry;
-import io.wte.redis_lab.leaderboard.service.LeaderboardService;
 import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardPageCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Controller
@@ -21,52 +23,48 @@ import java.util.concurrent.atomic.AtomicLong;
 @RequiredArgsConstructor
 public class LeaderboardViewController {
 
-    private final LeaderboardService leaderboardService;
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private final LeaderboardPageCache pageCache;
     private final LeaderboardKeyFactory keyFactory;
 
+    /**
+     * 리더보드 페이지를 반환한다.
+     * 렌더링된 HTML은 리더보드 버전 기준으로 캐시되며, If-None-Match가 현재 ETag와 같으면 304를 반환한다.
+     */
     @GetMapping("/view")
-    public String leaderboardView(
+    public ResponseEntity<byte[]> leaderboardView(
             @RequestParam(defaultValue = "weekly") String scope,
             @RequestParam(defaultValue = "10") int limit,
-            Model model) {
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
-        try {
-            if (limit <= 0 || limit > 50) {
-                limit = 10;
-            }
+        if (limit <= 0 || limit > 50) {
+            limit = 10;
+        }
 
+        try {
             String leaderboardKey = getLeaderboardKey(scope, LocalDate.now());
-            List<LeaderboardService.ScoredValue> scoredValues =
-                    leaderboardService.getTopN(leaderboardKey, limit);
-
-            // 순위를 포함하여 응답 생성
-            AtomicLong rankCounter = new AtomicLong(1); // UI에서는 1부터 시작
-            List<LeaderboardEntry> entries = scoredValues.stream()
-                    .map(sv -> new LeaderboardEntry(
-                            rankCounter.getAndIncrement(),
-                            sv.userId(),
-                            sv.score()))
-                    .toList();
-
-            model.addAttribute("entries", entries);
-            model.addAttribute("currentScope", scope);
-            model.addAttribute("totalUsers", leaderboardService.getTotalMembers(leaderboardKey));
+            LeaderboardPageCache.CachedPage page = pageCache.getPage(scope, leaderboardKey, limit, request, response);
 
-            log.info("리더보드 뷰 로드 완료 - 스코프: {}, 엔트리 수: {}, 총 사용자: {}", 
-                    scope, entries.size(), leaderboardService.getTotalMembers(leaderboardKey));
-            
-            return "leaderboard/index";
+            // ETag가 If-None-Match와 일치하면 본문 없이 304로 응답된다
+            return ResponseEntity.ok()
+                    .contentType(TEXT_HTML_UTF8)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(page.etag())
+                    .body(page.html());
         } catch (Exception e) {
             log.error("리더보드 뷰 로드 중 오류 발생", e);
-            model.addAttribute("entries", List.of());
-            model.addAttribute("currentScope", scope);
-            model.addAttribute("totalUsers", 0L);
-            return "leaderboard/index";
+            return ResponseEntity.ok()
+                    .contentType(TEXT_HTML_UTF8)
+                    .cacheControl(CacheControl.noStore())
+                    .body(pageCache.renderEmpty(scope, request, response));
         }
     }
 
     /**
      * 스코프와 날짜를 기반으로 적절한 리더보드 키를 반환한다.
+     * 조회 전용이므로 TTL 확인 없이 키 이름만 계산한다.
      *
      * @param scope 리더보드 범위 (all, weekly, daily)
      * @param date 기준 날짜
@@ -76,9 +74,9 @@ public class LeaderboardViewController {
     private String getLeaderboardKey(String scope, LocalDate date) {
         return switch (scope.toLowerCase()) {
             case "all" -> keyFactory.getAllTimeKey();
-            case "weekly" -> keyFactory.getWeeklyKey(date);
-            case "daily" -> keyFactory.getDailyKey(date);
+            case "weekly" -> keyFactory.weeklyKeyName(date);
+            case "daily" -> keyFactory.dailyKeyName(date);
             default -> throw new IllegalArgumentException("유효하지 않은 스코프: " + scope);
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package io.wte.redis_lab.leaderboard.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.wte.redis_lab.common.dto.ApiResponse;
+import io.wte.redis_lab.leaderboard.dto.AddProgressRequest;
+import io.wte.redis_lab.leaderboard.dto.LeaderboardEntry;
+import io.wte.redis_lab.leaderboard.dto.UserRankResponse;
+import io.wte.redis_lab.leaderboard.service.LeaderboardDefinition;
+import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardRegistry;
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.ReactiveLeaderboardService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 논블로킹 리더보드 API.
+ * 응답을 Mono로 반환하므로 Redis 응답을 기다리는 동안 Tomcat 스레드가 반납되고,
+ * 서로 독립적인 Redis 호출은 순차가 아니라 동시에 실행된다.
+ */
+@RestController
+@RequestMapping("/v2/leaderboard")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Leaderboard API", description = "논블로킹 러닝 리더보드 API")
+public class ReactiveLeaderboardController {
+
+    private final ReactiveLeaderboardService leaderboardService;
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardRegistry registry;
+
+    // 중복 방지 키의 TTL (7일)
+    private static final long DEDUP_TTL_MS = 7L * 24 * 60 * 60 * 1000;
+
+    @Operation(
+            summary = "러닝 진행상황 추가 (논블로킹)",
+            description = "모든 스코프의 점수 가산을 스크립트 한 번으로 처리합니다. 중복 방지는 이벤트 단위로 적용됩니다."
+    )
+    @PostMapping("/progress")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> addProgress(
+            @Valid @RequestBody AddProgressRequest request) {
+
+        LocalDate today = LocalDate.now();
+        String userId = String.valueOf(request.userId());
+        LeaderboardDefinition distance = registry.distance();
+
+        List<LeaderboardService.BoardWrite> writes = request.scopes().stream()
+                .map(scope -> new LeaderboardService.BoardWrite(
+                        keyFactory.boardKeyName(distance.metric(), scope, today),
+                        scope, distance, distance.toUnits(request.deltaKm()), distance.retention(scope)))
+                .toList();
+
+        return leaderboardService.recordEvent(keyFactory.getDedupKey(request.eventId()), userId, writes, DEDUP_TTL_MS)
+                .map(result -> {
+                    Map<String, Object> results = new HashMap<>();
+                    for (int i = 0; i < writes.size(); i++) {
+                        LeaderboardService.RankScore rankScore = result.boards().get(i);
+                        results.put(request.scopes().get(i), Map.of(
+                                "totalDistance", rankScore.score(),
+                                "rank", rankScore.rank(),
+                                "added", result.applied() ? request.deltaKm() : 0.0
+                        ));
+                    }
+                    return ResponseEntity.ok(
+                            ApiResponse.success("러닝 진행상황이 성공적으로 추가되었습니다.", results));
+                });
+    }
+
+    @Operation(
+            summary = "리더보드 상위 조회 (논블로킹)",
+            description = "상위 N명과 총 참가자 수를 동시에 조회합니다."
+    )
+    @GetMapping("/top")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getTopLeaderboard(
+            @Parameter(description = "리더보드 범위", example = "weekly")
+            @RequestParam String scope,
+
+            @Parameter(description = "조회할 상위 인원 수", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit <= 0 || limit > 100) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ApiResponse.<Map<String, Object>>error("조회 인원은 1~100 사이여야 합니다.")));
+        }
+
+        String leaderboardKey = keyFactory.boardKeyName(LeaderboardRegistry.DISTANCE, scope, LocalDate.now());
+
+        return Mono.zip(leaderboardService.getTopN(leaderboardKey, limit),
+                        leaderboardService.getTotalMembers(leaderboardKey))
+                .map(tuple -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("entries", toEntries(tuple.getT1(), 0));
+                    result.put("totalMembers", tuple.getT2());
+                    return ResponseEntity.ok(ApiResponse.success("리더보드 조회 성공", result));
+                });
+    }
+
+    @Operation(
+            summary = "사용자 순위 조회 (논블로킹)",
+            description = "ZREVRANK와 ZSCORE를 동시에 조회합니다."
+    )
+    @GetMapping("/rank/{userId}")
+    public Mono<ResponseEntity<ApiResponse<UserRankResponse>>> getUserRank(
+            @Parameter(description = "사용자 ID", example = "1001")
+            @PathVariable String userId,
+
+            @Parameter(description = "리더보드 범위", example = "weekly")
+            @RequestParam String scope) {
+
+        String leaderboardKey = keyFactory.boardKeyName(LeaderboardRegistry.DISTANCE, scope, LocalDate.now());
+
+        return leaderboardService.getRankScore(leaderboardKey, userId)
+                .map(rankScore -> ResponseEntity.ok(ApiResponse.success("사용자 순위 조회 성공",
+                        new UserRankResponse(userId, rankScore.rank(), rankScore.score(), scope))));
+    }
+
+    @Operation(
+            summary = "주변 사용자 리더보드 조회 (논블로킹)",
+            description = "특정 사용자를 중심으로 앞뒤 k명씩 조회합니다."
+    )
+    @GetMapping("/around/{userId}")
+    public Mono<ResponseEntity<ApiResponse<List<LeaderboardEntry>>>> getAroundUser(
+            @Parameter(description = "기준 사용자 ID", example = "1001")
+            @PathVariable String userId,
+
+            @Parameter(description = "리더보드 범위", example = "weekly")
+            @RequestParam String scope,
+
+            @Parameter(description = "앞뒤로 조회할 인원 수", example = "3")
+            @RequestParam(defaultValue = "3") int around) {
+
+        if (around < 0 || around > 20) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ApiResponse.<List<LeaderboardEntry>>error("주변 조회 범위는 0~20 사이여야 합니다.")));
+        }
+
+        String leaderboardKey = keyFactory.boardKeyName(LeaderboardRegistry.DISTANCE, scope, LocalDate.now());
+
+        // 순위를 한 번만 조회하고, 그 순위로 범위를 바로 조회한다
+        return leaderboardService.getRankScore(leaderboardKey, userId)
+                .flatMap(userRank -> {
+                    if (userRank.rank() == -1) {
+                        return Mono.just(ResponseEntity.ok(
+                                ApiResponse.success("해당 사용자는 리더보드에 없습니다.", List.<LeaderboardEntry>of())));
+                    }
+                    long startRank = Math.max(userRank.rank() - around, 0);
+                    return leaderboardService.getAroundRank(leaderboardKey, userRank.rank(), around)
+                            .map(scoredValues -> ResponseEntity.ok(
+                                    ApiResponse.success("주변 사용자 조회 성공", toEntries(scoredValues, startRank))));
+                });
+    }
+
+    private List<LeaderboardEntry> toEntries(List<LeaderboardService.ScoredValue> scoredValues, long startRank) {
+        AtomicLong rankCounter = new AtomicLong(startRank);
+        return scoredValues.stream()
+                .map(sv -> new LeaderboardEntry(
+                        rankCounter.getAndIncrement(),
+                        sv.userId(),
+                        sv.score()))
+                .toList();
+    }
+}
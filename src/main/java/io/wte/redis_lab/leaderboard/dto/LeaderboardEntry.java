@@ -14,7 +14,7 @@ public record LeaderboardEntry(
         @Schema(description = "사용자 ID", example = "1001")
         String userId,
         
-        @Schema(description = "총 거리(km)", example = "127.5")
+        @Schema(description = "누적 값 (거리 지표는 총 거리 km)", example = "127.5")
         Double totalDistance
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package io.wte.redis_lab.leaderboard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 활동 기록 요청 DTO.
+ * 한 번의 활동으로 거리, 러닝 횟수, 이동 시간, 상승 고도 등 정의된 모든 리더보드를 갱신한다.
+ */
+@Schema(description = "활동 기록 요청")
+public record RecordActivityRequest(
+
+        @Schema(description = "사용자 ID", example = "1001")
+        @Positive(message = "사용자 ID는 양수여야 합니다")
+        Long userId,
+
+        @Schema(description = "이벤트 고유 식별자 (중복 방지용)", example = "run-20250909-user1001-001")
+        @NotBlank(message = "이벤트 ID는 필수입니다")
+        String eventId,
+
+        @Schema(description = "거리(km)", example = "5.2")
+        @PositiveOrZero(message = "거리는 0 이상이어야 합니다")
+        Double distanceKm,
+
+        @Schema(description = "이동 시간(초)", example = "1800")
+        @PositiveOrZero(message = "이동 시간은 0 이상이어야 합니다")
+        Long movingTimeSec,
+
+        @Schema(description = "누적 상승 고도(m)", example = "42")
+        @PositiveOrZero(message = "상승 고도는 0 이상이어야 합니다")
+        Double elevationGainM
+) {
+
+    /**
+     * 리더보드 정의의 source 이름별 값 (값이 없는 항목은 제외)
+     */
+    public Map<String, Double> values() {
+        Map<String, Double> values = new HashMap<>();
+        if (distanceKm != null) {
+            values.put("distance", distanceKm);
+        }
+        if (movingTimeSec != null) {
+            values.put("movingTime", movingTimeSec.doubleValue());
+        }
+        if (elevationGainM != null) {
+            values.put("elevationGain", elevationGainM);
+        }
+        return values;
+    }
+}
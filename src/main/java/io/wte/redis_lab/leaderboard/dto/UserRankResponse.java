@@ -14,7 +14,7 @@ public record UserRankResponse(
         @Schema(description = "현재 순위 (0부터 시작, -1은 순위 없음)", example = "5")
         Long rank,
         
-        @Schema(description = "총 거리(km)", example = "87.3")
+        @Schema(description = "누적 값 (거리 지표는 총 거리 km)", example = "87.3")
         Double totalDistance,
         
         @Schema(description = "리더보드 범위", example = "weekly")
@@ -0,0 +1,276 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.wte.redis_lab.common.redis.ReadConsistency;
+import io.wte.redis_lab.leaderboard.service.LeaderboardKeyFactory;
+import io.wte.redis_lab.leaderboard.service.LeaderboardRegistry;
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.LocalLeaderboard;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 자주 읽히는 리더보드의 인메모리 복제본을 관리한다.
+ *
+ * 설정한 스코프(leaderboard.replica.scopes, 예: weekly,daily)의 현재 기간 거리 리더보드를 ZSCAN으로 한 번 읽어 온 뒤,
+ * 쓰기 스크립트가 발행하는 변경 피드({@link LeaderboardService#CHANGE_CHANNEL})로 따라간다.
+ * 피드 메시지에는 리더보드 버전(lb:versions)이 함께 실려 있어 유실을 감지할 수 있고,
+ * 유실/직접 변경/피드 정지가 감지되면 다시 ZSCAN으로 동기화한다.
+ *
+ * 동기화가 끝났고 지연이 leaderboard.replica.max-lag-ms 이내인 복제본만 조회에 사용되며,
+ * 그 외에는 {@link LeaderboardService}가 그대로 Redis를 조회한다.
+ * 스코프를 설정하지 않으면 아무 것도 구독하지 않는다.
+ */
+@Slf4j
+@Component
+public class LeaderboardReplicator implements MessageListener {
+
+    private static final int SCAN_COUNT = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LeaderboardKeyFactory keyFactory;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final List<String> scopes;
+    private final long maxLagMs;
+
+    private final Map<String, ReplicatedLeaderboard> boards = new ConcurrentHashMap<>();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "lb-replica-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer lag;
+    private final Counter resyncs;
+
+    public LeaderboardReplicator(StringRedisTemplate redisTemplate,
+                                 LeaderboardKeyFactory keyFactory,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${leaderboard.replica.scopes:}") String scopes,
+                                 @Value("${leaderboard.replica.max-lag-ms:1000}") long maxLagMs) {
+        this.redisTemplate = redisTemplate;
+        this.keyFactory = keyFactory;
+        this.listenerContainer = listenerContainer;
+        this.scopes = Arrays.stream(scopes.split(","))
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .filter(scope -> !scope.isEmpty())
+                .toList();
+        this.maxLagMs = maxLagMs;
+        this.lag = Timer.builder("leaderboard.replica.lag")
+                .description("변경 발행부터 복제본 반영까지의 지연")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("leaderboard.replica.resyncs").register(meterRegistry);
+        Gauge.builder("leaderboard.replica.members", boards,
+                        map -> map.values().stream().mapToInt(ReplicatedLeaderboard::size).sum())
+                .register(meterRegistry);
+        Gauge.builder("leaderboard.replica.servable", boards,
+                        map -> map.values().stream().filter(board -> board.isServable(maxLagMs)).count())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(LeaderboardService.CHANGE_CHANNEL));
+        log.info("리더보드 복제 시작 - 스코프: {}", scopes);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    /**
+     * 조회에 사용할 수 있는 복제본을 찾는다.
+     *
+     * 현재 요청의 일관성 요구를 먼저 확인한다. 쓰기 토큰 헤더(Redis 복제 오프셋)는 복제본 버전과 비교할 수 없으므로
+     * 헤더가 있으면 복제본을 쓰지 않고, 허용 지연 헤더가 max-lag-ms보다 작으면 그 값으로 판단한다 (0이면 사실상 항상 Redis).
+     * 이 노드에서 기록한 사용자의 조회는 복제본이 그 쓰기의 버전을 적용한 뒤에만 로컬에서 처리한다.
+     *
+     * @param key 리더보드 키
+     * @param userId 조회 대상 사용자 (null이면 사용자별 쓰기를 확인하지 않음)
+     * @return 동기화가 끝났고 일관성 요구를 만족하는 복제본 (없으면 empty)
+     */
+    public Optional<LocalLeaderboard> find(String key, String userId) {
+        if (ReadConsistency.writeToken() > 0) {
+            return Optional.empty();
+        }
+        ReplicatedLeaderboard board = boards.get(key);
+        long bound = Math.min(maxLagMs, ReadConsistency.maxStalenessMs(maxLagMs));
+        if (board == null || !board.isServable(bound) || (userId != null && !board.hasApplied(userId))) {
+            return Optional.empty();
+        }
+        return Optional.of(board);
+    }
+
+    /**
+     * 이 노드에서 기록한 쓰기의 버전을 기억한다. 복제본이 그 버전을 적용하기 전까지 이 사용자의 조회는 Redis로 간다.
+     *
+     * @param key 리더보드 키
+     * @param userId 기록한 사용자
+     * @param version 쓰기로 올라간 리더보드 버전
+     */
+    public void noteWrite(String key, String userId, long version) {
+        ReplicatedLeaderboard board = boards.get(key);
+        if (board != null) {
+            board.noteWrite(userId, version);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 리더보드키|버전|점수|발행시각|사용자ID (사용자ID에는 '|'가 올 수 있으므로 앞에서부터 4개만 자른다)
+        int p1 = body.indexOf('|');
+        int p2 = body.indexOf('|', p1 + 1);
+        int p3 = body.indexOf('|', p2 + 1);
+        int p4 = body.indexOf('|', p3 + 1);
+        if (p1 < 0 || p2 < 0 || p3 < 0 || p4 < 0) {
+            log.warn("잘못된 리더보드 변경 메시지: {}", body);
+            return;
+        }
+
+        ReplicatedLeaderboard board = boards.get(body.substring(0, p1));
+        if (board == null) {
+            return;
+        }
+
+        long version = Long.parseLong(body.substring(p1 + 1, p2));
+        String score = body.substring(p2 + 1, p3);
+        long lagMs = Math.max(0, System.currentTimeMillis() - Long.parseLong(body.substring(p3 + 1, p4)));
+        lag.record(lagMs, TimeUnit.MILLISECONDS);
+
+        if ("-".equals(score)) {
+            board.apply(version, null, 0.0, lagMs);
+        } else {
+            board.apply(version, body.substring(p4 + 1), Double.parseDouble(score), lagMs);
+        }
+    }
+
+    /**
+     * 복제본마다 Redis의 버전을 HMGET 한 번으로 읽어, 따라잡은 복제본의 최신 확인 시각을 갱신한다.
+     * 피드가 끊긴 복제본은 확인 시각이 갱신되지 않아 max-lag-ms 뒤 Redis 조회로 넘어가므로,
+     * 주기는 max-lag-ms보다 짧아야 변경이 없는 리더보드가 계속 로컬에서 조회된다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.replica.verify-ms:250}")
+    public void verify() {
+        if (boards.isEmpty()) {
+            return;
+        }
+        List<ReplicatedLeaderboard> targets = List.copyOf(boards.values());
+        long checkedAt = System.currentTimeMillis();
+        List<Object> versions = redisTemplate.opsForHash().multiGet(keyFactory.getVersionsKey(),
+                targets.stream().<Object>map(ReplicatedLeaderboard::key).toList());
+        for (int i = 0; i < targets.size(); i++) {
+            targets.get(i).confirm(versions.get(i) != null ? Long.parseLong(versions.get(i).toString()) : 0L, checkedAt);
+            targets.get(i).prunePendingWrites();
+        }
+    }
+
+    /**
+     * 복제 대상 키를 현재 기간으로 맞추고, 유실/정지가 감지된 복제본을 다시 동기화한다.
+     * 기간이 바뀌면 새 키의 복제본을 만들고 지난 키의 복제본은 버린다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.replica.check-ms:5000}")
+    public void maintain() {
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        Set<String> currentKeys = currentKeys();
+        boards.keySet().removeIf(key -> !currentKeys.contains(key));
+        for (String key : currentKeys) {
+            boards.computeIfAbsent(key, k -> {
+                ReplicatedLeaderboard board = new ReplicatedLeaderboard(k);
+                board.beginSync();
+                syncExecutor.execute(() -> sync(board));
+                return board;
+            });
+        }
+
+        List<ReplicatedLeaderboard> targets = List.copyOf(boards.values());
+        List<Object> versions = redisTemplate.opsForHash().multiGet(keyFactory.getVersionsKey(),
+                targets.stream().<Object>map(ReplicatedLeaderboard::key).toList());
+        for (int i = 0; i < targets.size(); i++) {
+            ReplicatedLeaderboard board = targets.get(i);
+            if (board.isSyncing()) {
+                continue;
+            }
+            long redisVersion = versions.get(i) != null ? Long.parseLong(versions.get(i).toString()) : 0L;
+            if (board.needsResync() || board.isStalled(redisVersion)) {
+                log.info("리더보드 복제본 재동기화 - 키: {}, 적용 버전: {}, Redis 버전: {}",
+                        board.key(), board.version(), redisVersion);
+                board.beginSync();
+                syncExecutor.execute(() -> sync(board));
+            }
+        }
+    }
+
+    /**
+     * ZSCAN으로 리더보드 전체를 읽어 복제본을 새로 만든다.
+     * 스캔 전에 버전을 먼저 읽으므로, 스캔 도중의 변경은 보류 목록에서 다시 적용된다.
+     */
+    private void sync(ReplicatedLeaderboard board) {
+        try {
+            resyncs.increment();
+            long snapshotAt = System.currentTimeMillis();
+            Object version = redisTemplate.opsForHash().get(keyFactory.getVersionsKey(), board.key());
+            Long expected = redisTemplate.opsForZSet().zCard(board.key());
+
+            RankIndex fresh = new RankIndex(expected != null ? expected.intValue() : 0);
+            try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet()
+                    .scan(board.key(), ScanOptions.scanOptions().count(SCAN_COUNT).build())) {
+                while (cursor.hasNext()) {
+                    ZSetOperations.TypedTuple<String> tuple = cursor.next();
+                    fresh.upsert(tuple.getValue(), tuple.getScore() != null ? tuple.getScore() : 0.0);
+                }
+            }
+
+            board.completeSync(fresh, version != null ? Long.parseLong(version.toString()) : 0L, snapshotAt);
+            log.info("리더보드 복제본 동기화 완료 - 키: {}, 멤버 수: {}", board.key(), fresh.size());
+        } catch (Exception e) {
+            board.abortSync();
+            log.warn("리더보드 복제본 동기화 실패 - 키: {}, 오류: {}", board.key(), e.getMessage());
+        }
+    }
+
+    private Set<String> currentKeys() {
+        LocalDate today = LocalDate.now();
+        return scopes.stream()
+                .map(scope -> keyFactory.boardKeyName(LeaderboardRegistry.DISTANCE, scope, today))
+                .collect(Collectors.toSet());
+    }
+}
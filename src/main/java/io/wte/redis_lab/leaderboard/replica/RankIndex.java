@@ -0,0 +1,287 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 순위 통계 트리 (배열 기반 트립).
+ *
+ * 멤버마다 정수 ID를 부여하고, 그 ID를 그대로 트리 노드 번호로 쓴다.
+ * 점수/자식/서브트리 크기/우선순위는 모두 원시 타입 배열에 담기 때문에 멤버당 박싱 객체가 없다
+ * (멤버 이름 String 하나만 남는다).
+ * 정렬은 ZREVRANGE와 같다: 점수 내림차순, 동점이면 멤버 이름 내림차순.
+ *
+ * 갱신/순위/k번째 조회 모두 기대 O(log n). 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+final class RankIndex {
+
+    private static final int NIL = 0;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private String[] names;
+    private double[] scores;
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+
+    /** 멤버 이름 → ID 오픈 어드레싱 해시 테이블 (0은 빈 슬롯) */
+    private int[] table;
+
+    private int count;
+    private int root = NIL;
+
+    /** split 결과 (할당을 피하기 위해 필드로 반환) */
+    private int splitLeft;
+    private int splitRight;
+
+    RankIndex(int expectedMembers) {
+        int capacity = Math.max(16, expectedMembers + 1);
+        names = new String[capacity];
+        scores = new double[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        size = new int[capacity];
+        priority = new int[capacity];
+        table = new int[tableSizeFor(capacity * 2)];
+    }
+
+    int size() {
+        return size[root];
+    }
+
+    /**
+     * 멤버의 점수를 설정한다. 없으면 추가하고, 점수가 바뀌었으면 트리에서 위치를 옮긴다.
+     */
+    void upsert(String member, double score) {
+        int id = find(member);
+        if (id == NIL) {
+            id = add(member);
+            scores[id] = score;
+            root = insert(root, id);
+            return;
+        }
+        if (scores[id] == score) {
+            return;
+        }
+        root = erase(root, id);
+        scores[id] = score;
+        left[id] = NIL;
+        right[id] = NIL;
+        size[id] = 1;
+        root = insert(root, id);
+    }
+
+    /**
+     * @return 순위 (0부터 시작, 없으면 -1)
+     */
+    long rankOf(String member) {
+        int id = find(member);
+        if (id == NIL) {
+            return -1;
+        }
+        long rank = 0;
+        int t = root;
+        while (t != NIL) {
+            if (t == id) {
+                return rank + size[left[t]];
+            }
+            if (before(id, t)) {
+                t = left[t];
+            } else {
+                rank += size[left[t]] + 1;
+                t = right[t];
+            }
+        }
+        return -1;
+    }
+
+    LeaderboardService.RankScore rankScore(String member) {
+        long rank = rankOf(member);
+        return new LeaderboardService.RankScore(rank, rank >= 0 ? scores[find(member)] : 0.0);
+    }
+
+    /**
+     * 순위 구간 [start, end]의 멤버와 점수를 반환한다 (양 끝 포함, 0부터 시작).
+     */
+    List<LeaderboardService.ScoredValue> range(long start, long end) {
+        long from = Math.max(start, 0);
+        long to = Math.min(end, size() - 1L);
+        if (from > to) {
+            return List.of();
+        }
+
+        List<LeaderboardService.ScoredValue> values = new ArrayList<>((int) (to - from + 1));
+        for (long rank = from; rank <= to; rank++) {
+            int id = select((int) rank);
+            values.add(new LeaderboardService.ScoredValue(names[id], scores[id]));
+        }
+        return values;
+    }
+
+    /** 순위가 k인 노드 */
+    private int select(int k) {
+        int t = root;
+        while (t != NIL) {
+            int leftSize = size[left[t]];
+            if (k < leftSize) {
+                t = left[t];
+            } else if (k == leftSize) {
+                return t;
+            } else {
+                k -= leftSize + 1;
+                t = right[t];
+            }
+        }
+        throw new IndexOutOfBoundsException(k);
+    }
+
+    /** a가 b보다 앞 순위인지 (점수 내림차순, 동점이면 이름 내림차순) */
+    private boolean before(int a, int b) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        return names[a].compareTo(names[b]) > 0;
+    }
+
+    private int insert(int t, int id) {
+        if (t == NIL) {
+            return id;
+        }
+        if (priority[id] > priority[t]) {
+            split(t, id);
+            left[id] = splitLeft;
+            right[id] = splitRight;
+            update(id);
+            return id;
+        }
+        if (before(id, t)) {
+            left[t] = insert(left[t], id);
+        } else {
+            right[t] = insert(right[t], id);
+        }
+        update(t);
+        return t;
+    }
+
+    private int erase(int t, int id) {
+        if (t == id) {
+            return merge(left[t], right[t]);
+        }
+        if (before(id, t)) {
+            left[t] = erase(left[t], id);
+        } else {
+            right[t] = erase(right[t], id);
+        }
+        update(t);
+        return t;
+    }
+
+    /** t를 id보다 앞 순위인 노드(splitLeft)와 나머지(splitRight)로 나눈다 */
+    private void split(int t, int id) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (before(t, id)) {
+            split(right[t], id);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], id);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    /** a의 모든 노드가 b보다 앞 순위일 때 두 트리를 합친다 */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = 1 + size[left[t]] + size[right[t]];
+    }
+
+    private int find(String member) {
+        int mask = table.length - 1;
+        for (int i = hash(member) & mask; table[i] != NIL; i = (i + 1) & mask) {
+            if (names[table[i]].equals(member)) {
+                return table[i];
+            }
+        }
+        return NIL;
+    }
+
+    private int add(String member) {
+        if (count + 1 == names.length) {
+            grow();
+        }
+        int id = ++count;
+        names[id] = member;
+        size[id] = 1;
+        priority[id] = random.nextInt();
+        if (count * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            place(id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        size = Arrays.copyOf(size, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        for (int id = 1; id <= count; id++) {
+            place(id);
+        }
+    }
+
+    private void place(int id) {
+        int mask = table.length - 1;
+        int i = hash(names[id]) & mask;
+        while (table[i] != NIL) {
+            i = (i + 1) & mask;
+        }
+        table[i] = id;
+    }
+
+    private static int hash(String member) {
+        int h = member.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        return Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+    }
+}
@@ -0,0 +1,282 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import io.wte.redis_lab.leaderboard.service.LocalLeaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 리더보드 하나의 인메모리 복제본.
+ *
+ * 변경 피드로 받은 (버전, 멤버, 점수)를 {@link RankIndex}에 반영한다. 피드의 점수는 증분이 아닌 절댓값이므로
+ * 같은 변경을 다시 적용해도 결과가 같다. 전체 동기화(ZSCAN) 중에 도착한 변경은 모아 두었다가
+ * 동기화가 끝난 뒤 순서대로 적용한다.
+ *
+ * 피드가 끊기면 새 변경이 오지 않으므로 마지막 지연만으로는 뒤처졌는지 알 수 없다. 그래서 Redis와 같은 버전이었다고
+ * 마지막으로 확인한 시각(변경의 발행 시각, 동기화 시작 시각, 버전 확인 시각)도 함께 보고 조회 가능 여부를 정한다.
+ */
+class ReplicatedLeaderboard implements LocalLeaderboard {
+
+    private static final int MAX_PENDING_WRITES = 100_000;
+
+    private final String key;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RankIndex index = new RankIndex(0);
+    private long version;
+    private boolean ready;
+    private boolean gapDetected;
+    private List<Change> pending;
+
+    /** 마지막으로 받은 변경의 발행→적용 지연(밀리초) */
+    private volatile long lastLagMs;
+
+    /** Redis와 같은 버전이었다고 마지막으로 확인한 시각 (epoch 밀리초) */
+    private long currentAsOf;
+
+    /** 사용자별로 아직 적용하지 않았을 수 있는 이 노드의 마지막 쓰기 버전. 적용되면 확인 때 지운다 */
+    private final Map<String, Long> pendingWrites = new ConcurrentHashMap<>();
+    /** 추적 한도를 넘어 사용자별로 기억하지 못한 쓰기 버전 중 최댓값 (모든 사용자 조회에 적용) */
+    private final AtomicLong writeFloor = new AtomicLong();
+
+    /** 직전 점검 때의 적용 버전 (점검 사이에 진행이 없었는지 판단용) */
+    private long lastCheckedVersion = -1;
+
+    ReplicatedLeaderboard(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * 변경 하나를 적용한다. 동기화 중이면 보류 목록에 쌓는다.
+     * 버전이 연속되지 않거나(메시지 유실) 멤버 없는 변경(스크립트 밖에서 키를 직접 바꿈)이면
+     * 재동기화가 필요하다고 표시한다.
+     */
+    void apply(long changeVersion, String member, double score, long lagMs) {
+        lock.writeLock().lock();
+        try {
+            lastLagMs = lagMs;
+            if (pending != null) {
+                pending.add(new Change(changeVersion, member, score));
+                return;
+            }
+            if (changeVersion <= version) {
+                return;
+            }
+            if (changeVersion != version + 1 || member == null) {
+                gapDetected = true;
+            }
+            if (member != null) {
+                index.upsert(member, score);
+            }
+            version = changeVersion;
+            currentAsOf = Math.max(currentAsOf, System.currentTimeMillis() - lagMs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void beginSync() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ZSCAN으로 새로 만든 인덱스에 동기화 중 보류된 변경을 적용하고 교체한다.
+     *
+     * @param fresh 새로 읽은 인덱스
+     * @param snapshotVersion 스캔 직전에 읽은 리더보드 버전
+     * @param snapshotAt 버전을 읽은 시각 (epoch 밀리초)
+     */
+    void completeSync(RankIndex fresh, long snapshotVersion, long snapshotAt) {
+        lock.writeLock().lock();
+        try {
+            long applied = snapshotVersion;
+            boolean reset = false;
+            for (Change change : pending) {
+                if (change.member() != null) {
+                    fresh.upsert(change.member(), change.score());
+                } else {
+                    // 스캔 도중 키가 통째로 바뀌었다: 스캔 결과를 믿을 수 없으므로 다시 동기화한다
+                    reset = true;
+                }
+                applied = Math.max(applied, change.version());
+            }
+            index = fresh;
+            version = applied;
+            pending = null;
+            gapDetected = reset;
+            currentAsOf = Math.max(currentAsOf, snapshotAt);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortSync() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 로컬에서 읽어도 되는 상태인지. 동기화가 끝났고, 유실이 없고, 마지막 변경의 지연과
+     * Redis와 같은 버전임을 마지막으로 확인한 뒤 지난 시간이 모두 허용 범위 안이어야 한다.
+     */
+    boolean isServable(long maxLagMs) {
+        lock.readLock().lock();
+        try {
+            return ready && pending == null && !gapDetected && lastLagMs <= maxLagMs
+                    && System.currentTimeMillis() - currentAsOf <= maxLagMs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Redis의 현재 버전을 이미 적용했다면 그 버전을 읽은 시각까지 최신이었다고 기록한다.
+     * 변경이 없는 리더보드도 이 확인으로 조회 가능 상태를 유지한다.
+     *
+     * @param redisVersion Redis의 리더보드 버전
+     * @param checkedAt 버전을 읽기 시작한 시각 (epoch 밀리초)
+     */
+    void confirm(long redisVersion, long checkedAt) {
+        lock.writeLock().lock();
+        try {
+            if (ready && pending == null && redisVersion <= version) {
+                currentAsOf = Math.max(currentAsOf, checkedAt);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void noteWrite(String userId, long writeVersion) {
+        if (pendingWrites.size() >= MAX_PENDING_WRITES && !pendingWrites.containsKey(userId)) {
+            writeFloor.accumulateAndGet(writeVersion, Math::max);
+            return;
+        }
+        pendingWrites.merge(userId, writeVersion, Math::max);
+    }
+
+    /**
+     * 이 사용자가 이 노드에서 기록한 마지막 쓰기까지 적용했는지.
+     */
+    boolean hasApplied(String userId) {
+        long required = Math.max(pendingWrites.getOrDefault(userId, 0L), writeFloor.get());
+        return required == 0 || version() >= required;
+    }
+
+    /**
+     * 이미 적용한 쓰기를 추적 목록에서 지운다.
+     */
+    void prunePendingWrites() {
+        long applied = version();
+        pendingWrites.values().removeIf(writeVersion -> writeVersion <= applied);
+    }
+
+    boolean isSyncing() {
+        lock.readLock().lock();
+        try {
+            return pending != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean needsResync() {
+        lock.readLock().lock();
+        try {
+            return !ready || gapDetected;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Redis의 현재 버전과 비교해 복제가 멈췄는지 확인한다.
+     * 뒤처진 상태에서 직전 점검 이후 적용된 변경이 하나도 없으면 피드가 끊긴 것으로 본다.
+     */
+    boolean isStalled(long redisVersion) {
+        lock.writeLock().lock();
+        try {
+            boolean stalled = ready && redisVersion > version && version == lastCheckedVersion;
+            lastCheckedVersion = version;
+            return stalled;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long lastLagMs() {
+        return lastLagMs;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LeaderboardService.ScoredValue> range(long start, long end) {
+        lock.readLock().lock();
+        try {
+            return index.range(start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long rankOf(String member) {
+        lock.readLock().lock();
+        try {
+            return index.rankOf(member);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public LeaderboardService.RankScore rankScore(String member) {
+        lock.readLock().lock();
+        try {
+            return index.rankScore(member);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Change(long version, String member, double score) {
+    }
+}
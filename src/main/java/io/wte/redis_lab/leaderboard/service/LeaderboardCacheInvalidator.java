@@ -0,0 +1,46 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import io.wte.redis_lab.common.redis.HotKeyDetector;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 리더보드 변경 피드({@link LeaderboardService#CHANGE_CHANNEL})를 구독하여 이 노드의 핫 키 캐시를 비운다.
+ *
+ * 쓰기 스크립트는 어느 경로(블로킹, 리액티브, 다른 노드)로 실행되든 같은 피드를 발행하므로,
+ * 기록한 노드가 아니어도 변경된 리더보드의 캐시가 피드 지연 안에 비워진다.
+ * 재연결 중 놓친 메시지는 다시 오지 않지만 캐시는 TTL이 지나면 다시 읽으므로 따로 복구하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardCacheInvalidator implements MessageListener {
+
+    private final HotKeyDetector hotKeys;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(LeaderboardService.CHANGE_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 리더보드키|버전|점수|발행시각|사용자ID 중 리더보드 키만 쓴다
+        int separator = body.indexOf('|');
+        if (separator <= 0) {
+            log.warn("잘못된 리더보드 변경 메시지: {}", body);
+            return;
+        }
+        hotKeys.invalidate(body.substring(0, separator));
+    }
+}
@@ -0,0 +1,424 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 용량 테스트/벤치마크용 대량 리더보드 데이터를 만든다.
+ *
+ * 사용자마다 주당 러닝 횟수, 평균 거리, 페이스, km당 상승 고도를 로그정규/정규 분포로 뽑고,
+ * 현재 주를 포함한 지난 pastWeeks주(일간은 pastDays일) 동안 날마다 러닝 여부와 기록을 시뮬레이션한다.
+ * 기록은 {@link LeaderboardRegistry}의 모든 정의(지표 × 스코프)에 정의대로 집계되고, 전체 시즌 리더보드에는
+ * 최대 2년 치 과거 누적도 더한다. 같은 seed와 사용자 번호면 항상 같은 기록이 나온다.
+ *
+ * 사용자 구간을 나눠 여러 생산자가 동시에 만들고, 키별로 batchSize명씩 묶은 ZADD를 파이프라인으로 보낸다.
+ * 이미 있는 멤버는 덮어쓴다. 끝나면 주간/일간 키에 보관 기간 TTL을 걸고 리더보드 버전을 올린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardDataGenerator {
+
+    private static final int MEMBERS_PER_TASK = 10_000;
+    private static final int BATCHES_PER_FLUSH = 16;
+    private static final long PROGRESS_LOG_MS = 5_000;
+    private static final int HISTORY_WEEKS = 104;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final RedisBulkheads bulkheads;
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardRegistry registry;
+    private final LeaderboardService leaderboardService;
+
+    private final AtomicReference<Job> current = new AtomicReference<>();
+
+    /**
+     * 백그라운드에서 생성을 시작한다. 한 번에 하나만 실행된다.
+     *
+     * @return 시작 시점의 진행 상태
+     * @throws IllegalStateException 이미 생성이 진행 중인 경우
+     */
+    public Status start(Spec spec) {
+        Job previous = current.get();
+        Job job = new Job(spec);
+        if ((previous != null && previous.isRunning()) || !current.compareAndSet(previous, job)) {
+            throw new IllegalStateException("이미 데이터 생성이 진행 중입니다.");
+        }
+        Thread thread = new Thread(() -> run(job), "lb-datagen");
+        thread.setDaemon(true);
+        thread.start();
+        return job.status();
+    }
+
+    /**
+     * 진행 중이거나 마지막으로 실행한 생성의 상태
+     */
+    public Optional<Status> status() {
+        return Optional.ofNullable(current.get()).map(Job::status);
+    }
+
+    /**
+     * 호출 스레드에서 생성을 끝까지 실행한다 (CLI용).
+     */
+    public Status generate(Spec spec) {
+        Job job = new Job(spec);
+        run(job);
+        return job.status();
+    }
+
+    private void run(Job job) {
+        Spec spec = job.spec;
+        AtomicInteger threadSeq = new AtomicInteger();
+        ExecutorService producers = Executors.newFixedThreadPool(spec.producers(), r -> {
+            Thread thread = new Thread(r, "lb-datagen-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Plan plan = plan(spec, LocalDate.now());
+            job.keys = plan.retention.size();
+            log.info("리더보드 데이터 생성 시작 - 사용자: {}, 기간: {}일, 키: {}개, 생산자: {}",
+                    spec.members(), plan.days.length, plan.retention.size(), spec.producers());
+
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int from = 0; from < spec.members(); from += MEMBERS_PER_TASK) {
+                int start = from;
+                int end = Math.min(from + MEMBERS_PER_TASK, spec.members());
+                tasks.add(producers.submit(() -> produce(job, plan, start, end)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+
+            plan.retention.forEach((key, ttl) -> {
+                if (ttl != null) {
+                    bulkheads.admin().template().expire(key, ttl);
+                }
+                leaderboardService.markChanged(key);
+            });
+            job.finish(null);
+            log.info("리더보드 데이터 생성 완료 - {}", job.status());
+        } catch (ExecutionException e) {
+            job.finish(e.getCause());
+            log.warn("리더보드 데이터 생성 실패: {}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(e);
+        } catch (RuntimeException e) {
+            job.finish(e);
+            log.warn("리더보드 데이터 생성 실패: {}", e.getMessage(), e);
+        } catch (Error e) {
+            // 작업을 끝난 것으로 표시하지 않으면 isRunning()이 계속 true라 다음 생성 요청을 받지 못한다
+            job.finish(e);
+            log.warn("리더보드 데이터 생성 실패: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    /**
+     * 사용자 구간 [from, to)의 기록을 만들어 ZADD 한다.
+     */
+    private void produce(Job job, Plan plan, int from, int to) {
+        Spec spec = job.spec;
+        Map<String, List<Tuple>> buffer = new HashMap<>();
+        int buffered = 0;
+
+        for (int member = from; member < to; member++) {
+            byte[] memberId = (spec.memberPrefix() + member).getBytes(StandardCharsets.UTF_8);
+            for (Map.Entry<String, long[]> board : simulate(plan, spec.seed(), member).entrySet()) {
+                long units = Math.min(board.getValue()[0], ScoreCodec.MAX_UNITS);
+                if (units <= 0) {
+                    continue;
+                }
+                double score = ScoreCodec.encode(units, Instant.ofEpochSecond(board.getValue()[1]));
+                buffer.computeIfAbsent(board.getKey(), key -> new ArrayList<>()).add(new DefaultTuple(memberId, score));
+                buffered++;
+            }
+            if (buffered >= spec.batchSize() * BATCHES_PER_FLUSH) {
+                flush(buffer, spec.batchSize());
+                job.written.addAndGet(buffered);
+                buffer.clear();
+                buffered = 0;
+            }
+        }
+        if (buffered > 0) {
+            flush(buffer, spec.batchSize());
+            job.written.addAndGet(buffered);
+        }
+        job.membersDone.addAndGet(to - from);
+        job.logProgress();
+    }
+
+    /**
+     * 키별로 batchSize명씩 묶은 ZADD를 한 파이프라인으로 보낸다.
+     * admin 격벽의 전용 연결로 보내고, 동시에 보내는 파이프라인 수는 격벽 한도를 넘지 않는다 (넘는 생산자는 기다린다).
+     */
+    private void flush(Map<String, List<Tuple>> buffer, int batchSize) {
+        RedisBulkheads.Bulkhead admin = bulkheads.admin();
+        admin.callBlocking("generateData", () -> admin.template().executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, List<Tuple>> entry : buffer.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                List<Tuple> tuples = entry.getValue();
+                for (int i = 0; i < tuples.size(); i += batchSize) {
+                    connection.zSetCommands().zAdd(key,
+                            new LinkedHashSet<>(tuples.subList(i, Math.min(i + batchSize, tuples.size()))));
+                }
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * 사용자 한 명의 기간 내 러닝을 시뮬레이션해 리더보드 키별 {값(정수 단위), 마지막 갱신 시각(epoch 초)}를 만든다.
+     */
+    private Map<String, long[]> simulate(Plan plan, long seed, int member) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + member);
+        double runsPerWeek = clamp(logNormal(random, 2.5, 0.6), 0.2, 14);
+        double averageKm = clamp(logNormal(random, 6.0, 0.45), 1, 42);
+        double paceSecPerKm = clamp(330 + 60 * random.nextGaussian(), 180, 600);
+        double climbPerKm = clamp(logNormal(random, 8.0, 0.7), 0, 80);
+        double runProbability = Math.min(runsPerWeek / 7, 1);
+
+        Map<String, long[]> boards = new HashMap<>();
+        List<LeaderboardDefinition> definitions = plan.definitions;
+
+        // 전체 시즌: 기간 이전의 누적 (주당 기대값 × 0~2년)
+        int historyWeeks = random.nextInt(HISTORY_WEEKS + 1);
+        long windowStart = plan.days[0].atStartOfDay(ZONE).toEpochSecond();
+        for (int d = 0; d < definitions.size(); d++) {
+            LeaderboardDefinition definition = definitions.get(d);
+            Double perRun = value(definition, averageKm, averageKm * paceSecPerKm, averageKm * climbPerKm);
+            if (plan.allKeys[d] == null || perRun == null || historyWeeks == 0) {
+                continue;
+            }
+            long units = definition.aggregation() == LeaderboardDefinition.Aggregation.MAX
+                    ? definition.toUnits(perRun * 1.5)
+                    : definition.toUnits(perRun * runsPerWeek * historyWeeks);
+            boards.put(plan.allKeys[d], new long[]{units, windowStart});
+        }
+
+        long now = Instant.now().getEpochSecond();
+        for (int day = 0; day < plan.days.length; day++) {
+            if (random.nextDouble() >= runProbability) {
+                continue;
+            }
+            double km = Math.round(clamp(averageKm * logNormal(random, 1.0, 0.35), 0.5, 100) * 100) / 100.0;
+            double seconds = km * paceSecPerKm * logNormal(random, 1.0, 0.05);
+            double elevation = km * climbPerKm * logNormal(random, 1.0, 0.3);
+            long dayStart = plan.days[day].atStartOfDay(ZONE).toEpochSecond();
+            long at = Math.min(dayStart + random.nextLong(86_400), now);
+
+            for (int d = 0; d < definitions.size(); d++) {
+                LeaderboardDefinition definition = definitions.get(d);
+                Double value = value(definition, km, seconds, elevation);
+                if (value == null) {
+                    continue;
+                }
+                long units = definition.toUnits(value);
+                accumulate(boards, plan.allKeys[d], definition, units, at);
+                accumulate(boards, plan.weeklyKeys[d][day], definition, units, at);
+                accumulate(boards, plan.dailyKeys[d][day], definition, units, at);
+            }
+        }
+        return boards;
+    }
+
+    private static void accumulate(Map<String, long[]> boards, String key, LeaderboardDefinition definition,
+                                   long units, long at) {
+        if (key == null) {
+            return;
+        }
+        long[] board = boards.computeIfAbsent(key, k -> new long[2]);
+        if (definition.aggregation() == LeaderboardDefinition.Aggregation.MAX) {
+            if (units > board[0]) {
+                board[0] = units;
+                board[1] = at;
+            }
+        } else {
+            board[0] += units;
+            board[1] = Math.max(board[1], at);
+        }
+    }
+
+    /**
+     * 러닝 한 번의 값 중 정의의 입력 항목 값 (COUNT는 1, 모르는 항목이면 null)
+     */
+    private static Double value(LeaderboardDefinition definition, double km, double seconds, double elevation) {
+        if (definition.aggregation() == LeaderboardDefinition.Aggregation.COUNT) {
+            return 1.0 / definition.unitsPerValue();
+        }
+        return switch (definition.source()) {
+            case "distance" -> km;
+            case "movingTime" -> seconds;
+            case "elevationGain" -> elevation;
+            default -> null;
+        };
+    }
+
+    /**
+     * 정의별로 날짜마다 기록할 키를 미리 계산한다.
+     * 주간은 현재 주를 포함한 pastWeeks주, 일간은 오늘을 포함한 pastDays일이 대상이다.
+     */
+    private Plan plan(Spec spec, LocalDate today) {
+        LocalDate weeklyFrom = today.minusWeeks(spec.pastWeeks()).with(DayOfWeek.MONDAY);
+        LocalDate dailyFrom = today.minusDays(spec.pastDays());
+        LocalDate from = weeklyFrom.isBefore(dailyFrom) ? weeklyFrom : dailyFrom;
+        LocalDate[] days = from.datesUntil(today.plusDays(1)).toArray(LocalDate[]::new);
+
+        List<LeaderboardDefinition> definitions = List.copyOf(registry.all());
+        String[] allKeys = new String[definitions.size()];
+        String[][] weeklyKeys = new String[definitions.size()][days.length];
+        String[][] dailyKeys = new String[definitions.size()][days.length];
+        Map<String, Duration> retention = new LinkedHashMap<>();
+
+        for (int d = 0; d < definitions.size(); d++) {
+            LeaderboardDefinition definition = definitions.get(d);
+            if (definition.scopes().contains("all")) {
+                allKeys[d] = keyFactory.boardKeyName(definition.metric(), "all", today);
+                retention.put(allKeys[d], null);
+            }
+            for (int day = 0; day < days.length; day++) {
+                if (definition.scopes().contains("weekly") && !days[day].isBefore(weeklyFrom)) {
+                    weeklyKeys[d][day] = keyFactory.boardKeyName(definition.metric(), "weekly", days[day]);
+                    retention.put(weeklyKeys[d][day], definition.retention("weekly"));
+                }
+                if (definition.scopes().contains("daily") && !days[day].isBefore(dailyFrom)) {
+                    dailyKeys[d][day] = keyFactory.boardKeyName(definition.metric(), "daily", days[day]);
+                    retention.put(dailyKeys[d][day], definition.retention("daily"));
+                }
+            }
+        }
+        return new Plan(definitions, days, allKeys, weeklyKeys, dailyKeys, retention);
+    }
+
+    /**
+     * 중앙값이 median인 로그정규 분포
+     */
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * 생성 조건
+     *
+     * @param members 생성할 사용자 수
+     * @param pastWeeks 현재 주 외에 만들 지난 주 수
+     * @param pastDays 오늘 외에 만들 지난 날 수
+     * @param memberPrefix 사용자 ID 접두사 (예: gen- → gen-0, gen-1, ...)
+     * @param producers 동시에 만드는 생산자 스레드 수
+     * @param batchSize ZADD 한 번에 넣는 멤버 수
+     * @param seed 난수 시드
+     */
+    public record Spec(int members, int pastWeeks, int pastDays, String memberPrefix,
+                       int producers, int batchSize, long seed) {
+
+        public Spec {
+            if (members <= 0 || members > 50_000_000) {
+                throw new IllegalArgumentException("사용자 수는 1~50,000,000 사이여야 합니다.");
+            }
+            if (pastWeeks < 0 || pastWeeks > 52 || pastDays < 0 || pastDays > 60) {
+                throw new IllegalArgumentException("지난 기간은 0~52주, 0~60일 사이여야 합니다.");
+            }
+            if (producers <= 0 || producers > 64 || batchSize <= 0 || batchSize > 10_000) {
+                throw new IllegalArgumentException("생산자는 1~64, 배치 크기는 1~10,000 사이여야 합니다.");
+            }
+            if (memberPrefix == null || memberPrefix.isBlank()) {
+                throw new IllegalArgumentException("사용자 ID 접두사가 필요합니다.");
+            }
+        }
+    }
+
+    /**
+     * 생성 진행 상태
+     *
+     * @param running 진행 중 여부
+     * @param members 생성할 사용자 수
+     * @param membersDone 기록을 마친 사용자 수
+     * @param membersWritten ZADD로 기록한 (키, 사용자) 쌍의 수
+     * @param keys 대상 리더보드 키 수
+     * @param elapsedMs 경과 시간(밀리초)
+     * @param error 실패한 경우 오류 메시지
+     */
+    public record Status(boolean running, int members, long membersDone, long membersWritten,
+                         int keys, long elapsedMs, String error) {
+    }
+
+    private record Plan(List<LeaderboardDefinition> definitions, LocalDate[] days, String[] allKeys,
+                        String[][] weeklyKeys, String[][] dailyKeys, Map<String, Duration> retention) {
+    }
+
+    private static final class Job {
+
+        private final Spec spec;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicLong membersDone = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong lastLoggedAt = new AtomicLong(startedAt);
+        private volatile int keys;
+        private volatile long finishedAt;
+        private volatile String error;
+
+        private Job(Spec spec) {
+            this.spec = spec;
+        }
+
+        boolean isRunning() {
+            return finishedAt == 0;
+        }
+
+        void finish(Throwable failure) {
+            error = failure != null ? String.valueOf(failure.getMessage()) : null;
+            finishedAt = System.currentTimeMillis();
+        }
+
+        void logProgress() {
+            long now = System.currentTimeMillis();
+            long last = lastLoggedAt.get();
+            if (now - last >= PROGRESS_LOG_MS && lastLoggedAt.compareAndSet(last, now)) {
+                long done = membersDone.get();
+                log.info("리더보드 데이터 생성 중 - {}/{}명 ({}%), ZADD 멤버 {}, {}명/초",
+                        done, spec.members(), done * 100 / spec.members(), written.get(),
+                        done * 1000 / Math.max(now - startedAt, 1));
+            }
+        }
+
+        Status status() {
+            long end = isRunning() ? System.currentTimeMillis() : finishedAt;
+            return new Status(isRunning(), spec.members(), membersDone.get(), written.get(),
+                    keys, end - startedAt, error);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 리더보드 정의. 어떤 지표를 어떤 스코프로, 어떻게 집계해 얼마나 보관할지를 나타낸다.
+ *
+ * @param metric 지표 이름 (키의 두 번째 구간, 예: lb:runs:weekly:2025-37)
+ * @param source 이벤트에서 값을 읽을 항목 이름 (COUNT 집계는 사용하지 않음)
+ * @param aggregation 집계 방식
+ * @param unitsPerValue 값 1당 점수 정수 단위 수 (거리 km → 미터는 1000)
+ * @param unit 표시 단위
+ * @param scopes 기록할 스코프 (all, weekly, daily)
+ * @param weeklyRetention 주간 리더보드 보관 기간
+ * @param dailyRetention 일간 리더보드 보관 기간
+ */
+public record LeaderboardDefinition(
+        String metric,
+        String source,
+        Aggregation aggregation,
+        double unitsPerValue,
+        String unit,
+        List<String> scopes,
+        Duration weeklyRetention,
+        Duration dailyRetention
+) {
+
+    public enum Aggregation {
+        /** 값을 누적한다 */
+        SUM,
+        /** 가장 큰 값만 남긴다 */
+        MAX,
+        /** 이벤트마다 1씩 센다 */
+        COUNT
+    }
+
+    public long toUnits(double value) {
+        return Math.round(value * unitsPerValue);
+    }
+
+    public double toValue(long units) {
+        return units / unitsPerValue;
+    }
+
+    /**
+     * 스코프별 리더보드 키의 TTL. 전체 시즌 리더보드는 만료되지 않는다.
+     */
+    public Duration retention(String scope) {
+        return switch (scope.toLowerCase()) {
+            case "weekly" -> weeklyRetention;
+            case "daily" -> dailyRetention;
+            default -> null;
+        };
+    }
+}
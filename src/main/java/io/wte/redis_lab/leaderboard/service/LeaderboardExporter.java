@@ -0,0 +1,361 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.ReplicaReadRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 리더보드 전체를 NDJSON/CSV로 응답에 스트리밍한다.
+ *
+ * 순위 순 내보내기는 ZREVRANGE를 인덱스 페이지(leaderboard.export.page-size) 단위로, 순서 없는 내보내기는 ZSCAN으로 읽는다.
+ * 한 페이지를 응답에 다 쓴 뒤에야 다음 페이지를 읽으므로 클라이언트가 느리면 Redis 조회도 그만큼 느려지고,
+ * 힙에는 페이지 하나와 출력 버퍼만 남는다 (멤버 수와 관계없이 일정).
+ *
+ * 진행 중인 리더보드는 페이지 사이에 순위가 바뀔 수 있어 순위 순 내보내기에 중복/누락이 생길 수 있고,
+ * ZSCAN은 같은 멤버를 두 번 돌려줄 수 있다. 정확한 명단은 마감된 기간(보관 스냅샷)에서 내보낸다.
+ * 동시에 실행하는 내보내기 수는 leaderboard.export.max-concurrent로 제한한다.
+ * replica가 없으면 primary의 admin 격벽 전용 연결로 읽어, 큰 페이지 응답이 대화형 조회 연결 앞에 줄서지 않게 한다.
+ */
+@Slf4j
+@Service
+public class LeaderboardExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardRegistry registry;
+    private final ReplicaReadRouter readRouter;
+    private final RedisCircuitBreaker breaker;
+    private final RedisBulkheads.Bulkhead admin;
+    private final JsonFactory jsonFactory;
+    private final Semaphore permits;
+    private final int pageSize;
+    private final Map<Format, Counter> exportedRows = new EnumMap<>(Format.class);
+
+    public LeaderboardExporter(LeaderboardService leaderboardService,
+                               LeaderboardKeyFactory keyFactory,
+                               LeaderboardRegistry registry,
+                               ReplicaReadRouter readRouter,
+                               RedisCircuitBreaker breaker,
+                               RedisBulkheads bulkheads,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${leaderboard.export.page-size:1000}") int pageSize,
+                               @Value("${leaderboard.export.max-concurrent:2}") int maxConcurrent) {
+        this.leaderboardService = leaderboardService;
+        this.keyFactory = keyFactory;
+        this.registry = registry;
+        this.readRouter = readRouter;
+        this.breaker = breaker;
+        this.admin = bulkheads.admin();
+        this.jsonFactory = objectMapper.getFactory();
+        this.permits = new Semaphore(maxConcurrent);
+        this.pageSize = pageSize;
+        for (Format format : Format.values()) {
+            exportedRows.put(format, Counter.builder("leaderboard.export.rows")
+                    .description("내보낸 리더보드 행 수")
+                    .tag("format", format.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 내보내기를 시작한다. 동시 실행 한도에 걸리면 빈 값을 반환한다.
+     * 반환된 본문은 한 번만 실행해야 하며, 실행이 끝나면(실패 포함) 슬롯을 돌려준다.
+     *
+     * @param key 리더보드 키
+     * @param format 출력 형식
+     * @param unordered true면 ZSCAN으로 순서 없이 내보낸다 (순위 없음)
+     * @param gzip true면 gzip으로 압축한다
+     * @return 응답 본문 (동시 실행 한도 초과 시 빈 값)
+     */
+    public Optional<StreamingResponseBody> start(String key, Format format, boolean unordered, boolean gzip) {
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        return Optional.of(out -> {
+            try {
+                export(key, format, unordered, gzip, out);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 리더보드를 출력 스트림에 쓴다. 스트림은 닫지 않는다.
+     *
+     * @return 쓴 행 수
+     * @throws IOException 클라이언트 연결이 끊긴 경우 등
+     * @throws io.wte.redis_lab.common.redis.RedisUnavailableException 도중에 Redis를 쓸 수 없게 된 경우 (응답이 잘린다)
+     */
+    long export(String key, Format format, boolean unordered, boolean gzip, OutputStream out) throws IOException {
+        LeaderboardDefinition definition = keyFactory.metricOf(key)
+                .flatMap(registry::find)
+                .orElse(registry.distance());
+        long startedAt = System.nanoTime();
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(jsonFactory, writer);
+
+        Optional<LocalLeaderboard> local = leaderboardService.findLocal(key);
+        long written;
+        if (local.isPresent()) {
+            // 보관 스냅샷/복제본은 이미 순위 순이다
+            written = writeLocal(local.get(), definition, rows);
+        } else if (unordered) {
+            written = writeScanned(key, definition, rows);
+        } else {
+            written = writeRanked(key, definition, rows);
+        }
+
+        rows.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+
+        log.info("리더보드 내보내기 완료 - 키: {}, 형식: {}, 행: {}, 소요: {}ms",
+                key, format, written, (System.nanoTime() - startedAt) / 1_000_000);
+        return written;
+    }
+
+    private long writeRanked(String key, LeaderboardDefinition definition, RowWriter rows) throws IOException {
+        Counter counter = exportedRows.get(rows.format());
+        long written = 0;
+        for (long start = 0; ; start += pageSize) {
+            long from = start;
+            long to = start + pageSize - 1;
+            Set<ZSetOperations.TypedTuple<String>> page = admin.callBlocking("exportRange", () ->
+                    breaker.read("exportRange", () -> source().opsForZSet().reverseRangeWithScores(key, from, to)));
+            if (page == null || page.isEmpty()) {
+                return written;
+            }
+            for (ZSetOperations.TypedTuple<String> tuple : page) {
+                rows.write(written++, tuple.getValue(), toValue(definition, tuple.getScore()));
+            }
+            counter.increment(page.size());
+            if (page.size() < pageSize) {
+                return written;
+            }
+        }
+    }
+
+    private long writeScanned(String key, LeaderboardDefinition definition, RowWriter rows) throws IOException {
+        Counter counter = exportedRows.get(rows.format());
+        ScanOptions options = ScanOptions.scanOptions().count(pageSize).build();
+        long written = 0;
+        try (Cursor<ZSetOperations.TypedTuple<String>> cursor = breaker.read("exportScan", () ->
+                source().opsForZSet().scan(key, options))) {
+            while (true) {
+                // 커서는 비었을 때만 다음 ZSCAN을 보내므로 한 페이지 읽기가 Redis 왕복 한 번 정도다
+                List<ZSetOperations.TypedTuple<String>> page = admin.callBlocking("exportScan", () ->
+                        breaker.read("exportScan", () -> nextPage(cursor)));
+                for (ZSetOperations.TypedTuple<String> tuple : page) {
+                    rows.write(-1, tuple.getValue(), toValue(definition, tuple.getScore()));
+                }
+                written += page.size();
+                counter.increment(page.size());
+                if (page.size() < pageSize) {
+                    return written;
+                }
+            }
+        }
+    }
+
+    /**
+     * replica 조회를 쓰면 허용 지연을 만족하는 조회 템플릿, 아니면 admin 격벽 연결
+     */
+    private StringRedisTemplate source() {
+        return readRouter.isEnabled() ? readRouter.reads() : admin.template();
+    }
+
+    private long writeLocal(LocalLeaderboard local, LeaderboardDefinition definition, RowWriter rows) throws IOException {
+        Counter counter = exportedRows.get(rows.format());
+        long written = 0;
+        for (long start = 0; start < local.size(); start += pageSize) {
+            List<LeaderboardService.ScoredValue> page = local.range(start, start + pageSize - 1);
+            for (LeaderboardService.ScoredValue entry : page) {
+                rows.write(written++, entry.userId(), toValue(definition, entry.score()));
+            }
+            counter.increment(page.size());
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        return written;
+    }
+
+    private List<ZSetOperations.TypedTuple<String>> nextPage(Cursor<ZSetOperations.TypedTuple<String>> cursor) {
+        List<ZSetOperations.TypedTuple<String>> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && cursor.hasNext()) {
+            page.add(cursor.next());
+        }
+        return page;
+    }
+
+    private static double toValue(LeaderboardDefinition definition, Double score) {
+        return definition.toValue(ScoreCodec.units(score != null ? score : 0.0));
+    }
+
+    /**
+     * 출력 형식
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException 지원하지 않는 형식인 경우
+         */
+        public static Format of(String name) {
+            return switch (name.toLowerCase()) {
+                case "ndjson", "jsonl" -> NDJSON;
+                case "csv" -> CSV;
+                default -> throw new IllegalArgumentException("지원하지 않는 형식: " + name);
+            };
+        }
+    }
+
+    private interface RowWriter {
+        Format format();
+
+        /**
+         * @param rank 순위 (0부터, 순서 없는 내보내기는 -1)
+         */
+        void write(long rank, String userId, double value) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * {"rank":0,"userId":"u1","score":12.5} 한 줄에 하나. 순서 없는 내보내기는 rank를 생략한다.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(JsonFactory jsonFactory, Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = jsonFactory.createGenerator(writer);
+            // 응답 스트림은 서블릿 컨테이너가 닫는다
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public Format format() {
+            return Format.NDJSON;
+        }
+
+        @Override
+        public void write(long rank, String userId, double value) throws IOException {
+            generator.writeStartObject();
+            if (rank >= 0) {
+                generator.writeNumberField("rank", rank);
+            }
+            generator.writeStringField("userId", userId);
+            generator.writeNumberField("score", value);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+            writer.flush();
+        }
+    }
+
+    /**
+     * rank,userId,score 헤더 뒤에 한 줄에 하나 (RFC 4180). 순서 없는 내보내기는 rank 칸을 비운다.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("rank,userId,score\r\n");
+        }
+
+        @Override
+        public Format format() {
+            return Format.CSV;
+        }
+
+        @Override
+        public void write(long rank, String userId, double value) throws IOException {
+            if (rank >= 0) {
+                writer.write(Long.toString(rank));
+            }
+            writer.write(',');
+            writeField(userId);
+            writer.write(',');
+            writer.write(Double.toString(value));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package io.wte.redis_lab.leaderboard.service;
 
+import io.wte.redis_lab.common.redis.RedisUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -16,17 +20,28 @@ public class LeaderboardKeyFactory {
 
     private final StringRedisTemplate redisTemplate;
 
-    private static final String LB_PREFIX = "lb:distance:";
+    private static final String LB_ROOT = "lb:";
     private static final String DEDUP_PREFIX = "lb:dedup:";
+    private static final String VERSIONS_KEY = "lb:versions";
+    private static final String SEASON_KEY = "lb:season";
+
+    /**
+     * 현재 시즌 번호 (lb:season 포인터의 로컬 캐시, 아직 읽지 않았으면 -1).
+     * 시즌 전환은 포인터 한 번의 SET으로 끝나고 각 노드는 leaderboard.season.refresh-ms마다 다시 읽는다.
+     */
+    private volatile long season = -1;
+
+    public static final Duration WEEKLY_TTL = Duration.ofDays(26 * 7);
+    public static final Duration DAILY_TTL = Duration.ofDays(35);
 
     /**
      * 전체 시즌 리더보드 키를 반환한다.
-     * 시즌이 끝날 때까지 계속 누적되는 전역 리더보드이다.
+     * 시즌이 끝날 때까지 계속 누적되는 전역 리더보드이며, 키는 현재 시즌 번호를 따른다.
      *
      * @return 전체 시즌 키
      */
     public String getAllTimeKey() {
-        return LB_PREFIX + "all";
+        return boardKeyName(LeaderboardRegistry.DISTANCE, "all", null);
     }
 
     /**
@@ -39,18 +54,24 @@ public class LeaderboardKeyFactory {
      * @return 주간 리더보드 키
      */
     public String getWeeklyKey(LocalDate date) {
-        WeekFields weekFields = WeekFields.ISO; // ISO 8601 표준 (월요일 시작)
-        int weekOfYear = date.get(weekFields.weekOfWeekBasedYear());
-        int weekBasedYear = date.get(weekFields.weekBasedYear());
-
-        String key = String.format("%sweekly:%d-%02d", LB_PREFIX, weekBasedYear, weekOfYear);
+        String key = weeklyKeyName(date);
 
         // 첫 사용 시 자동으로 TTL 설정 (26주 보관)
-        ensureTTL(key, Duration.ofDays(26 * 7));
+        ensureTTL(key, WEEKLY_TTL);
 
         return key;
     }
 
+    /**
+     * 주간 리더보드 키 이름만 계산한다. Redis를 호출하지 않으며 TTL은 호출자가 관리한다.
+     *
+     * @param date 기준 날짜
+     * @return 주간 리더보드 키
+     */
+    public String weeklyKeyName(LocalDate date) {
+        return boardKeyName(LeaderboardRegistry.DISTANCE, "weekly", date);
+    }
+
     /**
      * 일간 리더보드 키를 생성한다.
      * 매일 새로운 키가 생성되며 자동으로 TTL이 설정된다.
@@ -61,14 +82,127 @@ public class LeaderboardKeyFactory {
      * @return 일간 리더보드 키
      */
     public String getDailyKey(LocalDate date) {
-        String key = LB_PREFIX + "daily:" + date.toString();
+        String key = dailyKeyName(date);
 
         // 첫 사용 시 자동으로 TTL 설정 (35일 보관)
-        ensureTTL(key, Duration.ofDays(35));
+        ensureTTL(key, DAILY_TTL);
 
         return key;
     }
 
+    /**
+     * 일간 리더보드 키 이름만 계산한다. Redis를 호출하지 않으며 TTL은 호출자가 관리한다.
+     *
+     * @param date 기준 날짜
+     * @return 일간 리더보드 키
+     */
+    public String dailyKeyName(LocalDate date) {
+        return boardKeyName(LeaderboardRegistry.DISTANCE, "daily", date);
+    }
+
+    /**
+     * 지표와 스코프에 해당하는 리더보드 키 이름을 계산한다. Redis를 호출하지 않는다.
+     *
+     * 예시: lb:runs:weekly:2025-37, lb:elevation:all, lb:elevation:all:s3 (3번째 시즌)
+     *
+     * @param metric 지표 이름 (예: distance, runs)
+     * @param scope 리더보드 범위 (all, weekly, daily)
+     * @param date 기준 날짜
+     * @return 리더보드 키
+     */
+    public String boardKeyName(String metric, String scope, LocalDate date) {
+        String prefix = LB_ROOT + metric + ":";
+        return switch (scope.toLowerCase()) {
+            case "all" -> seasonKeyName(metric, currentSeason());
+            case "weekly" -> {
+                WeekFields weekFields = WeekFields.ISO; // ISO 8601 표준 (월요일 시작)
+                yield String.format("%sweekly:%d-%02d", prefix,
+                        date.get(weekFields.weekBasedYear()), date.get(weekFields.weekOfWeekBasedYear()));
+            }
+            case "daily" -> prefix + "daily:" + date;
+            default -> throw new IllegalArgumentException("유효하지 않은 스코프: " + scope);
+        };
+    }
+
+    /**
+     * 시즌 번호에 해당하는 전체 시즌 리더보드 키 이름을 계산한다. Redis를 호출하지 않는다.
+     * 0번 시즌은 시즌 도입 전의 키(lb:{metric}:all)를 그대로 쓴다.
+     *
+     * @param metric 지표 이름
+     * @param season 시즌 번호
+     * @return 리더보드 키
+     */
+    public String seasonKeyName(String metric, long season) {
+        String key = LB_ROOT + metric + ":all";
+        return season > 0 ? key + ":s" + season : key;
+    }
+
+    /**
+     * 현재 시즌 번호를 반환한다. 처음 호출될 때만 Redis에서 읽고 이후에는 로컬 캐시를 쓴다.
+     *
+     * @return 현재 시즌 번호 (포인터가 없으면 0)
+     * @throws RedisUnavailableException 아직 한 번도 읽지 못했는데 Redis를 쓸 수 없는 경우
+     */
+    public long currentSeason() {
+        long current = season;
+        if (current < 0) {
+            current = refreshSeason();
+            if (current < 0) {
+                // 모르는 채로 0번 시즌 키에 쓰면 지난 시즌에 기록되므로 실패로 처리한다
+                throw new RedisUnavailableException("현재 시즌을 확인할 수 없습니다");
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 시즌 포인터를 다시 읽어 로컬 캐시를 갱신한다.
+     *
+     * @return 현재 시즌 번호 (읽지 못했으면 기존 캐시 값)
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.season.refresh-ms:1000}")
+    public long refreshSeason() {
+        try {
+            String value = redisTemplate.opsForValue().get(SEASON_KEY);
+            long loaded = value != null ? Long.parseLong(value) : 0L;
+            if (loaded != season) {
+                log.info("리더보드 시즌 포인터 갱신 - {} → {}", season, loaded);
+                season = loaded;
+            }
+        } catch (Exception e) {
+            log.warn("리더보드 시즌 포인터 조회 실패 - 캐시 유지: {}, 오류: {}", season, e.getMessage());
+        }
+        return season;
+    }
+
+    /**
+     * 이 노드에서 시즌을 전환한 직후 다음 갱신 주기를 기다리지 않고 캐시를 바꾼다.
+     */
+    void useSeason(long newSeason) {
+        season = newSeason;
+    }
+
+    /**
+     * 시즌 포인터 키를 반환한다. 값은 현재 시즌 번호이다.
+     */
+    public String getSeasonKey() {
+        return SEASON_KEY;
+    }
+
+    /**
+     * 리더보드 키에서 지표 이름을 꺼낸다 (lb:{metric}:...).
+     *
+     * @param key 리더보드 키
+     * @return 지표 이름 (리더보드 키 형식이 아니면 empty)
+     */
+    public Optional<String> metricOf(String key) {
+        if (!key.startsWith(LB_ROOT)) {
+            return Optional.empty();
+        }
+        int end = key.indexOf(':', LB_ROOT.length());
+        return end > 0 ? Optional.of(key.substring(LB_ROOT.length(), end)) : Optional.empty();
+    }
+
     /**
      * 중복 방지용 키를 생성한다.
      * 동일한 이벤트가 여러 번 처리되는 것을 방지하기 위해 사용된다.
@@ -80,6 +214,59 @@ public class LeaderboardKeyFactory {
         return DEDUP_PREFIX + eventId;
     }
 
+    /**
+     * 모든 지표의 주간 리더보드 키를 찾기 위한 SCAN 패턴을 반환한다.
+     */
+    public String weeklyKeyPattern() {
+        return LB_ROOT + "*:weekly:*";
+    }
+
+    /**
+     * 모든 지표의 일간 리더보드 키를 찾기 위한 SCAN 패턴을 반환한다.
+     */
+    public String dailyKeyPattern() {
+        return LB_ROOT + "*:daily:*";
+    }
+
+    /**
+     * 기간 리더보드 키가 가리키는 기간의 마지막 날짜를 계산한다.
+     * 주간 키는 해당 ISO 주의 일요일, 일간 키는 해당 날짜이다.
+     *
+     * @param key 리더보드 키
+     * @return 기간 마지막 날짜 (전체 시즌 키이거나 형식이 다르면 empty)
+     */
+    public Optional<LocalDate> periodEnd(String key) {
+        Optional<String> metric = metricOf(key);
+        if (metric.isEmpty()) {
+            return Optional.empty();
+        }
+        String prefix = LB_ROOT + metric.get() + ":";
+        try {
+            if (key.startsWith(prefix + "daily:")) {
+                return Optional.of(LocalDate.parse(key.substring((prefix + "daily:").length())));
+            }
+            if (key.startsWith(prefix + "weekly:")) {
+                String[] yearWeek = key.substring((prefix + "weekly:").length()).split("-");
+                LocalDate inWeek = LocalDate.of(Integer.parseInt(yearWeek[0]), 1, 4)
+                        .with(WeekFields.ISO.weekOfWeekBasedYear(), Integer.parseInt(yearWeek[1]));
+                return Optional.of(inWeek.with(DayOfWeek.SUNDAY));
+            }
+        } catch (RuntimeException e) {
+            log.debug("기간 키 파싱 실패 - 키: {}", key);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 리더보드별 버전 카운터를 담는 해시 키를 반환한다.
+     * 필드는 리더보드 키, 값은 해당 리더보드가 변경될 때마다 1씩 증가하는 버전이다.
+     *
+     * @return 버전 해시 키
+     */
+    public String getVersionsKey() {
+        return VERSIONS_KEY;
+    }
+
     /**
      * 키에 TTL이 설정되지 않은 경우에만 TTL을 설정한다.
      * 이미 TTL이 있거나 키가 없는 경우에는 아무 작업하지 않는다.
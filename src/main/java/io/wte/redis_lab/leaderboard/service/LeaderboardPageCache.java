@@ -0,0 +1,196 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.wte.redis_lab.leaderboard.dto.LeaderboardEntry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 리더보드 페이지(/leaderboard/view)의 렌더링 결과 캐시.
+ *
+ * (scope, limit)별로 렌더링된 HTML과 ETag를 보관하고, 리더보드 버전이 바뀌었을 때만 다시 만든다.
+ * 버전은 쓰기 스크립트가 lb:versions 해시에 올리며, 이 캐시는 캐시된 리더보드들의 버전을
+ * 주기적으로 HMGET 한 번으로 확인한다. 따라서 캐시 적중 시에는 Redis 호출도 템플릿 렌더링도 없다.
+ */
+@Slf4j
+@Component
+public class LeaderboardPageCache {
+
+    private static final String TEMPLATE = "leaderboard/index";
+
+    private final LeaderboardService leaderboardService;
+    private final ITemplateEngine templateEngine;
+    private final Counter hits;
+    private final Counter misses;
+
+    /** 재배포 시 템플릿이 바뀌어도 이전 ETag와 겹치지 않도록 붙이는 식별자 */
+    private final String buildId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<PageKey, CachedPage> pages = new ConcurrentHashMap<>();
+    private final Map<PageKey, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Map<String, Long> knownVersions = new ConcurrentHashMap<>();
+    private volatile JakartaServletWebApplication webApplication;
+
+    public LeaderboardPageCache(LeaderboardService leaderboardService,
+                                ITemplateEngine templateEngine,
+                                MeterRegistry meterRegistry) {
+        this.leaderboardService = leaderboardService;
+        this.templateEngine = templateEngine;
+        this.hits = Counter.builder("leaderboard.page.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("leaderboard.page.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 페이지를 반환한다. 리더보드 버전이 바뀌었거나 캐시가 없으면 다시 렌더링한다.
+     * 같은 페이지에 대한 동시 재생성은 하나로 합쳐진다.
+     *
+     * @param scope 리더보드 범위
+     * @param boardKey 리더보드 키
+     * @param limit 표시할 인원 수
+     * @return 렌더링된 페이지
+     */
+    public CachedPage getPage(String scope, String boardKey, int limit,
+                              HttpServletRequest request, HttpServletResponse response) {
+        PageKey pageKey = new PageKey(scope, limit);
+        CachedPage page = pages.get(pageKey);
+        if (isFresh(page, boardKey)) {
+            hits.increment();
+            return page;
+        }
+
+        ReentrantLock lock = locks.computeIfAbsent(pageKey, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            page = pages.get(pageKey);
+            if (isFresh(page, boardKey)) {
+                hits.increment();
+                return page;
+            }
+
+            misses.increment();
+            page = render(scope, boardKey, limit, request, response);
+            pages.put(pageKey, page);
+            return page;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Redis 장애 등으로 데이터를 읽지 못했을 때 보여줄 빈 페이지를 렌더링한다. 캐시하지 않는다.
+     */
+    public byte[] renderEmpty(String scope, HttpServletRequest request, HttpServletResponse response) {
+        return renderHtml(scope, List.of(), 0L, request, response);
+    }
+
+    /**
+     * 캐시된 리더보드들의 버전을 한 번에 조회해 로컬 버전 정보를 갱신한다.
+     * 버전이 바뀐 페이지는 다음 요청 때 다시 렌더링된다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.page-cache.version-poll-ms:1000}")
+    public void refreshVersions() {
+        Set<String> boardKeys = pages.values().stream()
+                .map(CachedPage::boardKey)
+                .collect(Collectors.toSet());
+        knownVersions.keySet().retainAll(boardKeys);
+        if (boardKeys.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> keys = new ArrayList<>(boardKeys);
+            List<Long> versions = leaderboardService.getVersions(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                knownVersions.merge(keys.get(i), versions.get(i), Math::max);
+            }
+        } catch (Exception e) {
+            // 버전을 확인하지 못하면 기존 페이지를 계속 제공한다
+            log.warn("리더보드 버전 조회 실패 - 오류: {}", e.getMessage());
+        }
+    }
+
+    private boolean isFresh(CachedPage page, String boardKey) {
+        if (page == null || !page.boardKey().equals(boardKey)) {
+            return false;
+        }
+        Long known = knownVersions.get(boardKey);
+        return known != null && known == page.version();
+    }
+
+    private CachedPage render(String scope, String boardKey, int limit,
+                              HttpServletRequest request, HttpServletResponse response) {
+        // 데이터보다 버전을 먼저 읽어야, 그 사이의 쓰기가 다음 버전 확인에서 반드시 감지된다
+        long version = leaderboardService.getVersions(List.of(boardKey)).get(0);
+        knownVersions.merge(boardKey, version, Math::max);
+
+        // 버전은 primary에서 읽었으므로 데이터도 primary에서 읽는다 (replica나 캐시의 이전 상태를 새 버전으로 캐시하지 않도록)
+        LeaderboardService.TopPage topPage = leaderboardService.getTopPageFromPrimary(boardKey, limit);
+        List<LeaderboardService.ScoredValue> scoredValues = topPage.entries();
+        long totalUsers = topPage.totalMembers();
+
+        // 순위를 포함하여 응답 생성
+        AtomicLong rankCounter = new AtomicLong(1); // UI에서는 1부터 시작
+        List<LeaderboardEntry> entries = scoredValues.stream()
+                .map(sv -> new LeaderboardEntry(
+                        rankCounter.getAndIncrement(),
+                        sv.userId(),
+                        sv.score()))
+                .toList();
+
+        byte[] html = renderHtml(scope, entries, totalUsers, request, response);
+        String etag = "\"" + buildId + "-" + Integer.toHexString(boardKey.hashCode()) + "-" + limit + "-" + version + "\"";
+
+        log.debug("리더보드 페이지 렌더링 - 스코프: {}, 엔트리 수: {}, 총 사용자: {}, 버전: {}",
+                scope, entries.size(), totalUsers, version);
+        return new CachedPage(boardKey, version, etag, html);
+    }
+
+    private byte[] renderHtml(String scope, List<LeaderboardEntry> entries, long totalUsers,
+                              HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(webApplication(request).buildExchange(request, response), request.getLocale());
+        context.setVariable("entries", entries);
+        context.setVariable("currentScope", scope);
+        context.setVariable("totalUsers", totalUsers);
+        return templateEngine.process(TEMPLATE, context).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JakartaServletWebApplication webApplication(HttpServletRequest request) {
+        JakartaServletWebApplication application = webApplication;
+        if (application == null) {
+            application = JakartaServletWebApplication.buildApplication(request.getServletContext());
+            webApplication = application;
+        }
+        return application;
+    }
+
+    private record PageKey(String scope, int limit) {
+    }
+
+    /**
+     * 렌더링된 페이지
+     *
+     * @param boardKey 렌더링에 사용한 리더보드 키
+     * @param version 렌더링 시점의 리더보드 버전
+     * @param etag 페이지 ETag
+     * @param html UTF-8 HTML
+     */
+    public record CachedPage(String boardKey, long version, String etag, byte[] html) {
+    }
+}
@@ -0,0 +1,62 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.wte.redis_lab.leaderboard.service.LeaderboardDefinition.Aggregation.COUNT;
+import static io.wte.redis_lab.leaderboard.service.LeaderboardDefinition.Aggregation.MAX;
+import static io.wte.redis_lab.leaderboard.service.LeaderboardDefinition.Aggregation.SUM;
+
+/**
+ * 리더보드 정의 목록.
+ * 이벤트 하나가 어떤 리더보드들을 갱신하는지, 리더보드 점수를 어떤 단위로 읽는지를 여기서 결정한다.
+ */
+@Component
+public class LeaderboardRegistry {
+
+    public static final String DISTANCE = "distance";
+
+    private final Map<String, LeaderboardDefinition> definitions = new LinkedHashMap<>();
+
+    public LeaderboardRegistry() {
+        List<String> allScopes = List.of("all", "weekly", "daily");
+        List<String> seasonAndWeek = List.of("all", "weekly");
+
+        register(new LeaderboardDefinition(DISTANCE, "distance", SUM, 1000, "km",
+                allScopes, LeaderboardKeyFactory.WEEKLY_TTL, LeaderboardKeyFactory.DAILY_TTL));
+        register(new LeaderboardDefinition("runs", null, COUNT, 1, "회",
+                allScopes, LeaderboardKeyFactory.WEEKLY_TTL, LeaderboardKeyFactory.DAILY_TTL));
+        register(new LeaderboardDefinition("moving-time", "movingTime", SUM, 1, "초",
+                seasonAndWeek, LeaderboardKeyFactory.WEEKLY_TTL, LeaderboardKeyFactory.DAILY_TTL));
+        register(new LeaderboardDefinition("elevation", "elevationGain", SUM, 1, "m",
+                seasonAndWeek, LeaderboardKeyFactory.WEEKLY_TTL, LeaderboardKeyFactory.DAILY_TTL));
+        register(new LeaderboardDefinition("longest-run", "distance", MAX, 1000, "km",
+                seasonAndWeek, LeaderboardKeyFactory.WEEKLY_TTL, LeaderboardKeyFactory.DAILY_TTL));
+    }
+
+    public void register(LeaderboardDefinition definition) {
+        definitions.put(definition.metric(), definition);
+    }
+
+    public Optional<LeaderboardDefinition> find(String metric) {
+        return Optional.ofNullable(definitions.get(metric));
+    }
+
+    public LeaderboardDefinition get(String metric) {
+        return find(metric).orElseThrow(() -> new IllegalArgumentException("정의되지 않은 지표: " + metric));
+    }
+
+    public LeaderboardDefinition distance() {
+        return definitions.get(DISTANCE);
+    }
+
+    public Collection<LeaderboardDefinition> all() {
+        return Collections.unmodifiableCollection(definitions.values());
+    }
+}
@@ -0,0 +1,243 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchiver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 전체 시즌 리더보드의 시즌 전환과 초기화.
+ *
+ * 시즌마다 키가 다르고(lb:{metric}:all:s{N}) 현재 시즌은 lb:season 포인터가 가리킨다. 전환은 포인터를 한 번 바꾸는 것으로
+ * 끝나므로 조회하는 쪽은 이전 시즌을 끝까지 보거나 새 시즌을 보며, 지우는 중인 리더보드를 보는 순간이 없다.
+ * 각 노드가 포인터를 다시 읽기 전까지 이전 시즌 키에 들어오는 쓰기를 잃지 않도록, 이전 시즌 키는
+ * leaderboard.season.retire-delay-ms 뒤에 정리한다.
+ * leaderboard.season.archive=false면 lb:season:retiring에서 ZREM에 성공한 노드 하나가 이전 시즌을 UNLINK 한다.
+ * true(기본)면 지난 기간 보관과 같은 방식으로 모든 노드가 각자 스냅샷을 기록하고, 살아 있는 노드가 모두 기록한 뒤
+ * {@link LeaderboardArchiver}가 Redis 키를 UNLINK 하면 예약을 지운다. 그 전까지는 키가 남아 있어
+ * 어느 노드에서든 ?season= 조회 결과가 같다.
+ *
+ * 큰 ZSET을 DEL 하면 해제가 끝날 때까지 Redis가 멈추므로 이 클래스는 키를 지울 때 항상 UNLINK(백그라운드 해제)를 쓴다.
+ */
+@Slf4j
+@Service
+public class LeaderboardSeasonService {
+
+    private static final String RETIRING_KEY = "lb:season:retiring";
+    private static final int UNLINK_BATCH = 1000;
+
+    /**
+     * 현재 시즌이 기대한 값일 때만 다음 시즌으로 넘기고 이전 시즌 키의 정리를 예약한다.
+     *
+     * KEYS[1]: 시즌 포인터 (lb:season)
+     * KEYS[2]: 정리 예약 ZSET (lb:season:retiring)
+     * ARGV[1]: 기대하는 현재 시즌
+     * ARGV[2]: 정리 시각 (epoch 밀리초)
+     * ARGV[3..]: 정리할 이전 시즌 리더보드 키
+     *
+     * 반환: {전환 여부(1/0), 현재 시즌}
+     */
+    static final String ROLLOVER_LUA = """
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if current ~= tonumber(ARGV[1]) then
+              return {0, current}
+            end
+            redis.call('SET', KEYS[1], current + 1)
+            for i = 3, #ARGV do
+              redis.call('ZADD', KEYS[2], ARGV[2], ARGV[i])
+            end
+            return {1, current + 1}
+            """;
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> rolloverScript = new DefaultRedisScript<>(ROLLOVER_LUA, List.class);
+
+    private final RedisBulkheads.Bulkhead admin;
+    private final StringRedisTemplate redisTemplate;
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardRegistry registry;
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardArchiver archiver;
+    private final long retireDelayMs;
+    private final boolean archive;
+
+    public LeaderboardSeasonService(RedisBulkheads bulkheads,
+                                    LeaderboardKeyFactory keyFactory,
+                                    LeaderboardRegistry registry,
+                                    LeaderboardService leaderboardService,
+                                    LeaderboardArchiver archiver,
+                                    @Value("${leaderboard.season.retire-delay-ms:10000}") long retireDelayMs,
+                                    @Value("${leaderboard.season.archive:true}") boolean archive) {
+        // 시즌 전환과 키 정리는 관리 작업이므로 admin 격벽의 연결과 한도를 쓴다
+        this.admin = bulkheads.admin();
+        this.redisTemplate = admin.template();
+        this.keyFactory = keyFactory;
+        this.registry = registry;
+        this.leaderboardService = leaderboardService;
+        this.archiver = archiver;
+        this.retireDelayMs = retireDelayMs;
+        this.archive = archive;
+    }
+
+    /**
+     * 다음 시즌으로 전환한다.
+     *
+     * @param expectedSeason 현재 시즌이라고 알고 있는 번호 (다르면 전환하지 않는다, 중복 요청 방지)
+     * @return 전환 결과
+     * @throws IllegalStateException 현재 시즌이 expectedSeason이 아닌 경우
+     */
+    @SuppressWarnings("rawtypes")
+    public Rollover rollover(long expectedSeason) {
+        List<String> retiring = seasonKeys(expectedSeason);
+        long retireAt = System.currentTimeMillis() + retireDelayMs;
+
+        List<String> args = new ArrayList<>(retiring.size() + 2);
+        args.add(String.valueOf(expectedSeason));
+        args.add(String.valueOf(retireAt));
+        args.addAll(retiring);
+        List result = admin.call("seasonRollover", () -> redisTemplate.execute(rolloverScript,
+                List.of(keyFactory.getSeasonKey(), RETIRING_KEY), args.toArray()));
+
+        long current = ((Number) result.get(1)).longValue();
+        if (((Number) result.get(0)).longValue() != 1) {
+            keyFactory.useSeason(current);
+            throw new IllegalStateException("현재 시즌은 " + current + "입니다 (요청: " + expectedSeason + ")");
+        }
+
+        keyFactory.useSeason(current);
+        log.info("리더보드 시즌 전환 - {} → {}, 이전 시즌 키 {}개 정리 예약: {}",
+                expectedSeason, current, retiring.size(), Instant.ofEpochMilli(retireAt));
+        return new Rollover(expectedSeason, current, seasonKeys(current), retiring, Instant.ofEpochMilli(retireAt));
+    }
+
+    /**
+     * 정리 시각이 지난 이전 시즌 키를 보관하거나 해제한다.
+     * 보관할 때는 모든 노드가 각자 기록해야 하므로 예약을 가져가지 않고, Redis 키가 해제된 뒤에 예약을 지운다.
+     * 버릴 때는 ZREM에 성공한 노드만 처리하므로 여러 노드가 동시에 실행해도 한 번만 처리된다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.season.retire-poll-ms:5000}")
+    public void retireDueBoards() {
+        Set<String> due = redisTemplate.opsForZSet().rangeByScore(RETIRING_KEY, 0, System.currentTimeMillis());
+        if (due == null) {
+            return;
+        }
+        for (String key : due) {
+            if (archive) {
+                archiveRetired(key);
+                continue;
+            }
+            Long claimed = redisTemplate.opsForZSet().remove(RETIRING_KEY, key);
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            try {
+                unlinkRetired(key);
+            } catch (Exception e) {
+                log.warn("이전 시즌 리더보드 정리 실패, 다시 예약 - 키: {}, 오류: {}", key, e.getMessage());
+                redisTemplate.opsForZSet().add(RETIRING_KEY, key, System.currentTimeMillis() + retireDelayMs);
+            }
+        }
+    }
+
+    /**
+     * 이 노드에 이전 시즌 스냅샷을 기록하고, 모든 노드가 기록해 Redis 키가 해제됐으면 예약을 지운다.
+     * 기록 중 쓰기가 있었거나 다른 노드가 아직 기록하지 않았으면 예약을 남겨 다음 실행에서 다시 처리한다
+     * (이미 현재 버전으로 기록했으면 파일을 다시 쓰지 않고 해제만 시도한다).
+     */
+    private void archiveRetired(String key) {
+        try {
+            LeaderboardArchiver.ArchiveResult result = archiver.archive(key);
+            if (result.unlinked() || (result.members() == 0 && !result.archived())) {
+                redisTemplate.opsForZSet().remove(RETIRING_KEY, key);
+                log.info("이전 시즌 리더보드 보관 완료 - 키: {}, 파일: {}", key, result.file());
+            }
+        } catch (Exception e) {
+            log.warn("이전 시즌 리더보드 보관 실패, 다음 실행에서 재시도 - 키: {}, 오류: {}", key, e.getMessage());
+        }
+    }
+
+    private void unlinkRetired(String key) {
+        redisTemplate.unlink(key);
+        leaderboardService.markChanged(key);
+        redisTemplate.opsForHash().delete(keyFactory.getVersionsKey(), key);
+        log.info("이전 시즌 리더보드 해제 - 키: {}", key);
+    }
+
+    /**
+     * 리더보드 하나를 비운다. 키를 UNLINK 하므로 멤버 수와 관계없이 Redis를 막지 않는다.
+     * 조회하는 쪽은 이전 내용 전체 또는 빈 리더보드를 보며, 버전을 올려 캐시와 복제본도 비운다.
+     *
+     * @param key 리더보드 키
+     * @return 키가 있었는지
+     */
+    public boolean reset(String key) {
+        Long unlinked = admin.call("resetBoard", () -> redisTemplate.unlink(List.of(key)));
+        leaderboardService.markChanged(key);
+        return unlinked != null && unlinked > 0;
+    }
+
+    /**
+     * 패턴에 맞는 키를 SCAN으로 찾아 나눠서 UNLINK 한다 (KEYS와 DEL처럼 Redis를 막지 않는다).
+     *
+     * @param pattern SCAN 패턴 (예: lb:dedup:test-event-*)
+     * @return 해제한 키 수
+     */
+    public long unlinkByPattern(String pattern) {
+        return admin.call("unlinkByPattern", () -> {
+            long unlinked = 0;
+            List<String> batch = new ArrayList<>(UNLINK_BATCH);
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match(pattern).count(UNLINK_BATCH).build())) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == UNLINK_BATCH) {
+                        unlinked += unlinkBatch(batch);
+                    }
+                }
+            }
+            return unlinked + unlinkBatch(batch);
+        });
+    }
+
+    private long unlinkBatch(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long count = redisTemplate.unlink(batch);
+        batch.clear();
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 시즌의 전체 시즌 리더보드 키 목록 (전체 스코프가 있는 지표마다 하나)
+     */
+    public List<String> seasonKeys(long season) {
+        return registry.all().stream()
+                .filter(definition -> definition.scopes().contains("all"))
+                .map(definition -> keyFactory.seasonKeyName(definition.metric(), season))
+                .toList();
+    }
+
+    /**
+     * 시즌 전환 결과
+     *
+     * @param previousSeason 이전 시즌
+     * @param season 새 시즌
+     * @param keys 새 시즌 리더보드 키
+     * @param retiringKeys 정리가 예약된 이전 시즌 키
+     * @param retireAt 정리 예정 시각
+     */
+    public record Rollover(long previousSeason, long season, List<String> keys,
+                           List<String> retiringKeys, Instant retireAt) {}
+}
@@ -1,5 +1,13 @@
 package io.wte.redis_lab.leaderboard.service;
 
+import io.wte.redis_lab.common.redis.HotKeyDetector;
+import io.wte.redis_lab.common.redis.RedisBulkheads;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.RedisUnavailableException;
+import io.wte.redis_lab.common.redis.ReplicaReadRouter;
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchive;
+import io.wte.redis_lab.leaderboard.archive.LeaderboardArchiveStore;
+import io.wte.redis_lab.leaderboard.replica.LeaderboardReplicator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -7,79 +15,301 @@ import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LeaderboardService {
 
+    /**
+     * 리더보드 변경 피드 채널.
+     * 메시지 형식: "리더보드키|버전|점수|발행시각(ms)|사용자ID". 스크립트 밖에서 키를 직접 바꾼 경우
+     * 점수는 "-", 사용자ID는 빈 문자열이다 (구독 측은 전체를 다시 읽어야 한다).
+     */
+    public static final String CHANGE_CHANNEL = "lb:changes";
+
     private final StringRedisTemplate redisTemplate;
 
+    private final LeaderboardKeyFactory keyFactory;
+    private final LeaderboardRegistry registry;
+    private final LeaderboardArchiveStore archiveStore;
+    private final LeaderboardReplicator replicator;
+    private final ReplicaReadRouter readRouter;
+    private final RedisCircuitBreaker breaker;
+    private final HotKeyDetector hotKeys;
+    private final RedisBulkheads bulkheads;
+
+    private static final int TOP_SNAPSHOT_CAPACITY = 1024;
+
+    /**
+     * Redis에서 마지막으로 읽은 상위 N 목록 (리더보드 키별, 최근 사용 순으로 최대 {@link #TOP_SNAPSHOT_CAPACITY}개).
+     * Redis를 쓸 수 없을 때 {@link #getTopNOrSnapshot(String, int)}가 대신 반환한다.
+     */
+    private final Map<String, TopSnapshot> topSnapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TopSnapshot> eldest) {
+            return size() > TOP_SNAPSHOT_CAPACITY;
+        }
+    };
+
     /**
-     * 멱등성 보장을 위한 Lua 스크립트
-     * SETNX로 중복 처리를 방지하고, 첫 번째 요청만 점수를 가산한다.
+     * 이벤트 하나로 여러 리더보드를 한 번에 갱신하는 Lua 스크립트 ({@link ScoreCodec} 형식).
+     * 중복 확인은 이벤트당 한 번이며, 리더보드가 늘어나도 왕복은 한 번이다.
      *
-     * KEYS[1]: 리더보드 키 (예: lb:distance:weekly:2025-37)
-     * KEYS[2]: 중복 방지 키 (예: lb:dedup:event123)
+     * 처음 보는 이벤트면 리더보드별로 현재 점수에서 값(상위 비트)을 꺼내 집계(SUM/MAX)한 뒤
+     * 하위 비트(갱신 시각)를 새로 써서 ZADD 한다. 값이 바뀐 리더보드만 버전을 올리고 (페이지 캐시 무효화용)
+     * 변경 피드 채널로 "키|버전|점수|발행시각|사용자"를 발행한다 (인메모리 복제본 갱신용).
+     * 범위를 넘는 값이 하나라도 있으면 아무 것도 쓰지 않고 오류를 반환한다.
+     *
+     * KEYS[1]: 중복 방지 키 (예: lb:dedup:event123)
+     * KEYS[2]: 리더보드 버전 해시 키 (lb:versions)
+     * KEYS[3..]: 리더보드 키 (예: lb:distance:weekly:2025-37, lb:runs:all)
      * ARGV[1]: 사용자 ID
-     * ARGV[2]: 가산할 점수 (거리 + 타임스탬프)
-     * ARGV[3]: 중복 방지 키의 TTL (밀리초)
-     */
-    private final DefaultRedisScript<Double> incrementOnceScript = new DefaultRedisScript<>(
-            """
-            if redis.call('SETNX', KEYS[2], '1') == 1 then
-              redis.call('PEXPIRE', KEYS[2], ARGV[3])
-              return redis.call('ZINCRBY', KEYS[1], ARGV[2], ARGV[1])
-            else
-              return redis.call('ZSCORE', KEYS[1], ARGV[1])
+     * ARGV[2]: 중복 방지 키의 TTL (밀리초)
+     * ARGV[3]: 반전된 갱신 시각 버킷 (점수 하위 비트)
+     * ARGV[4]: 변경 피드 채널
+     * ARGV[5]: 발행 시각 (epoch 밀리초)
+     * ARGV[6..]: 리더보드마다 3개씩 - 값(정수 단위), 집계 방식(SUM/MAX), 리더보드 키의 TTL(밀리초, 0이면 설정하지 않음)
+     *
+     * 반환: {처리 여부(1/0), 리더보드마다 점수(정확한 십진 문자열), 순위(없으면 -1), 올라간 버전(바뀌지 않았으면 0)}
+     */
+    static final String RECORD_EVENT_LUA = """
+            local scale = %d
+            local max_units = %d
+            local user = ARGV[1]
+            local boards = #KEYS - 2
+            local fresh = redis.call('EXISTS', KEYS[1]) == 0
+            local current, updated = {}, {}
+            for i = 1, boards do
+              local key = KEYS[i + 2]
+              current[i] = tonumber(redis.call('ZSCORE', key, user) or '0')
+              updated[i] = current[i]
+              if fresh then
+                local base = 5 + (i - 1) * 3
+                local units
+                if current[i] ~= math.floor(current[i]) then
+                  -- 이전 형식(km + 타임스탬프 소수) 점수는 미터로 변환
+                  units = math.floor(current[i] * 1000 + 0.5)
+                else
+                  units = math.floor(current[i] / scale)
+                end
+                local delta = tonumber(ARGV[base + 1])
+                local next_units = units + delta
+                if ARGV[base + 2] == 'MAX' then
+                  next_units = math.max(units, delta)
+                end
+                if next_units > max_units then
+                  return redis.error_reply('score overflow: ' .. key)
+                end
+                if next_units ~= units then
+                  updated[i] = next_units * scale + tonumber(ARGV[3])
+                end
+              end
+            end
+            if fresh then
+              redis.call('SET', KEYS[1], '1', 'PX', ARGV[2])
             end
-            """, Double.class
-    );
+            local result = {fresh and 1 or 0}
+            for i = 1, boards do
+              local key = KEYS[i + 2]
+              local version = 0
+              if updated[i] ~= current[i] then
+                local base = 5 + (i - 1) * 3
+                redis.call('ZADD', key, updated[i], user)
+                version = redis.call('HINCRBY', KEYS[2], key, 1)
+                if tonumber(ARGV[base + 3]) > 0 and redis.call('PTTL', key) == -1 then
+                  redis.call('PEXPIRE', key, ARGV[base + 3])
+                end
+                redis.call('PUBLISH', ARGV[4],
+                  key .. '|' .. version .. '|' .. string.format('%%.17g', updated[i]) .. '|' .. ARGV[5] .. '|' .. user)
+              end
+              result[#result + 1] = string.format('%%.17g', updated[i])
+              result[#result + 1] = redis.call('ZREVRANK', key, user) or -1
+              result[#result + 1] = version
+            end
+            return result
+            """.formatted(ScoreCodec.TIME_SCALE, ScoreCodec.MAX_UNITS);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> recordEventScript = new DefaultRedisScript<>(RECORD_EVENT_LUA, List.class);
 
     /**
-     * 멱등성을 보장하며 거리 점수를 가산한다.
-     * 동일한 eventId로는 한 번만 처리되며, 동점 시 최근 기록이 우선된다.
+     * 이벤트 값으로 갱신할 리더보드 목록을 만든다.
+     * 정의마다 이벤트에서 값을 읽어(COUNT는 1) 정의된 스코프 전부에 기록한다. 값이 없거나 0 이하인 지표는 건너뛴다.
      *
-     * @param leaderboardKey 리더보드 키 (스코프별로 다름)
-     * @param dedupKey 중복 방지용 키
-     * @param userId 사용자 ID
+     * @param values 항목 이름별 값 (예: distance=5.2, movingTime=1800)
+     * @param date 기준 날짜
+     * @return 갱신할 리더보드 목록
+     */
+    public List<BoardWrite> planWrites(Map<String, Double> values, LocalDate date) {
+        List<BoardWrite> writes = new ArrayList<>();
+        for (LeaderboardDefinition definition : registry.all()) {
+            long units;
+            if (definition.aggregation() == LeaderboardDefinition.Aggregation.COUNT) {
+                units = 1;
+            } else {
+                Double value = values.get(definition.source());
+                if (value == null || value <= 0) {
+                    continue;
+                }
+                units = definition.toUnits(value);
+            }
+            for (String scope : definition.scopes()) {
+                writes.add(new BoardWrite(keyFactory.boardKeyName(definition.metric(), scope, date),
+                        scope, definition, units, definition.retention(scope)));
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * 거리 하나를 요청한 스코프의 거리 리더보드에 기록하는 목록을 만든다.
+     *
+     * @param scopes 리더보드 범위 목록 (all, weekly, daily)
      * @param deltaKm 가산할 거리(km)
+     * @param date 기준 날짜
+     * @return 갱신할 리더보드 목록 (scopes 순서)
+     */
+    public List<BoardWrite> planDistanceWrites(List<String> scopes, double deltaKm, LocalDate date) {
+        LeaderboardDefinition distance = registry.distance();
+        return scopes.stream()
+                .map(scope -> new BoardWrite(keyFactory.boardKeyName(distance.metric(), scope, date),
+                        scope, distance, distance.toUnits(deltaKm), distance.retention(scope)))
+                .toList();
+    }
+
+    /**
+     * 멱등성을 보장하며 이벤트 하나를 여러 리더보드에 한 번의 스크립트 호출로 기록한다.
+     * 동일한 eventId로는 한 번만 처리되며, 동점 시 먼저 그 값에 도달한 사용자가 우선된다.
+     * 기록 후 리더보드별 순위도 같은 스크립트에서 함께 반환한다.
+     * replica 조회를 쓰는 경우 쓰기 토큰을 함께 얻어, 이후 이 사용자의 조회가 쓰기 이전 상태를 읽지 않게 한다.
+     *
+     * @param dedupKey 중복 방지용 키 (이벤트당 하나)
+     * @param userId 사용자 ID
+     * @param writes 갱신할 리더보드 목록
      * @param dedupTtlMs 중복 방지 키의 TTL(밀리초)
-     * @return 가산 후 총 점수
+     * @return 처리 여부와 리더보드별 순위/값 (writes 순서), 쓰기 토큰
+     * @throws RedisUnavailableException Redis가 쓰기 마감 안에 응답하지 않았거나 회로가 열려 있거나 ingest 격벽이 찬 경우
      */
-    public double addDistanceOnce(String leaderboardKey, String dedupKey, String userId,
-                                  double deltaKm, long dedupTtlMs) {
-        // 동점 타이브레이커: 최근 기록 우선을 위해 현재 시각을 아주 작은 값으로 더함
-        double scoreWithTimestamp = deltaKm + (System.currentTimeMillis() / 1e15);
+    @SuppressWarnings("rawtypes")
+    public EventResult recordEvent(String dedupKey, String userId, List<BoardWrite> writes, long dedupTtlMs) {
+        RedisBulkheads.Bulkhead ingest = bulkheads.ingest();
+        ReplicaReadRouter.TrackedWrite<List> written = ingest.call("recordEvent", () -> breaker.write("recordEvent", () ->
+                readRouter.execute(ingest.template(), userId, recordEventScript,
+                        recordEventKeys(dedupKey, keyFactory.getVersionsKey(), writes),
+                        recordEventArgs(userId, dedupTtlMs, writes))));
 
-        Double result = redisTemplate.execute(incrementOnceScript,
-                List.of(leaderboardKey, dedupKey),
-                userId, String.valueOf(scoreWithTimestamp), String.valueOf(dedupTtlMs));
+        EventResult eventResult = toEventResult(written.result(), writes, written.token());
+        if (eventResult.applied()) {
+            writes.forEach(write -> hotKeys.invalidate(write.key()));
+            // 이 사용자의 다음 조회는 복제본이 이 버전을 적용한 뒤에만 로컬에서 처리한다
+            for (int i = 0; i < writes.size(); i++) {
+                long version = boardVersion(written.result(), i);
+                if (version > 0) {
+                    replicator.noteWrite(writes.get(i).key(), userId, version);
+                }
+            }
+        }
+        log.debug("이벤트 기록 - 사용자: {}, 리더보드 수: {}, 처리: {}", userId, writes.size(), eventResult.applied());
+        return eventResult;
+    }
 
-        log.debug("거리 가산 - 사용자: {}, 점수: {}, 총합: {}", userId, deltaKm, result);
-        return result != null ? result : 0.0;
+    /**
+     * 멱등성을 보장하며 리더보드 하나에 거리를 가산한다.
+     * 리더보드 키는 호출자가 정하므로 TTL은 설정하지 않는다.
+     *
+     * @param leaderboardKey 리더보드 키
+     * @param dedupKey 중복 방지용 키
+     * @param userId 사용자 ID
+     * @param deltaKm 가산할 거리(km)
+     * @param dedupTtlMs 중복 방지 키의 TTL(밀리초)
+     * @return 가산 후 순위와 총 거리(km)
+     */
+    public RankScore addDistanceOnce(String leaderboardKey, String dedupKey, String userId,
+                                     double deltaKm, long dedupTtlMs) {
+        LeaderboardDefinition distance = registry.distance();
+        BoardWrite write = new BoardWrite(leaderboardKey, null, distance, distance.toUnits(deltaKm), null);
+        return recordEvent(dedupKey, userId, List.of(write), dedupTtlMs).boards().get(0);
     }
 
     /**
      * 상위 N명의 리더보드를 조회한다.
-     * 점수가 높은 순으로 정렬되며, 동점 시 최근 기록이 우선된다.
+     * 점수가 높은 순으로 정렬되며, 동점 시 먼저 그 값에 도달한 사용자가 우선된다.
+     * 보관된 기간의 리더보드는 스냅샷 파일에서, 복제 중인 리더보드는 인메모리 복제본에서 조회한다.
+     * 그 외에는 허용 지연을 만족하는 Redis replica(없거나 뒤처졌으면 primary)에서 조회한다 ({@link ReplicaReadRouter}).
+     * 조회가 몰리는 (키, N)은 {@link HotKeyDetector}가 노드 로컬에 잠시 캐시한다.
      *
      * @param key 리더보드 키
      * @param n 조회할 인원 수
      * @return 순위별 사용자와 점수 리스트
+     * @throws RedisUnavailableException Redis가 조회 마감 안에 응답하지 않았거나 회로가 열려 있거나 read 격벽이 찬 경우
      */
     public List<ScoredValue> getTopN(String key, int n) {
-        // ZREVRANGE: 점수 높은 순으로 0~n-1 범위 조회
-        Set<ZSetOperations.TypedTuple<String>> tuples =
-                redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, n - 1);
+        Optional<LocalLeaderboard> local = findLocal(key);
+        if (local.isPresent()) {
+            return decode(key, local.get().range(0, n - 1));
+        }
 
-        if (tuples == null) return List.of();
+        return hotKeys.read(key, "top:" + n, () -> {
+            // ZREVRANGE: 점수 높은 순으로 0~n-1 범위 조회
+            Set<ZSetOperations.TypedTuple<String>> tuples = bulkheads.read().call("getTopN", () ->
+                    breaker.read("getTopN", () -> readRouter.reads().opsForZSet().reverseRangeWithScores(key, 0, n - 1)));
 
-        return tuples.stream()
-                .map(tuple -> new ScoredValue(tuple.getValue(), tuple.getScore()))
-                .toList();
+            List<ScoredValue> top = tuples == null ? List.of() : tuples.stream()
+                    .map(tuple -> new ScoredValue(tuple.getValue(), toValue(key, tuple.getScore())))
+                    .toList();
+            synchronized (topSnapshots) {
+                topSnapshots.put(key, new TopSnapshot(top, Instant.now()));
+            }
+            return top;
+        });
+    }
+
+    /**
+     * 상위 N명을 조회하되, Redis를 쓸 수 없으면 마지막으로 읽어 둔 목록을 반환한다.
+     * 스냅샷이 요청보다 적게 담고 있으면 있는 만큼만 반환하며, 스냅샷도 없으면 예외를 그대로 던진다.
+     *
+     * @param key 리더보드 키
+     * @param n 조회할 인원 수
+     * @return 순위별 사용자와 점수, 스냅샷 여부와 기준 시각
+     * @throws RedisUnavailableException Redis를 쓸 수 없고 스냅샷도 없는 경우
+     */
+    public TopResult getTopNOrSnapshot(String key, int n) {
+        try {
+            return new TopResult(getTopN(key, n), false, null);
+        } catch (RedisUnavailableException e) {
+            TopSnapshot snapshot;
+            synchronized (topSnapshots) {
+                snapshot = topSnapshots.get(key);
+            }
+            if (snapshot == null) {
+                throw e;
+            }
+            log.debug("Redis 사용 불가 - 스냅샷 반환: {}, 기준 시각: {}", key, snapshot.capturedAt());
+            List<ScoredValue> entries = snapshot.entries();
+            return new TopResult(entries.subList(0, Math.min(n, entries.size())), true, snapshot.capturedAt());
+        }
+    }
+
+    /**
+     * 사용자 기준 조회를 핫 키 캐시로 처리하되, 그 사용자의 쓰기가 아직 모든 replica에 반영되지 않았으면 캐시를 거치지 않는다.
+     * 다른 노드에서 기록한 경우 이 노드의 캐시에는 변경 피드가 도착하기 전까지 쓰기 이전 값이 남아 있을 수 있다.
+     */
+    private <T> T readForUser(String key, String field, String userId, Supplier<T> loader) {
+        if (readRouter.hasPendingWrite(userId)) {
+            return loader.get();
+        }
+        return hotKeys.read(key, field, loader);
     }
 
     /**
@@ -90,15 +320,24 @@ public class LeaderboardService {
      * @return 순위와 점수 (순위는 0부터 시작, 없으면 -1)
      */
     public RankScore getRankScore(String key, String userId) {
-        // ZREVRANK: 점수 높은 순으로 정렬된 순위 (0부터 시작)
-        Long rank = redisTemplate.opsForZSet().reverseRank(key, userId);
-        // ZSCORE: 해당 사용자의 점수
-        Double score = redisTemplate.opsForZSet().score(key, userId);
+        Optional<LocalLeaderboard> local = findLocal(key, userId);
+        if (local.isPresent()) {
+            RankScore found = local.get().rankScore(userId);
+            return new RankScore(found.rank(), found.rank() >= 0 ? toValue(key, found.score()) : 0.0);
+        }
 
-        return new RankScore(
-                rank != null ? rank : -1,
-                score != null ? score : 0.0
-        );
+        return readForUser(key, "rank:" + userId, userId, () -> bulkheads.read().call("getRankScore", () -> breaker.read("getRankScore", () -> {
+            StringRedisTemplate reads = readRouter.readsFor(userId);
+            // ZREVRANK: 점수 높은 순으로 정렬된 순위 (0부터 시작)
+            Long rank = reads.opsForZSet().reverseRank(key, userId);
+            // ZSCORE: 해당 사용자의 점수
+            Double score = reads.opsForZSet().score(key, userId);
+
+            return new RankScore(
+                    rank != null ? rank : -1,
+                    score != null ? toValue(key, score) : 0.0
+            );
+        })));
     }
 
     /**
@@ -111,24 +350,35 @@ public class LeaderboardService {
      * @return 주변 사용자들의 점수 리스트
      */
     public List<ScoredValue> getAroundUser(String key, String userId, int k) {
-        Long rank = redisTemplate.opsForZSet().reverseRank(key, userId);
-        if (rank == null) {
-            log.debug("사용자 {}가 리더보드 {}에 없음", userId, key);
-            return List.of();
+        Optional<LocalLeaderboard> local = findLocal(key, userId);
+        if (local.isPresent()) {
+            long localRank = local.get().rankOf(userId);
+            return localRank >= 0
+                    ? decode(key, local.get().range(Math.max(localRank - k, 0), localRank + k))
+                    : List.of();
         }
 
-        // 내 순위 기준으로 앞뒤 k명씩 범위 계산
-        long start = Math.max(rank - k, 0);
-        long end = rank + k;
+        return readForUser(key, "around:" + userId + ":" + k, userId, () -> bulkheads.read().call("getAroundUser", () -> breaker.read("getAroundUser", () -> {
+            StringRedisTemplate reads = readRouter.readsFor(userId);
+            Long rank = reads.opsForZSet().reverseRank(key, userId);
+            if (rank == null) {
+                log.debug("사용자 {}가 리더보드 {}에 없음", userId, key);
+                return List.<ScoredValue>of();
+            }
 
-        Set<ZSetOperations.TypedTuple<String>> tuples =
-                redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+            // 내 순위 기준으로 앞뒤 k명씩 범위 계산
+            long start = Math.max(rank - k, 0);
+            long end = rank + k;
 
-        if (tuples == null) return List.of();
+            Set<ZSetOperations.TypedTuple<String>> tuples =
+                    reads.opsForZSet().reverseRangeWithScores(key, start, end);
 
-        return tuples.stream()
-                .map(tuple -> new ScoredValue(tuple.getValue(), tuple.getScore()))
-                .toList();
+            if (tuples == null) return List.<ScoredValue>of();
+
+            return tuples.stream()
+                    .map(tuple -> new ScoredValue(tuple.getValue(), toValue(key, tuple.getScore())))
+                    .toList();
+        })));
     }
 
     /**
@@ -138,10 +388,196 @@ public class LeaderboardService {
      * @return 총 참가자 수
      */
     public long getTotalMembers(String key) {
-        Long count = redisTemplate.opsForZSet().count(key, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        Optional<LocalLeaderboard> local = findLocal(key);
+        if (local.isPresent()) {
+            return local.get().size();
+        }
+
+        // ZCARD: O(1)
+        Long count = bulkheads.read().call("getTotalMembers", () -> breaker.read("getTotalMembers", () ->
+                readRouter.reads().opsForZSet().zCard(key)));
         return count != null ? count : 0L;
     }
 
+    /**
+     * 상위 N명과 총 참가자 수를 primary에서 읽는다. replica, 인메모리 복제본, 핫 키 캐시를 거치지 않으므로
+     * 먼저 읽은 primary의 버전 이후 상태를 반영한다. 결과를 버전과 함께 캐시하는 쪽(페이지 캐시)이 쓴다.
+     * 보관된 기간은 바뀌지 않으므로 스냅샷 파일에서 읽는다.
+     *
+     * @param key 리더보드 키
+     * @param n 조회할 인원 수
+     * @return 순위별 사용자와 점수, 총 참가자 수
+     * @throws RedisUnavailableException Redis가 조회 마감 안에 응답하지 않았거나 회로가 열려 있거나 read 격벽이 찬 경우
+     */
+    public TopPage getTopPageFromPrimary(String key, int n) {
+        Optional<LeaderboardArchive> archive = archiveStore.find(key);
+        if (archive.isPresent()) {
+            return new TopPage(decode(key, archive.get().range(0, n - 1)), archive.get().size());
+        }
+
+        return bulkheads.read().call("getTopPage", () -> breaker.read("getTopPage", () -> {
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, n - 1);
+            Long count = redisTemplate.opsForZSet().zCard(key);
+            List<ScoredValue> top = tuples == null ? List.of() : tuples.stream()
+                    .map(tuple -> new ScoredValue(tuple.getValue(), toValue(key, tuple.getScore())))
+                    .toList();
+            return new TopPage(top, count != null ? count : 0L);
+        }));
+    }
+
+    /**
+     * 리더보드 버전을 올리고 변경 피드에 재동기화 알림을 보낸다.
+     * 스크립트를 거치지 않고 리더보드를 직접 변경한 경우 호출한다.
+     *
+     * @param key 리더보드 키
+     */
+    public void markChanged(String key) {
+        hotKeys.invalidate(key);
+        Long version = redisTemplate.opsForHash().increment(keyFactory.getVersionsKey(), key, 1);
+        redisTemplate.convertAndSend(CHANGE_CHANNEL, key + "|" + version + "|-|" + System.currentTimeMillis() + "|");
+    }
+
+    /**
+     * 여러 리더보드의 현재 버전을 한 번에 조회한다 (HMGET).
+     * 한 번도 변경되지 않은 리더보드의 버전은 0이다.
+     *
+     * @param keys 리더보드 키 목록
+     * @return 키 순서대로의 버전 목록
+     */
+    public List<Long> getVersions(List<String> keys) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(keyFactory.getVersionsKey(), List.<Object>copyOf(keys));
+        return values.stream()
+                .map(value -> value != null ? Long.parseLong(value.toString()) : 0L)
+                .toList();
+    }
+
+    static List<String> recordEventKeys(String dedupKey, String versionsKey, List<BoardWrite> writes) {
+        List<String> keys = new ArrayList<>(writes.size() + 2);
+        keys.add(dedupKey);
+        keys.add(versionsKey);
+        writes.forEach(write -> keys.add(write.key()));
+        return keys;
+    }
+
+    static List<String> recordEventArgs(String userId, long dedupTtlMs, List<BoardWrite> writes) {
+        List<String> args = new ArrayList<>(5 + writes.size() * 3);
+        args.add(userId);
+        args.add(String.valueOf(dedupTtlMs));
+        args.add(String.valueOf(ScoreCodec.MAX_BUCKET - ScoreCodec.bucket(Instant.now())));
+        args.add(CHANGE_CHANNEL);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (BoardWrite write : writes) {
+            args.add(String.valueOf(write.deltaUnits()));
+            args.add(write.definition().aggregation() == LeaderboardDefinition.Aggregation.MAX ? "MAX" : "SUM");
+            args.add(String.valueOf(write.ttl() != null ? write.ttl().toMillis() : 0L));
+        }
+        return args;
+    }
+
+    /**
+     * 스크립트 결과 {처리 여부, (점수, 순위, 버전)...}를 리더보드별 순위와 값으로 변환한다.
+     */
+    static EventResult toEventResult(List<?> result, List<BoardWrite> writes) {
+        return toEventResult(result, writes, 0L);
+    }
+
+    static EventResult toEventResult(List<?> result, List<BoardWrite> writes, long writeToken) {
+        if (result == null || result.size() < 1 + writes.size() * 3) {
+            return new EventResult(false, writes.stream().map(write -> new RankScore(-1, 0.0)).toList(), writeToken);
+        }
+        List<RankScore> boards = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            double score = Double.parseDouble(String.valueOf(result.get(1 + i * 3)));
+            long rank = ((Number) result.get(2 + i * 3)).longValue();
+            boards.add(new RankScore(rank, writes.get(i).definition().toValue(ScoreCodec.units(score))));
+        }
+        return new EventResult(((Number) result.get(0)).longValue() == 1, boards, writeToken);
+    }
+
+    /**
+     * 스크립트 결과에서 i번째 리더보드의 올라간 버전을 꺼낸다 (바뀌지 않았거나 결과가 없으면 0).
+     */
+    static long boardVersion(List<?> result, int i) {
+        int index = 3 + i * 3;
+        return result != null && result.size() > index ? ((Number) result.get(index)).longValue() : 0L;
+    }
+
+    /**
+     * 리더보드 키의 지표 정의에 따라 점수를 표시 값으로 변환한다 (정의가 없으면 거리로 본다).
+     */
+    private double toValue(String key, double score) {
+        LeaderboardDefinition definition = keyFactory.metricOf(key)
+                .flatMap(registry::find)
+                .orElse(registry.distance());
+        return definition.toValue(ScoreCodec.units(score));
+    }
+
+    /**
+     * Redis 대신 읽을 수 있는 로컬 리더보드를 찾는다 (보관 스냅샷 → 인메모리 복제본 순).
+     */
+    Optional<LocalLeaderboard> findLocal(String key) {
+        return findLocal(key, null);
+    }
+
+    /**
+     * {@link #findLocal(String)}과 같되, 복제본은 요청의 일관성 요구(쓰기 토큰 헤더, 허용 지연)와
+     * 이 사용자의 최근 쓰기를 만족할 때만 쓴다. 마감된 기간의 스냅샷은 바뀌지 않으므로 항상 쓴다.
+     *
+     * @param userId 조회 대상 사용자 (null이면 사용자별 쓰기를 확인하지 않음)
+     */
+    Optional<LocalLeaderboard> findLocal(String key, String userId) {
+        Optional<LeaderboardArchive> archive = archiveStore.find(key);
+        if (archive.isPresent()) {
+            return Optional.of(archive.get());
+        }
+        return replicator.find(key, userId);
+    }
+
+    private List<ScoredValue> decode(String key, List<ScoredValue> encoded) {
+        return encoded.stream()
+                .map(sv -> new ScoredValue(sv.userId(), toValue(key, sv.score())))
+                .toList();
+    }
+
+    /**
+     * 이벤트 하나로 갱신할 리더보드
+     *
+     * @param key 리더보드 키
+     * @param scope 리더보드 범위 (all, weekly, daily)
+     * @param definition 리더보드 정의
+     * @param deltaUnits 기록할 값 (정수 단위)
+     * @param ttl 리더보드 키의 TTL (null이면 설정하지 않음)
+     */
+    public record BoardWrite(String key, String scope, LeaderboardDefinition definition, long deltaUnits, Duration ttl) {}
+
+    /**
+     * 이벤트 기록 결과
+     *
+     * @param applied 처음 처리된 이벤트인지 (false면 중복 요청으로 아무 것도 바뀌지 않음)
+     * @param boards 리더보드별 기록 후 순위와 값 (요청한 순서)
+     * @param writeToken 쓰기 직후 primary의 복제 오프셋 (replica 조회를 쓰지 않으면 0)
+     */
+    public record EventResult(boolean applied, List<RankScore> boards, long writeToken) {}
+
+    /**
+     * 상위 N 조회 결과
+     *
+     * @param entries 순위별 사용자와 점수
+     * @param stale Redis 대신 마지막 스냅샷을 반환했는지
+     * @param asOf 스냅샷을 읽은 시각 (stale이 아니면 null)
+     */
+    public record TopResult(List<ScoredValue> entries, boolean stale, Instant asOf) {}
+
+    /**
+     * primary에서 읽은 상위 N 페이지
+     *
+     * @param entries 순위별 사용자와 점수
+     * @param totalMembers 총 참가자 수
+     */
+    public record TopPage(List<ScoredValue> entries, long totalMembers) {}
+
+    private record TopSnapshot(List<ScoredValue> entries, Instant capturedAt) {}
+
     /**
      * 사용자 ID와 점수를 담는 레코드
      */
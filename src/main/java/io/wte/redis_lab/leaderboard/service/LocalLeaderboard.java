@@ -0,0 +1,24 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import java.util.List;
+
+/**
+ * Redis를 거치지 않고 로컬에서 읽을 수 있는 리더보드 (보관 스냅샷, 인메모리 복제본).
+ * 점수는 Redis에 저장된 값 그대로(인코딩된 값)를 반환한다.
+ */
+public interface LocalLeaderboard {
+
+    int size();
+
+    /**
+     * 순위 구간 [start, end]의 멤버와 점수를 반환한다 (양 끝 포함, 0부터 시작).
+     */
+    List<LeaderboardService.ScoredValue> range(long start, long end);
+
+    /**
+     * @return 순위 (0부터 시작, 없으면 -1)
+     */
+    long rankOf(String member);
+
+    LeaderboardService.RankScore rankScore(String member);
+}
@@ -0,0 +1,239 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.common.redis.RedisUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Redis에 쓸 수 없을 때 리더보드 기록을 로컬 파일에 모아 두었다가 Redis가 돌아오면 다시 기록한다.
+ *
+ * 기록은 한 줄씩 추가 전용 파일(progress.spool)에 쓰고 바로 fsync 하므로, 202로 응답한 기록은 프로세스가 죽어도 남는다.
+ * 재기록은 주기적으로(leaderboard.spool.replay-ms) 파일을 progress-{시각}.replay로 바꿔 떼어낸 뒤 한 줄씩
+ * {@link LeaderboardService#recordEvent}로 보낸다. 기록 스크립트가 eventId(중복 방지 키)로 한 번만 적용하므로
+ * 중간에 Redis가 다시 끊기면 파일을 그대로 두고 다음 주기에 처음부터 다시 보내도 된다.
+ * 단, 중복 방지 키의 TTL(7일)이 지난 뒤에 재기록하면 같은 이벤트가 다시 적용될 수 있다.
+ *
+ * 리더보드 키는 요청 시점의 날짜로 정해 저장하므로 늦게 재기록해도 원래 기간에 들어간다.
+ * 동점 판정용 갱신 시각은 재기록 시각이 된다.
+ *
+ * 줄 형식 (탭 구분, 각 필드는 URL 인코딩): 중복 방지 키, 사용자 ID, 중복 방지 TTL(밀리초),
+ * 리더보드마다 "키,스코프,지표,값(정수 단위),TTL(밀리초, 0이면 없음)"
+ */
+@Slf4j
+@Component
+public class ProgressSpool {
+
+    private static final String SPOOL_FILE = "progress.spool";
+    private static final String REPLAY_SUFFIX = ".replay";
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardRegistry registry;
+    private final RedisCircuitBreaker breaker;
+    private final Path directory;
+    private final Path spoolFile;
+
+    private final Counter spooled;
+    private final Counter replayed;
+    private final Counter dropped;
+
+    /** 스풀 파일 채널 보호. 요청(가상 스레드)이 fsync 동안 기다리므로 synchronized 대신 쓴다 */
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+
+    public ProgressSpool(LeaderboardService leaderboardService,
+                         LeaderboardRegistry registry,
+                         RedisCircuitBreaker breaker,
+                         MeterRegistry meterRegistry,
+                         @Value("${leaderboard.spool.dir:data/leaderboard-spool}") Path directory) {
+        this.leaderboardService = leaderboardService;
+        this.registry = registry;
+        this.breaker = breaker;
+        this.directory = directory;
+        this.spoolFile = directory.resolve(SPOOL_FILE);
+        this.spooled = Counter.builder("leaderboard.spool.events").tag("result", "spooled").register(meterRegistry);
+        this.replayed = Counter.builder("leaderboard.spool.events").tag("result", "replayed").register(meterRegistry);
+        this.dropped = Counter.builder("leaderboard.spool.events").tag("result", "dropped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기록 하나를 스풀 파일에 추가하고 디스크에 반영될 때까지 기다린다.
+     *
+     * @param dedupKey 중복 방지용 키
+     * @param userId 사용자 ID
+     * @param writes 갱신할 리더보드 목록
+     * @param dedupTtlMs 중복 방지 키의 TTL(밀리초)
+     * @throws IOException 파일에 쓰지 못한 경우
+     */
+    public void append(String dedupKey, String userId, List<LeaderboardService.BoardWrite> writes,
+                       long dedupTtlMs) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(encode(dedupKey, userId, writes, dedupTtlMs)
+                .getBytes(StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(spoolFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(false);
+        } finally {
+            lock.unlock();
+        }
+        spooled.increment();
+        log.debug("리더보드 기록 보류 - 사용자: {}, 키: {}", userId, dedupKey);
+    }
+
+    /**
+     * 보류된 기록을 Redis에 다시 기록한다. 회로가 열려 있으면 다음 주기로 미룬다.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.spool.replay-ms:5000}")
+    public void replay() {
+        if (!breaker.isCallPermitted()) {
+            return;
+        }
+        try {
+            rotate();
+            List<Path> files;
+            try (Stream<Path> listed = Files.list(directory)) {
+                files = listed.filter(file -> file.getFileName().toString().endsWith(REPLAY_SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+            for (Path file : files) {
+                if (!replay(file)) {
+                    return;
+                }
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            log.error("보류된 리더보드 기록 재처리 실패", e);
+        }
+    }
+
+    /**
+     * @return 파일의 모든 줄을 처리했으면 true, Redis를 쓸 수 없어 중단했으면 false
+     */
+    private boolean replay(Path file) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    replayLine(line);
+                    replayed.increment();
+                    count++;
+                } catch (RedisUnavailableException e) {
+                    log.info("보류된 기록 재처리 중단 - 파일: {}, 처리: {}건, 원인: {}",
+                            file.getFileName(), count, e.getMessage());
+                    return false;
+                } catch (RuntimeException e) {
+                    // 형식 오류나 점수 범위 초과처럼 다시 보내도 성공하지 않는 기록
+                    dropped.increment();
+                    log.warn("보류된 기록 폐기 - 파일: {}, 줄: {}, 원인: {}", file.getFileName(), line, e.getMessage());
+                }
+            }
+        }
+        log.info("보류된 리더보드 기록 재처리 완료 - 파일: {}, 처리: {}건", file.getFileName(), count);
+        return true;
+    }
+
+    private void replayLine(String line) {
+        String[] fields = line.split("\t");
+        List<LeaderboardService.BoardWrite> writes = new ArrayList<>(fields.length - 3);
+        for (int i = 3; i < fields.length; i++) {
+            String[] parts = fields[i].split(",", -1);
+            LeaderboardDefinition definition = registry.get(decode(parts[2]));
+            long ttlMs = Long.parseLong(parts[4]);
+            writes.add(new LeaderboardService.BoardWrite(decode(parts[0]),
+                    parts[1].isEmpty() ? null : decode(parts[1]), definition, Long.parseLong(parts[3]),
+                    ttlMs > 0 ? Duration.ofMillis(ttlMs) : null));
+        }
+        leaderboardService.recordEvent(decode(fields[0]), decode(fields[1]), writes, Long.parseLong(fields[2]));
+    }
+
+    /**
+     * 쌓인 스풀 파일을 재처리용 파일로 떼어낸다. 이후 기록은 새 스풀 파일에 쌓인다.
+     */
+    private void rotate() throws IOException {
+        lock.lock();
+        try {
+            if (!Files.exists(spoolFile) || Files.size(spoolFile) == 0) {
+                return;
+            }
+            close();
+            Files.move(spoolFile, directory.resolve("progress-" + System.currentTimeMillis() + REPLAY_SUFFIX));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String encode(String dedupKey, String userId, List<LeaderboardService.BoardWrite> writes, long dedupTtlMs) {
+        StringBuilder line = new StringBuilder()
+                .append(encode(dedupKey)).append('\t')
+                .append(encode(userId)).append('\t')
+                .append(dedupTtlMs);
+        for (LeaderboardService.BoardWrite write : writes) {
+            line.append('\t')
+                    .append(encode(write.key())).append(',')
+                    .append(write.scope() != null ? encode(write.scope()) : "").append(',')
+                    .append(encode(write.definition().metric())).append(',')
+                    .append(write.deltaUnits()).append(',')
+                    .append(write.ttl() != null ? write.ttl().toMillis() : 0L);
+        }
+        return line.append('\n').toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Lettuce 리액티브 드라이버 기반의 논블로킹 리더보드 서비스.
+ * {@link LeaderboardService}와 같은 연산을 제공하되, 요청 스레드를 붙잡지 않고 Mono로 결과를 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveLeaderboardService {
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final LeaderboardKeyFactory keyFactory;
+
+    /**
+     * 블로킹 버전과 같은 Lua 스크립트 ({@link LeaderboardService#RECORD_EVENT_LUA}).
+     * 리더보드 키의 TTL까지 스크립트 안에서 설정하고, 변경 피드도 같은 형식으로 발행된다.
+     */
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> recordEventScript =
+            new DefaultRedisScript<>(LeaderboardService.RECORD_EVENT_LUA, List.class);
+
+    /**
+     * 멱등성을 보장하며 이벤트 하나를 여러 리더보드에 한 번의 스크립트 호출로 기록하고,
+     * 리더보드별 기록 후 순위와 값을 돌려준다.
+     *
+     * @param dedupKey 중복 방지용 키 (이벤트당 하나)
+     * @param userId 사용자 ID
+     * @param writes 갱신할 리더보드 목록
+     * @param dedupTtlMs 중복 방지 키의 TTL(밀리초)
+     * @return 처리 여부와 리더보드별 순위/값 (writes 순서)
+     */
+    public Mono<LeaderboardService.EventResult> recordEvent(String dedupKey, String userId,
+                                                            List<LeaderboardService.BoardWrite> writes,
+                                                            long dedupTtlMs) {
+        return reactiveRedisTemplate.execute(recordEventScript,
+                        LeaderboardService.recordEventKeys(dedupKey, keyFactory.getVersionsKey(), writes),
+                        LeaderboardService.recordEventArgs(userId, dedupTtlMs, writes))
+                .next()
+                .map(result -> LeaderboardService.toEventResult((List<?>) result, writes))
+                .defaultIfEmpty(LeaderboardService.toEventResult(null, writes));
+    }
+
+    /**
+     * 상위 N명의 리더보드를 조회한다.
+     */
+    public Mono<List<LeaderboardService.ScoredValue>> getTopN(String key, int n) {
+        return reactiveRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key, Range.closed(0L, (long) n - 1))
+                .map(tuple -> new LeaderboardService.ScoredValue(tuple.getValue(), ScoreCodec.distanceKm(tuple.getScore())))
+                .collectList();
+    }
+
+    /**
+     * 특정 사용자의 순위와 점수를 조회한다. ZREVRANK와 ZSCORE를 동시에 보낸다.
+     */
+    public Mono<LeaderboardService.RankScore> getRankScore(String key, String userId) {
+        Mono<Long> rank = reactiveRedisTemplate.opsForZSet().reverseRank(key, userId).defaultIfEmpty(-1L);
+        Mono<Double> score = reactiveRedisTemplate.opsForZSet().score(key, userId)
+                .map(ScoreCodec::distanceKm)
+                .defaultIfEmpty(0.0);
+
+        return Mono.zip(rank, score)
+                .map(tuple -> new LeaderboardService.RankScore(tuple.getT1(), tuple.getT2()));
+    }
+
+    /**
+     * 이미 알고 있는 순위를 기준으로 앞뒤 k명의 리더보드를 조회한다.
+     */
+    public Mono<List<LeaderboardService.ScoredValue>> getAroundRank(String key, long rank, int k) {
+        long start = Math.max(rank - k, 0);
+        long end = rank + k;
+
+        return reactiveRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key, Range.closed(start, end))
+                .map(tuple -> new LeaderboardService.ScoredValue(tuple.getValue(), ScoreCodec.distanceKm(tuple.getScore())))
+                .collectList();
+    }
+
+    /**
+     * 리더보드의 총 참가자 수를 조회한다 (ZCARD).
+     */
+    public Mono<Long> getTotalMembers(String key) {
+        return reactiveRedisTemplate.opsForZSet().size(key).defaultIfEmpty(0L);
+    }
+}
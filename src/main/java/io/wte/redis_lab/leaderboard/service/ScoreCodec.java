@@ -0,0 +1,87 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import java.time.Instant;
+
+/**
+ * 리더보드 점수 인코딩.
+ *
+ * ZSET 점수(double)가 오차 없이 표현할 수 있는 53비트 정수 범위 안에
+ * 상위 27비트는 지표 값(정수 단위, 거리는 미터), 하위 26비트는 반전된 마지막 갱신 시각 버킷(10초 단위)을 담는다.
+ * <pre>
+ * score = units * 2^26 + (MAX_BUCKET - bucket(lastUpdate))
+ * </pre>
+ * 값이 같으면 먼저 그 값에 도달한(마지막 갱신이 이른) 사용자가 높은 순위가 된다.
+ * 모든 값이 정수이므로 ZINCRBY 소수 누적 오차가 없고, 점수 하나로 거리와 갱신 시각을 모두 복원할 수 있다.
+ *
+ * 표현 범위: 값 최대 약 1.3억 단위(거리 약 134,217km), 시각은 2025-01-01부터 약 21년.
+ */
+public final class ScoreCodec {
+
+    public static final int TIME_BITS = 26;
+    public static final long TIME_SCALE = 1L << TIME_BITS;
+    public static final long MAX_BUCKET = TIME_SCALE - 1;
+    public static final long MAX_UNITS = (1L << (53 - TIME_BITS)) - 1;
+    public static final long BUCKET_SECONDS = 10;
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    private ScoreCodec() {
+    }
+
+    /**
+     * 지표 값과 갱신 시각으로 점수를 만든다.
+     */
+    public static long encode(long units, Instant lastUpdate) {
+        if (units < 0 || units > MAX_UNITS) {
+            throw new IllegalArgumentException("표현할 수 없는 값입니다: " + units);
+        }
+        return units * TIME_SCALE + (MAX_BUCKET - bucket(lastUpdate));
+    }
+
+    /**
+     * 갱신 시각의 10초 버킷 번호를 계산한다.
+     */
+    public static long bucket(Instant time) {
+        long bucket = (time.getEpochSecond() - EPOCH.getEpochSecond()) / BUCKET_SECONDS;
+        return Math.max(0, Math.min(bucket, MAX_BUCKET));
+    }
+
+    /**
+     * 점수에서 지표 값(정수 단위, 거리는 미터)을 복원한다.
+     */
+    public static long units(double score) {
+        if (isLegacy(score)) {
+            return Math.round(score * 1000);
+        }
+        return (long) Math.floor(score / TIME_SCALE);
+    }
+
+    /**
+     * 점수에서 누적 거리(km)를 복원한다.
+     */
+    public static double distanceKm(double score) {
+        return units(score) / 1000.0;
+    }
+
+    /**
+     * 점수에서 마지막 갱신 시각(10초 단위)을 복원한다.
+     */
+    public static Instant lastUpdate(double score) {
+        long inverted = (long) score & MAX_BUCKET;
+        return EPOCH.plusSeconds((MAX_BUCKET - inverted) * BUCKET_SECONDS);
+    }
+
+    /**
+     * km 단위 거리를 미터 정수로 반올림한다.
+     */
+    public static long toMeters(double km) {
+        return Math.round(km * 1000);
+    }
+
+    /**
+     * 이전 형식(km + 타임스탬프 소수)의 점수인지 확인한다.
+     * 이전 형식은 소수부가 있어 정수인 새 형식과 구분된다. 다음 갱신 때 새 형식으로 바뀐다.
+     */
+    private static boolean isLegacy(double score) {
+        return score != Math.rint(score);
+    }
+}
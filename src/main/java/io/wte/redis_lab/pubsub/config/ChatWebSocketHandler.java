@@ -0,0 +1,94 @@
+package io.wte.redis_lab.pubsub.config;
+
+import io.wte.redis_lab.pubsub.service.ChatConnection;
+import io.wte.redis_lab.pubsub.service.ChatRoomBroker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 채팅 WebSocket 엔드포인트 (/ws/chat?room={room}&user={user}).
+ *
+ * 세션마다 {@link ChatConnection}을 하나 만들어 방에 넣는다. 세션으로의 전송은 연결의 송신 작업만 하므로
+ * 세션 하나에 동시에 쓰는 일이 없다. 클라이언트가 보낸 텍스트는 그대로 방 메시지로 발행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String CONNECTION_ATTRIBUTE = "chat.connection";
+    private static final String ROOM_ATTRIBUTE = "chat.room";
+    /** 1013 Try Again Later: 느린 접속자를 끊을 때 다시 접속하라는 뜻으로 쓴다 */
+    private static final int TRY_AGAIN_LATER = 1013;
+
+    private final ChatRoomBroker broker;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        String room = params.getFirst("room");
+        String user = params.getFirst("user");
+        if (!ChatRoomBroker.isValidRoom(room) || user == null || user.isBlank()) {
+            session.close(CloseStatus.BAD_DATA.withReason("room, user 파라미터가 필요합니다."));
+            return;
+        }
+
+        ChatConnection connection = broker.newConnection(user, new ChatConnection.FrameSink() {
+            @Override
+            public void send(String frame) throws IOException {
+                session.sendMessage(new TextMessage(frame));
+            }
+
+            @Override
+            public void close(String reason) {
+                try {
+                    session.close(new CloseStatus(TRY_AGAIN_LATER, reason));
+                } catch (IOException e) {
+                    log.debug("채팅 세션 종료 실패 - {}, 오류: {}", session.getId(), e.getMessage());
+                }
+            }
+        });
+        try {
+            broker.join(room, connection);
+        } catch (RuntimeException e) {
+            log.warn("채팅방 입장 실패 - 방: {}, 오류: {}", room, e.getMessage());
+            session.close(CloseStatus.SERVICE_RESTARTED.withReason("일시적으로 입장할 수 없습니다."));
+            return;
+        }
+        session.getAttributes().put(CONNECTION_ATTRIBUTE, connection);
+        session.getAttributes().put(ROOM_ATTRIBUTE, room);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        ChatConnection connection = (ChatConnection) session.getAttributes().get(CONNECTION_ATTRIBUTE);
+        String text = message.getPayload();
+        if (connection == null || text.isBlank() || text.length() > ChatRoomBroker.MAX_TEXT_LENGTH) {
+            return;
+        }
+        try {
+            broker.publish((String) session.getAttributes().get(ROOM_ATTRIBUTE), connection.userId(), text);
+        } catch (RuntimeException e) {
+            // 전송 실패는 세션을 끊지 않는다 (클라이언트는 자기 메시지가 돌아오지 않는 것으로 안다)
+            log.warn("채팅 메시지 발행 실패 - 세션: {}, 오류: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        ChatConnection connection = (ChatConnection) session.getAttributes().remove(CONNECTION_ATTRIBUTE);
+        if (connection != null) {
+            connection.close(status.toString());
+            broker.leave((String) session.getAttributes().get(ROOM_ATTRIBUTE), connection);
+        }
+    }
+}
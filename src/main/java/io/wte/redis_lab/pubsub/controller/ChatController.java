@@ -0,0 +1,56 @@
+package io.wte.redis_lab.pubsub.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.wte.redis_lab.common.dto.ApiResponse;
+import io.wte.redis_lab.common.dto.ErrorResponse;
+import io.wte.redis_lab.pubsub.dto.ChatMessage;
+import io.wte.redis_lab.pubsub.dto.SendChatRequest;
+import io.wte.redis_lab.pubsub.service.ChatRoomBroker;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/v1/chat")
+@RequiredArgsConstructor
+@Tag(name = "Chat API", description = "샤드 Pub/Sub 기반 채팅 팬아웃 API (수신은 /ws/chat WebSocket)")
+public class ChatController {
+
+    private final ChatRoomBroker chatRoomBroker;
+
+    @Operation(
+            summary = "채팅 메시지 발행",
+            description = "방 채널(chat:{room})로 SPUBLISH 합니다. 방에 접속자가 있는 모든 노드가 받아 WebSocket으로 전달합니다."
+    )
+    @PostMapping("/rooms/{room}/messages")
+    public ResponseEntity<?> publish(
+            @Parameter(description = "방 이름 (영문, 숫자, '_', '-', 최대 64자)", example = "race-2025-seoul")
+            @PathVariable String room,
+            @Valid @RequestBody SendChatRequest request) {
+
+        if (!ChatRoomBroker.isValidRoom(room)) {
+            return ResponseEntity.badRequest()
+                    .body(ErrorResponse.validationError("방 이름은 영문, 숫자, '_', '-'로 된 64자 이하여야 합니다."));
+        }
+        ChatMessage message = chatRoomBroker.publish(room, request.sender(), request.text());
+        return ResponseEntity.ok(ApiResponse.success("메시지 발행 성공", message));
+    }
+
+    @Operation(
+            summary = "로컬 채팅방 조회",
+            description = "이 노드가 구독 중인 방과 방별 WebSocket 접속자 수를 반환합니다."
+    )
+    @GetMapping("/rooms")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rooms() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("connections", chatRoomBroker.connectionCount());
+        response.put("rooms", chatRoomBroker.localRooms());
+        return ResponseEntity.ok(ApiResponse.success("채팅방 조회 성공", response));
+    }
+}
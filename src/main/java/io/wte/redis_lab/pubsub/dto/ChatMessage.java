@@ -0,0 +1,28 @@
+package io.wte.redis_lab.pubsub.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * 채팅 메시지 (Redis 채널과 WebSocket 프레임에 JSON으로 실린다)
+ */
+@Schema(description = "채팅 메시지")
+public record ChatMessage(
+
+        @Schema(description = "메시지 ID", example = "2f6c1b8e-3d4a-4f5b-9c7d-8e9f0a1b2c3d")
+        String id,
+
+        @Schema(description = "채팅방", example = "race-day")
+        String room,
+
+        @Schema(description = "보낸 사용자", example = "user123")
+        String sender,
+
+        @Schema(description = "내용", example = "10km 지점 통과!")
+        String text,
+
+        @Schema(description = "보낸 시각")
+        Instant sentAt
+) {
+}
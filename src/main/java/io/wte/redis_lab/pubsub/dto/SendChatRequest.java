@@ -0,0 +1,23 @@
+package io.wte.redis_lab.pubsub.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 채팅 메시지 전송 요청 DTO
+ */
+@Schema(description = "채팅 메시지 전송 요청")
+public record SendChatRequest(
+
+        @Schema(description = "보낸 사용자", example = "user123")
+        @NotBlank(message = "보낸 사용자는 필수입니다")
+        @Size(max = 64, message = "보낸 사용자는 64자 이하여야 합니다")
+        String sender,
+
+        @Schema(description = "내용", example = "10km 지점 통과!")
+        @NotBlank(message = "내용은 필수입니다")
+        @Size(max = 2000, message = "내용은 2000자 이하여야 합니다")
+        String text
+) {
+}
@@ -0,0 +1,165 @@
+package io.wte.redis_lab.pubsub.service;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 연결 하나의 송신 버퍼.
+ *
+ * 방 디스패처는 {@link #offer(String)}로 프레임을 넣기만 하고 바로 돌아가며, 실제 전송은 연결마다 하나씩 도는
+ * 송신 작업이 writer 실행기에서 순서대로 처리한다. 느린 클라이언트는 자기 송신 작업만 붙잡고 다른 연결이나 디스패처를 막지 않는다.
+ * 버퍼는 바이트 수로 제한하며, 넘치면 {@link OverflowPolicy}에 따라 오래된 프레임을 버리거나 연결을 끊는다.
+ */
+public class ChatConnection {
+
+    /**
+     * 송신 버퍼가 가득 찼을 때의 처리
+     */
+    public enum OverflowPolicy {
+        /** 새 프레임이 들어갈 때까지 가장 오래된 프레임부터 버린다 (최근 대화를 우선) */
+        DROP_OLDEST,
+        /** 연결을 끊는다 (클라이언트가 다시 접속해 최근 내용을 받는다) */
+        DISCONNECT;
+
+        public static OverflowPolicy of(String name) {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    /**
+     * {@link #offer(String)} 결과
+     */
+    public enum OfferResult { QUEUED, DROPPED, DISCONNECTED, CLOSED }
+
+    /**
+     * 프레임을 실제로 내보내는 대상 (WebSocket 세션 등). 한 번에 한 스레드에서만 호출된다.
+     */
+    public interface FrameSink {
+        void send(String frame) throws IOException;
+
+        void close(String reason);
+    }
+
+    private final String id;
+    private final String userId;
+    private final FrameSink sink;
+    private final long bufferLimitBytes;
+    private final OverflowPolicy policy;
+    private final Executor writer;
+
+    private final Queue<String> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param bufferLimitBytes 보내지 못하고 쌓아 둘 수 있는 최대 크기 (문자 수 기준, ASCII면 바이트 수와 같다)
+     * @param writer 송신 작업 실행기 (연결마다 블로킹 전송을 하므로 가상 스레드 실행기를 권장)
+     */
+    public ChatConnection(String id, String userId, FrameSink sink,
+                          long bufferLimitBytes, OverflowPolicy policy, Executor writer) {
+        this.id = id;
+        this.userId = userId;
+        this.sink = sink;
+        this.bufferLimitBytes = bufferLimitBytes;
+        this.policy = policy;
+        this.writer = writer;
+    }
+
+    /**
+     * 프레임을 송신 버퍼에 넣는다. 블로킹하지 않는다.
+     */
+    public OfferResult offer(String frame) {
+        if (closed.get()) {
+            return OfferResult.CLOSED;
+        }
+        long size = frame.length();
+        OfferResult result = OfferResult.QUEUED;
+        while (bufferedBytes.get() + size > bufferLimitBytes) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                close("slow consumer: send buffer exceeded " + bufferLimitBytes + " bytes");
+                return OfferResult.DISCONNECTED;
+            }
+            String oldest = frames.poll();
+            if (oldest == null) {
+                // 프레임 하나가 버퍼보다 크거나 송신 작업이 방금 다 꺼냈다: 새 프레임을 버린다
+                droppedFrames.incrementAndGet();
+                return OfferResult.DROPPED;
+            }
+            bufferedBytes.addAndGet(-oldest.length());
+            droppedFrames.incrementAndGet();
+            result = OfferResult.DROPPED;
+        }
+        frames.add(frame);
+        bufferedBytes.addAndGet(size);
+        scheduleDrain();
+        return result;
+    }
+
+    /**
+     * 연결을 닫는다. 남은 프레임은 버린다.
+     */
+    public void close(String reason) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        frames.clear();
+        bufferedBytes.set(0);
+        sink.close(reason);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            String frame;
+            while (!closed.get() && (frame = frames.poll()) != null) {
+                sink.send(frame);
+                bufferedBytes.addAndGet(-frame.length());
+                sentFrames.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            close("send failed: " + e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+        // 송신 작업이 끝나는 사이에 들어온 프레임이 있으면 다시 시작한다
+        if (!closed.get() && !frames.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public long bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    public long sentFrames() {
+        return sentFrames.get();
+    }
+
+    public long droppedFrames() {
+        return droppedFrames.get();
+    }
+}
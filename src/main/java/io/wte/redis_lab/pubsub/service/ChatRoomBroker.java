@@ -0,0 +1,367 @@
+package io.wte.redis_lab.pubsub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.wte.redis_lab.common.redis.RedisCircuitBreaker;
+import io.wte.redis_lab.pubsub.dto.ChatMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 다중 노드 채팅 팬아웃.
+ *
+ * 메시지는 방마다 샤드 채널(chat:{room})로 SPUBLISH 하고, 각 노드는 로컬 접속자가 있는 방만 SSUBSCRIBE 한다
+ * (첫 접속자가 들어올 때 구독, 마지막 접속자가 나갈 때 해제). 보낸 노드도 구독으로 되돌아온 메시지를 전달하므로
+ * 모든 노드에서 방 안의 순서가 같다.
+ *
+ * 수신한 메시지는 방 디스패처가 chat.batch.max-delay-ms 동안(또는 chat.batch.max-messages개까지) 모아
+ * JSON 배열 프레임 하나로 만든다. 프레임은 방마다 한 번만 만들고 접속자마다 송신 버퍼({@link ChatConnection})에 넣기만 하므로,
+ * 느린 접속자가 있어도 디스패처와 다른 접속자는 기다리지 않는다. 송신 버퍼가 넘치면 chat.connection.overflow 정책
+ * (drop-oldest, disconnect)을 따른다.
+ */
+@Slf4j
+@Service
+public class ChatRoomBroker {
+
+    public static final String CHANNEL_PREFIX = "chat:";
+    public static final int MAX_TEXT_LENGTH = 2000;
+    private static final Pattern ROOM_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ShardedPubSub pubSub;
+    private final RedisCircuitBreaker breaker;
+    private final ObjectMapper objectMapper;
+    private final long maxDelayMs;
+    private final int maxMessages;
+    private final long bufferLimitBytes;
+    private final ChatConnection.OverflowPolicy overflowPolicy;
+
+    private final Map<String, ChatRoom> rooms = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter framesQueued;
+    private final Counter framesDropped;
+    private final Counter slowDisconnects;
+    private final DistributionSummary frameMessages;
+
+    public ChatRoomBroker(ShardedPubSub pubSub,
+                          RedisCircuitBreaker breaker,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${chat.batch.max-delay-ms:5}") long maxDelayMs,
+                          @Value("${chat.batch.max-messages:64}") int maxMessages,
+                          @Value("${chat.dispatch.threads:2}") int dispatchThreads,
+                          @Value("${chat.connection.buffer-bytes:262144}") long bufferLimitBytes,
+                          @Value("${chat.connection.overflow:drop-oldest}") String overflowPolicy) {
+        this.pubSub = pubSub;
+        this.breaker = breaker;
+        this.objectMapper = objectMapper;
+        this.maxDelayMs = maxDelayMs;
+        this.maxMessages = maxMessages;
+        this.bufferLimitBytes = bufferLimitBytes;
+        this.overflowPolicy = ChatConnection.OverflowPolicy.of(overflowPolicy);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newScheduledThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "chat-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.published = Counter.builder("chat.messages.published").register(meterRegistry);
+        this.received = Counter.builder("chat.messages.received")
+                .description("구독으로 받은 메시지 수 (이 노드에 접속자가 있는 방)")
+                .register(meterRegistry);
+        this.framesQueued = Counter.builder("chat.frames").tag("result", "queued").register(meterRegistry);
+        this.framesDropped = Counter.builder("chat.frames").tag("result", "dropped").register(meterRegistry);
+        this.slowDisconnects = Counter.builder("chat.connections.disconnected")
+                .tag("reason", "slow")
+                .register(meterRegistry);
+        this.frameMessages = DistributionSummary.builder("chat.frame.messages")
+                .description("프레임 하나에 묶인 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("chat.rooms.subscribed", rooms, Map::size).register(meterRegistry);
+
+        pubSub.listen(this::onMessage);
+    }
+
+    /**
+     * 방 이름은 채널 이름에 그대로 들어가므로 영문, 숫자, '_', '-'만 허용한다 (최대 64자).
+     */
+    public static boolean isValidRoom(String room) {
+        return room != null && ROOM_PATTERN.matcher(room).matches();
+    }
+
+    /**
+     * 접속자용 연결을 만든다 (송신 버퍼 크기와 넘침 정책은 설정값).
+     */
+    public ChatConnection newConnection(String userId, ChatConnection.FrameSink sink) {
+        return new ChatConnection(UUID.randomUUID().toString(), userId, sink, bufferLimitBytes, overflowPolicy, writers);
+    }
+
+    /**
+     * 방에 접속자를 추가한다. 이 노드의 첫 접속자면 방 채널을 구독한다.
+     *
+     * @throws io.wte.redis_lab.common.redis.RedisUnavailableException 구독하지 못한 경우 (접속자는 추가되지 않는다)
+     */
+    public void join(String room, ChatConnection connection) {
+        while (true) {
+            ChatRoom chatRoom = rooms.computeIfAbsent(room, ChatRoom::new);
+            chatRoom.lock.lock();
+            try {
+                if (chatRoom.closed) {
+                    // 마지막 접속자가 나가며 닫는 중이었다: 새 방으로 다시 시도한다
+                    continue;
+                }
+                if (chatRoom.members.isEmpty()) {
+                    try {
+                        breaker.write("chatSubscribe", () -> {
+                            pubSub.subscribe(CHANNEL_PREFIX + room);
+                            return null;
+                        });
+                    } catch (RuntimeException e) {
+                        chatRoom.closed = true;
+                        rooms.remove(room, chatRoom);
+                        throw e;
+                    }
+                    log.debug("채팅방 구독 - {}", room);
+                }
+                chatRoom.members.add(connection);
+                connections.incrementAndGet();
+                return;
+            } finally {
+                chatRoom.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 방에서 접속자를 뺀다. 이 노드의 마지막 접속자였으면 구독을 해제한다.
+     */
+    public void leave(String room, ChatConnection connection) {
+        ChatRoom chatRoom = rooms.get(room);
+        if (chatRoom != null && chatRoom.remove(connection)) {
+            closeIfEmpty(chatRoom);
+        }
+    }
+
+    /**
+     * 방에 남은 접속자가 없으면 구독을 해제하고 방을 지운다.
+     * 그 사이 join이 접속자를 더했으면 (같은 잠금 아래에서 확인하므로) 아무 것도 하지 않는다.
+     */
+    private void closeIfEmpty(ChatRoom chatRoom) {
+        String room = chatRoom.name;
+        chatRoom.lock.lock();
+        try {
+            if (chatRoom.closed || !chatRoom.members.isEmpty()) {
+                return;
+            }
+            // 해제를 마친 뒤에 방을 지워야 같은 방에 새로 들어온 접속자의 구독이 이 해제에 지워지지 않는다
+            chatRoom.closed = true;
+            try {
+                pubSub.unsubscribe(CHANNEL_PREFIX + room);
+                log.debug("채팅방 구독 해제 - {}", room);
+            } catch (RuntimeException e) {
+                // 구독이 남아도 받은 메시지는 방이 없어 버려진다
+                log.warn("채팅방 구독 해제 실패 - {}, 오류: {}", room, e.getMessage());
+            } finally {
+                rooms.remove(room, chatRoom);
+            }
+        } finally {
+            chatRoom.lock.unlock();
+        }
+    }
+
+    /**
+     * 방에 메시지를 보낸다.
+     *
+     * @return 보낸 메시지
+     * @throws io.wte.redis_lab.common.redis.RedisUnavailableException Redis가 쓰기 마감 안에 응답하지 않았거나 회로가 열려 있는 경우
+     */
+    public ChatMessage publish(String room, String sender, String text) {
+        ChatMessage message = new ChatMessage(UUID.randomUUID().toString(), room, sender, text, Instant.now());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메시지를 직렬화할 수 없습니다.", e);
+        }
+        breaker.write("chatPublish", () -> pubSub.publish(CHANNEL_PREFIX + room, payload));
+        published.increment();
+        return message;
+    }
+
+    /**
+     * 이 노드의 방별 접속자 수
+     */
+    public Map<String, Integer> localRooms() {
+        Map<String, Integer> counts = new TreeMap<>();
+        rooms.forEach((room, chatRoom) -> counts.put(room, chatRoom.members.size()));
+        return counts;
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Lettuce I/O 스레드에서 호출된다: 방 버퍼에 넣고 바로 돌아간다.
+     */
+    private void onMessage(String channel, String payload) {
+        if (!channel.startsWith(CHANNEL_PREFIX)) {
+            return;
+        }
+        ChatRoom chatRoom = rooms.get(channel.substring(CHANNEL_PREFIX.length()));
+        if (chatRoom == null) {
+            return;
+        }
+        received.increment();
+        chatRoom.add(payload);
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * 이 노드의 채팅방: 접속자 목록과 프레임으로 묶기 전의 메시지
+     */
+    private final class ChatRoom {
+
+        final String name;
+        final Set<ChatConnection> members = ConcurrentHashMap.newKeySet();
+        /** join과 구독 해제(closeIfEmpty) 직렬화. 구독/해제 왕복 동안 잡고 있으므로 가상 스레드가 캐리어를 붙잡지 않게 synchronized 대신 쓴다 */
+        final ReentrantLock lock = new ReentrantLock();
+        /** lock 안에서만 설정한다 */
+        boolean closed;
+
+        private final Object pendingLock = new Object();
+        private final Object flushLock = new Object();
+        private List<String> pending = new ArrayList<>();
+        private boolean flushScheduled;
+
+        ChatRoom(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 접속자를 목록에서만 뺀다 (구독 해제는 {@link #closeIfEmpty}).
+         *
+         * @return 접속자가 있었는지
+         */
+        boolean remove(ChatConnection connection) {
+            if (!members.remove(connection)) {
+                return false;
+            }
+            connections.decrementAndGet();
+            return true;
+        }
+
+        void add(String payload) {
+            boolean flushNow;
+            boolean schedule;
+            synchronized (pendingLock) {
+                pending.add(payload);
+                flushNow = pending.size() >= maxMessages;
+                schedule = !flushScheduled;
+                flushScheduled = true;
+            }
+            if (flushNow) {
+                dispatcher.execute(this::flush);
+            } else if (schedule) {
+                dispatcher.schedule(this::flush, maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * 모인 메시지를 프레임 하나로 만들어 접속자마다 송신 버퍼에 넣는다.
+         * 배치를 꺼내는 것부터 flushLock 안에서 하므로 여러 디스패처 스레드가 겹쳐도 프레임 순서가 유지된다.
+         * 끊긴 접속자는 목록에서만 바로 빼고, 방이 비었을 때의 구독 해제(Redis 왕복)는 송신 실행기에 넘겨
+         * 디스패처 스레드가 flushLock을 잡은 채 기다리지 않게 한다.
+         */
+        void flush() {
+            synchronized (flushLock) {
+                List<String> batch;
+                synchronized (pendingLock) {
+                    batch = pending;
+                    pending = new ArrayList<>();
+                    flushScheduled = false;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                String frame = toFrame(batch);
+                frameMessages.record(batch.size());
+
+                long queued = 0;
+                long dropped = 0;
+                boolean removed = false;
+                for (ChatConnection member : members) {
+                    switch (member.offer(frame)) {
+                        case QUEUED -> queued++;
+                        case DROPPED -> {
+                            queued++;
+                            dropped++;
+                        }
+                        case DISCONNECTED -> {
+                            slowDisconnects.increment();
+                            log.info("느린 접속자 연결 종료 - 방: {}, 사용자: {}", name, member.userId());
+                            removed |= remove(member);
+                        }
+                        case CLOSED -> removed |= remove(member);
+                    }
+                }
+                framesQueued.increment(queued);
+                framesDropped.increment(dropped);
+                if (removed && members.isEmpty()) {
+                    writers.execute(() -> closeIfEmpty(this));
+                }
+            }
+        }
+
+        /**
+         * 메시지 JSON을 다시 직렬화하지 않고 배열로 이어 붙인다.
+         */
+        private String toFrame(List<String> batch) {
+            int length = 2 + batch.size() - 1;
+            for (String payload : batch) {
+                length += payload.length();
+            }
+            StringBuilder frame = new StringBuilder(length).append('[');
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append(batch.get(i));
+            }
+            return frame.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.wte.redis_lab.pubsub.service;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.sync.BaseRedisCommands;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Redis 샤드 Pub/Sub(SPUBLISH/SSUBSCRIBE) 연결.
+ *
+ * Spring Data Redis는 샤드 채널을 지원하지 않으므로 커넥션 팩토리의 Lettuce 클라이언트로 전용 연결을 연다
+ * (클라이언트 옵션을 공유하므로 {@link io.wte.redis_lab.common.redis.RedisDeadline} 마감도 그대로 적용된다).
+ * 샤드 채널은 채널 이름의 슬롯을 가진 노드에만 전달되므로, 클러스터에서는 방이 노드에 고르게 나뉘고
+ * 메시지가 모든 노드로 퍼지지 않는다. 단일 Redis(7.0+)에서는 일반 채널과 같이 동작한다.
+ * 연결은 처음 쓸 때 연다 (Redis 없이도 애플리케이션은 뜬다).
+ */
+@Slf4j
+@Component
+public class ShardedPubSub {
+
+    private final LettuceConnectionFactory connectionFactory;
+    private volatile BiConsumer<String, String> listener = (channel, message) -> { };
+
+    private StatefulRedisPubSubConnection<String, String> subscriber;
+    private StatefulConnection<String, String> publisherConnection;
+    private volatile BaseRedisCommands<String, String> publisher;
+
+    public ShardedPubSub(LettuceConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 샤드 채널 메시지를 받을 리스너를 지정한다. Lettuce I/O 스레드에서 호출되므로 블로킹하면 안 된다.
+     */
+    public void listen(BiConsumer<String, String> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return 메시지를 받은 구독자(노드) 수
+     */
+    public long publish(String channel, String message) {
+        Long receivers = publisher().spublish(channel, message);
+        return receivers != null ? receivers : 0L;
+    }
+
+    public void subscribe(String channel) {
+        connect();
+        subscriber.sync().ssubscribe(channel);
+    }
+
+    public void unsubscribe(String channel) {
+        connect();
+        subscriber.sync().sunsubscribe(channel);
+    }
+
+    private BaseRedisCommands<String, String> publisher() {
+        BaseRedisCommands<String, String> commands = publisher;
+        if (commands == null) {
+            connect();
+            commands = publisher;
+        }
+        return commands;
+    }
+
+    private synchronized void connect() {
+        if (subscriber != null) {
+            return;
+        }
+        AbstractRedisClient client = connectionFactory.getRequiredNativeClient();
+        StatefulRedisPubSubConnection<String, String> pubSub;
+        if (client instanceof RedisClusterClient cluster) {
+            pubSub = cluster.connectPubSub(StringCodec.UTF8);
+            var connection = cluster.connect(StringCodec.UTF8);
+            publisherConnection = connection;
+            publisher = connection.sync();
+        } else if (client instanceof RedisClient redis) {
+            pubSub = redis.connectPubSub(StringCodec.UTF8);
+            var connection = redis.connect(StringCodec.UTF8);
+            publisherConnection = connection;
+            publisher = connection.sync();
+        } else {
+            throw new IllegalStateException("지원하지 않는 Redis 클라이언트: " + client.getClass().getName());
+        }
+        pubSub.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void smessage(String shardChannel, String message) {
+                listener.accept(shardChannel, message);
+            }
+        });
+        subscriber = pubSub;
+        log.info("샤드 Pub/Sub 연결 - 클라이언트: {}", client.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (subscriber != null) {
+            subscriber.close();
+            publisherConnection.close();
+            subscriber = null;
+            publisher = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.wte.redis_lab.common.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyDetectorTest {
+
+	@Test
+	void sketchForgetsCountsOutsideWindow() {
+		WindowedCountMinSketch sketch = new WindowedCountMinSketch(4, 1024, 3);
+		long hot = WindowedCountMinSketch.hash("lb:distance:weekly:2025-37 top:100");
+		for (int i = 0; i < 500; i++) {
+			sketch.add(hot);
+			sketch.add(WindowedCountMinSketch.hash("idem:user" + i + " claim"));
+		}
+
+		// count-min sketch는 실제보다 작게 추정하지 않는다
+		assertThat(sketch.estimate(hot)).isBetween(500, 520);
+
+		sketch.rotate();
+		sketch.rotate();
+		assertThat(sketch.estimate(hot)).isBetween(500, 520);
+
+		// 세 구간이 지나면 처음 구간이 윈도우에서 빠진다
+		sketch.rotate();
+		assertThat(sketch.estimate(hot)).isZero();
+	}
+
+	@Test
+	void promotesCachesAndDemotesHotKey() {
+		HotKeyDetector detector = new HotKeyDetector(new SimpleMeterRegistry(), true, 1000, 2, 10, 60_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 20; i++) {
+			detector.read("lb:distance:all", "top:10", loads::incrementAndGet);
+		}
+		// 임계값(10)에 도달할 때까지 9번 읽고, 승격된 뒤에는 처음 한 번만 읽는다
+		assertThat(loads.get()).isEqualTo(10);
+		assertThat(detector.hotKeys()).extracting(HotKeyDetector.HotKeyView::field).containsExactly("top:10");
+
+		detector.invalidate("lb:distance:all");
+		detector.read("lb:distance:all", "top:10", loads::incrementAndGet);
+		assertThat(loads.get()).isEqualTo(11);
+
+		// 조회가 끊기면 윈도우(2구간)가 지난 뒤 강등되고 다시 Redis에서 읽는다
+		detector.rotate();
+		detector.rotate();
+		assertThat(detector.hotKeys()).isEmpty();
+		detector.read("lb:distance:all", "top:10", loads::incrementAndGet);
+		assertThat(loads.get()).isEqualTo(12);
+	}
+}
@@ -0,0 +1,84 @@
+package io.wte.redis_lab.common.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisBulkheadsTest {
+
+	@Test
+	void rejectsWhenFullAndKeepsOtherBulkheadsAvailable() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RedisBulkheads bulkheads = new RedisBulkheads(null, null, null, meterRegistry, false, 8, 50, 8, 50, 1, 50);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+		// 관리 작업 하나가 admin 격벽의 유일한 자리를 붙잡고 있다
+		CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> bulkheads.admin().call("clear", () -> {
+			started.countDown();
+			await(release);
+			return "done";
+		}), executor);
+		assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> bulkheads.admin().call("clear", () -> "second"))
+				.isInstanceOf(RedisBulkheadFullException.class)
+				.isInstanceOf(RedisUnavailableException.class);
+		assertThat(bulkheads.read().call("getTopN", () -> "top")).isEqualTo("top");
+
+		assertThat(meterRegistry.get("redis.bulkhead.rejections").tag("bulkhead", "admin").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("redis.bulkhead.rejections").tag("bulkhead", "read").counter().count()).isZero();
+		assertThat(meterRegistry.get("redis.bulkhead.active").tag("bulkhead", "admin").gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get("redis.bulkhead.queue").tag("bulkhead", "admin").gauge().value()).isZero();
+
+		release.countDown();
+		assertThat(slow.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+		assertThat(bulkheads.admin().active()).isZero();
+		executor.close();
+	}
+
+	@Test
+	void blockingCallWaitsForFreeSlot() throws Exception {
+		RedisBulkheads bulkheads = new RedisBulkheads(null, null, null, new SimpleMeterRegistry(), false, 1, 0, 1, 0, 1, 0);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> bulkheads.admin().call("generateData", () -> {
+			started.countDown();
+			await(release);
+			return null;
+		}), executor);
+		assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() ->
+				bulkheads.admin().callBlocking("generateData", () -> "second"), executor);
+		while (bulkheads.admin().waiting() == 0) {
+			Thread.onSpinWait();
+		}
+		assertThat(second).isNotDone();
+
+		release.countDown();
+		first.get(1, TimeUnit.SECONDS);
+		assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+		assertThat(bulkheads.admin().waiting()).isZero();
+		executor.close();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package io.wte.redis_lab.idempotency.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStoreTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void findsOrdersByIdAndKeyAcrossSegmentsAndRestart() throws IOException {
+		OrderStore store = open();
+		List<Order> orders = new ArrayList<>();
+		// 1MB 세그먼트를 여러 개 채운다
+		for (int i = 0; i < 20_000; i++) {
+			orders.add(store.append("user" + i + "-order", "item-" + i, i + 1));
+		}
+		Order duplicateKey = store.append("user7-order", "again", 1);
+		store.close();
+
+		OrderStore reopened = open();
+
+		assertThat(reopened.size()).isEqualTo(20_001);
+		for (int i = 0; i < orders.size(); i += 97) {
+			Order order = orders.get(i);
+			assertThat(reopened.findById(order.orderId())).contains(order);
+			assertThat(reopened.findByIdempotencyKey(order.idempotencyKey())).contains(order);
+		}
+		assertThat(reopened.findById(duplicateKey.orderId())).contains(duplicateKey);
+		assertThat(reopened.findByIdempotencyKey("user7-order")).contains(orders.get(7));
+		assertThat(reopened.findById("not-a-uuid")).isEmpty();
+		assertThat(reopened.findByIdempotencyKey("nobody")).isEmpty();
+	}
+
+	@Test
+	void truncatesTornRecordAndContinuesAfterLastValidOne() throws IOException {
+		OrderStore store = open();
+		Order first = store.append("k1", "a", 1);
+		Order second = store.append("k2", "b", 2);
+		store.close();
+
+		// 두 번째 레코드의 본문 한 바이트를 망가뜨린다 (쓰는 도중 죽은 경우)
+		int secondOffset = OrderStore.RECORD_HEADER + OrderStore.FIXED_PAYLOAD + 2 + 1;
+		try (FileChannel channel = FileChannel.open(dir.resolve("orders-000000.log"),
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			segment.put(secondOffset + OrderStore.RECORD_HEADER + 20, (byte) 0x7f);
+			segment.force();
+		}
+
+		OrderStore reopened = open();
+		assertThat(reopened.size()).isEqualTo(1);
+		assertThat(reopened.findById(first.orderId())).contains(first);
+		assertThat(reopened.findById(second.orderId())).isEmpty();
+
+		Order third = reopened.append("k3", "c", 3);
+		reopened.close();
+		assertThat(open().findByIdempotencyKey("k3")).contains(third);
+	}
+
+	private OrderStore open() throws IOException {
+		OrderStore store = new OrderStore(new SimpleMeterRegistry(), dir, 1, true);
+		store.open();
+		return store;
+	}
+}
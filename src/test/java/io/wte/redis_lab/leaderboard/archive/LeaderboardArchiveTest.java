@@ -0,0 +1,58 @@
+package io.wte.redis_lab.leaderboard.archive;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardArchiveTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void writesAndReadsRankOrderAndMemberIndex() throws IOException {
+		Path file = dir.resolve("lb_distance_weekly_2025-37.lbar");
+		int members = 10_000;
+		try (LeaderboardArchiveWriter writer = new LeaderboardArchiveWriter(file)) {
+			for (int rank = 0; rank < members; rank++) {
+				// 멤버 이름 순서와 순위가 일치하지 않도록 섞는다
+				writer.add("user" + ((rank * 7919) % members), members - rank);
+			}
+			writer.finish();
+		}
+
+		LeaderboardArchive archive = LeaderboardArchive.open(file);
+
+		assertThat(archive.size()).isEqualTo(members);
+		assertThat(archive.range(0, 2)).containsExactly(
+				new LeaderboardService.ScoredValue("user0", (double) members),
+				new LeaderboardService.ScoredValue("user7919", (double) members - 1),
+				new LeaderboardService.ScoredValue("user5838", (double) members - 2));
+		for (int rank = 0; rank < members; rank += 101) {
+			assertThat(archive.rankOf("user" + ((rank * 7919) % members))).isEqualTo(rank);
+		}
+		assertThat(archive.rankOf("nobody")).isEqualTo(-1);
+		assertThat(archive.rankScore("user7919")).isEqualTo(new LeaderboardService.RankScore(1, members - 1));
+	}
+
+	@Test
+	void clampsRangeToBoardSize() throws IOException {
+		Path file = dir.resolve("small.lbar");
+		try (LeaderboardArchiveWriter writer = new LeaderboardArchiveWriter(file)) {
+			writer.add("a", 3.0);
+			writer.add("b", 2.0);
+			writer.finish();
+		}
+
+		LeaderboardArchive archive = LeaderboardArchive.open(file);
+
+		assertThat(archive.range(1, 10)).extracting(LeaderboardService.ScoredValue::userId).containsExactly("b");
+		assertThat(archive.range(5, 10)).isEqualTo(List.of());
+	}
+}
@@ -0,0 +1,45 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import io.wte.redis_lab.leaderboard.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankIndexTest {
+
+	@Test
+	void matchesSortedReferenceUnderRandomUpdates() {
+		Random random = new Random(7);
+		RankIndex index = new RankIndex(0);
+		Map<String, Double> reference = new HashMap<>();
+
+		for (int i = 0; i < 20_000; i++) {
+			String member = "user" + random.nextInt(3_000);
+			// 동점이 자주 나오도록 점수 범위를 좁힌다
+			double score = random.nextInt(500);
+			index.upsert(member, score);
+			reference.put(member, score);
+		}
+
+		// ZREVRANGE 순서: 점수 내림차순, 동점이면 멤버 이름 내림차순
+		List<String> expected = new ArrayList<>(reference.keySet());
+		expected.sort(Comparator.<String>comparingDouble(reference::get).thenComparing(Comparator.naturalOrder()).reversed());
+
+		assertThat(index.size()).isEqualTo(expected.size());
+		assertThat(index.range(0, expected.size()).stream().map(LeaderboardService.ScoredValue::userId).toList())
+				.isEqualTo(expected);
+		for (int rank = 0; rank < expected.size(); rank += 97) {
+			String member = expected.get(rank);
+			assertThat(index.rankOf(member)).isEqualTo(rank);
+			assertThat(index.rankScore(member).score()).isEqualTo(reference.get(member));
+		}
+		assertThat(index.rankOf("nobody")).isEqualTo(-1);
+	}
+}
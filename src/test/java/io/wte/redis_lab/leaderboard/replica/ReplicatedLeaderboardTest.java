@@ -0,0 +1,52 @@
+package io.wte.redis_lab.leaderboard.replica;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicatedLeaderboardTest {
+
+	private static final long MAX_LAG_MS = 1_000;
+
+	@Test
+	void silentFeedBecomesUnservableUntilVersionIsConfirmed() {
+		ReplicatedLeaderboard board = new ReplicatedLeaderboard("lb:distance:weekly:test");
+		board.beginSync();
+		// 마지막 확인이 허용 지연보다 오래되면 마지막 변경의 지연이 0이어도 조회하지 않는다
+		board.completeSync(new RankIndex(0), 5, System.currentTimeMillis() - 5_000);
+		assertThat(board.isServable(MAX_LAG_MS)).isFalse();
+
+		board.confirm(5, System.currentTimeMillis());
+		assertThat(board.isServable(MAX_LAG_MS)).isTrue();
+	}
+
+	@Test
+	void confirmDoesNotRefreshWhenRedisIsAhead() {
+		ReplicatedLeaderboard board = new ReplicatedLeaderboard("lb:distance:weekly:test");
+		board.beginSync();
+		board.completeSync(new RankIndex(0), 5, System.currentTimeMillis() - 5_000);
+
+		// 피드가 끊겨 Redis 버전만 올라간 상태
+		board.confirm(8, System.currentTimeMillis());
+		assertThat(board.isServable(MAX_LAG_MS)).isFalse();
+
+		board.apply(6, "runner", 10.0, 0);
+		board.apply(7, "runner", 20.0, 0);
+		board.apply(8, "runner", 30.0, 0);
+		assertThat(board.isServable(MAX_LAG_MS)).isTrue();
+	}
+
+	@Test
+	void userReadsWaitForTheirOwnWriteVersion() {
+		ReplicatedLeaderboard board = new ReplicatedLeaderboard("lb:distance:weekly:test");
+		board.beginSync();
+		board.completeSync(new RankIndex(0), 5, System.currentTimeMillis());
+
+		board.noteWrite("runner", 6);
+		assertThat(board.hasApplied("runner")).isFalse();
+		assertThat(board.hasApplied("someone-else")).isTrue();
+
+		board.apply(6, "runner", 10.0, 0);
+		assertThat(board.hasApplied("runner")).isTrue();
+	}
+}
@@ -0,0 +1,44 @@
+package io.wte.redis_lab.leaderboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoreCodecTest {
+
+	@Test
+	void roundTripsDistanceAndLastUpdateExactly() {
+		Instant at = Instant.parse("2025-09-12T06:30:40Z");
+		long score = ScoreCodec.encode(ScoreCodec.MAX_UNITS, at);
+
+		// 53비트 안이므로 double로 저장해도 값이 그대로 유지된다
+		assertThat((long) (double) score).isEqualTo(score);
+		assertThat(ScoreCodec.units(score)).isEqualTo(ScoreCodec.MAX_UNITS);
+		assertThat(ScoreCodec.lastUpdate(score)).isEqualTo(at);
+	}
+
+	@Test
+	void earlierArrivalWinsTies() {
+		long early = ScoreCodec.encode(42_195, Instant.parse("2025-09-12T06:00:00Z"));
+		long late = ScoreCodec.encode(42_195, Instant.parse("2025-09-12T07:00:00Z"));
+		long further = ScoreCodec.encode(42_196, Instant.parse("2025-09-12T07:00:00Z"));
+
+		assertThat(early).isGreaterThan(late);
+		assertThat(further).isGreaterThan(early);
+	}
+
+	@Test
+	void decodesLegacyKilometerScores() {
+		assertThat(ScoreCodec.units(12.3)).isEqualTo(12_300);
+		assertThat(ScoreCodec.distanceKm(ScoreCodec.encode(12_300, Instant.now()))).isEqualTo(12.3);
+	}
+
+	@Test
+	void rejectsDistanceOutOfRange() {
+		assertThatThrownBy(() -> ScoreCodec.encode(ScoreCodec.MAX_UNITS + 1, Instant.now()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,71 @@
+package io.wte.redis_lab.pubsub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatConnectionTest {
+
+	@Test
+	void dropOldestKeepsNewestFramesWhileSinkIsBehind() {
+		RecordingSink sink = new RecordingSink();
+		Queue<Runnable> writer = new ArrayDeque<>();
+		ChatConnection connection = new ChatConnection("c1", "user1", sink, 10,
+				ChatConnection.OverflowPolicy.DROP_OLDEST, writer::add);
+
+		// 송신 작업이 돌기 전까지는 버퍼(10자)에 쌓이기만 한다
+		assertThat(connection.offer("aaaa")).isEqualTo(ChatConnection.OfferResult.QUEUED);
+		assertThat(connection.offer("bbbb")).isEqualTo(ChatConnection.OfferResult.QUEUED);
+		assertThat(connection.offer("cccc")).isEqualTo(ChatConnection.OfferResult.DROPPED);
+		assertThat(connection.bufferedBytes()).isEqualTo(8);
+		assertThat(writer).hasSize(1);
+
+		writer.poll().run();
+
+		assertThat(sink.frames).containsExactly("bbbb", "cccc");
+		assertThat(connection.droppedFrames()).isEqualTo(1);
+		assertThat(connection.sentFrames()).isEqualTo(2);
+		assertThat(connection.bufferedBytes()).isZero();
+		assertThat(connection.isClosed()).isFalse();
+	}
+
+	@Test
+	void disconnectPolicyClosesSlowConsumer() {
+		RecordingSink sink = new RecordingSink();
+		Queue<Runnable> writer = new ArrayDeque<>();
+		ChatConnection connection = new ChatConnection("c1", "user1", sink, 10,
+				ChatConnection.OverflowPolicy.DISCONNECT, writer::add);
+
+		connection.offer("aaaa");
+		connection.offer("bbbb");
+		assertThat(connection.offer("cccc")).isEqualTo(ChatConnection.OfferResult.DISCONNECTED);
+		assertThat(connection.isClosed()).isTrue();
+		assertThat(sink.closeReason).startsWith("slow consumer");
+		assertThat(connection.offer("dddd")).isEqualTo(ChatConnection.OfferResult.CLOSED);
+
+		// 닫힌 뒤의 송신 작업은 아무것도 보내지 않는다
+		writer.poll().run();
+		assertThat(sink.frames).isEmpty();
+	}
+
+	private static final class RecordingSink implements ChatConnection.FrameSink {
+
+		final List<String> frames = new ArrayList<>();
+		String closeReason;
+
+		@Override
+		public void send(String frame) {
+			frames.add(frame);
+		}
+
+		@Override
+		public void close(String reason) {
+			closeReason = reason;
+		}
+	}
+}